@@ -0,0 +1,3 @@
+#!/bin/bash
+
+java -jar zoregano-benchmarks/target/benchmarks.jar "$@"
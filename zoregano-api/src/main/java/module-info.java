@@ -5,9 +5,17 @@ import net.janci.zoregano.api.SystemProperty;
  * classes, that extend Zoregano functionality.
  */
 @SystemProperty(value = "config.factory-class", description = "Define configuration factory class, that will be use in the application.")
+@SystemProperty(value = net.janci.zoregano.api.logging.Logger.LEVEL_PROPERTY_NAME, description = "Define the lowest logged level (ERROR, WARN, INFO or DEBUG), default is 'INFO'")
+// zoregano.core, the target of qualified export, is compiled after this module
+@SuppressWarnings("module")
 module zoregano.api {
+    requires transitive zoregano.concurrent;
+
     exports net.janci.zoregano.api;
     exports net.janci.zoregano.api.config;
+    exports net.janci.zoregano.api.logging;
+    exports net.janci.zoregano.api.metrics;
+    exports net.janci.zoregano.api.internal to zoregano.core;
 
     uses net.janci.zoregano.api.config.ConfigurationFactory;
 }
@@ -1,5 +1,10 @@
 package net.janci.zoregano.api;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Also named as first level modules in the system. This modules mostly have responsibility
  * to input/output initialization of system. For example as CLI, Logging, e.g.
@@ -7,23 +12,58 @@ package net.janci.zoregano.api;
  * BIOS modules are started before load Kernel. Objects of class are initializing by Java
  * {@link java.util.ServiceLoader}.
  *
+ * Modules are loaded in parallel. When module needs other module to be loaded before, it can
+ * declare dependency by {@link #dependsOn()}. Module is started immediately, when all its
+ * dependencies are loaded.
+ *
+ * Module, that waits for network or disk during its load, should implement {@link #loadAsync(String[])},
+ * so it does not hold any thread, while it waits.
+ *
  * @see BIOS
  */
 public interface BIOSModule {
 
     /**
      * Initialize module. The method must be non-blocked for long time. If module need do long
-     * operation, you can start separately thread. {@link BIOS} waiting to load all modules and when
-     * all modules are loaded, {@link Kernel} can be started.
+     * operation, it should implement {@link #loadAsync(String[])}. {@link BIOS} waiting to load all modules
+     * and when all modules are loaded, {@link Kernel} can be started.
      *
      * @param args
      *        Application arguments.
      */
     void load(String[] args);
 
+    /**
+     * Initialize module asynchronously. Module is treated as loaded, when returned stage is completed, and
+     * modules, that depend on it, are started after that. Module, that does not complete the stage in
+     * the load timeout of {@link BIOS}, is treated as failed.
+     *
+     * @param args
+     *        Application arguments.
+     * @return stage completed, when module is loaded; by default stage completed after synchronous
+     *         {@link #load(String[])}
+     */
+    default CompletionStage<Void> loadAsync(String[] args) {
+        load(args);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Before loaded module is correctly finished, unloaded from memory and prepared to finish.
      * All threads started by module must be correctly finished.
      */
     void unload();
+
+    /**
+     * Modules, that must be loaded before this module. Every loaded module, that is instance of
+     * any returned class (class or interface), is treated as dependency. When no loaded module
+     * is instance of returned class, the dependency is ignored.
+     *
+     * Cyclic dependencies are not allowed and {@link BIOS} refuse to load modules with them.
+     *
+     * @return classes of modules, that must be loaded before this module; empty set by default.
+     */
+    default Set<Class<? extends BIOSModule>> dependsOn() {
+        return Collections.emptySet();
+    }
 }
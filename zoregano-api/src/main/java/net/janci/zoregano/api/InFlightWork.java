@@ -0,0 +1,95 @@
+package net.janci.zoregano.api;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counter of work in progress of {@link KernelModule}, that allows to stop module without breaking of requests
+ * it serves. Module wraps every unit of work (request, message, job):
+ * <pre>
+ *   if (!inFlight.tryEnter()) {
+ *       // module is stopping, reject work
+ *   }
+ *   try {
+ *       ...
+ *   } finally {
+ *       inFlight.exit();
+ *   }
+ * </pre>
+ * When the module is stopped by {@link KernelController#stopModule(Class)}, new work is rejected and controller
+ * waits, until work in progress is finished.
+ *
+ * Entering and exiting is one atomic increment and decrement, so the counter can guard hot paths.
+ */
+public final class InFlightWork {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    /**
+     * @return true, when work can start and {@link #exit()} must be called after; false, when module is stopping
+     */
+    public boolean tryEnter() {
+        count.incrementAndGet();
+        if (closed) {
+            exit();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finish work started by successful {@link #tryEnter()}.
+     */
+    public void exit() {
+        if (count.decrementAndGet() == 0 && closed) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return count of work in progress
+     */
+    public int count() {
+        return count.get();
+    }
+
+    /**
+     * @return true, when new work is rejected
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Reject new work and wait, until work in progress is finished.
+     *
+     * @param timeout   maximal time to wait
+     * @return true, when all work was finished in time
+     * @throws InterruptedException when waiting thread was interrupted
+     */
+    public boolean drain(Duration timeout) throws InterruptedException {
+        closed = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (this) {
+            while (count.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Accept new work again.
+     */
+    public void open() {
+        closed = false;
+    }
+}
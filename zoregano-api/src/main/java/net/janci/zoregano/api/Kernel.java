@@ -1,5 +1,9 @@
 package net.janci.zoregano.api;
 
+import net.janci.zoregano.api.metrics.MetricRegistry;
+import net.janci.zoregano.concurrent.EventBus;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
+
 /**
  * Name of tha class has symbolic in the Linux Kernel. When {@link BIOS} and {@link BIOSModule} modules
  * started, system delegate initialization process to Kernel.
@@ -19,9 +23,69 @@ public interface Kernel {
      */
     void terminate();
 
+    /**
+     * Initialize kernel again after restart in the same JVM. Kernel should pass the handoff to its
+     * {@link KernelModule#takeOver(KernelHandoff)} before modules are loaded.
+     *
+     * @param handoff   state handed over by previous incarnation of kernel
+     */
+    default void init(KernelHandoff handoff) {
+        init();
+    }
+
+    /**
+     * Terminate kernel, that will be initialized again in the same JVM. Kernel should pass the handoff to its
+     * {@link KernelModule#handOff(KernelHandoff)} before modules are unloaded.
+     *
+     * @param handoff   state handed over to next incarnation of kernel
+     */
+    default void terminate(KernelHandoff handoff) {
+        terminate();
+    }
+
+    /**
+     * Attach kernel to its context in multi-kernel mode. It is called before initialization of kernel, kernel, that
+     * runs side by side with other kernels, should expose executors of the context by {@link #getExecutors()} and
+     * read configurations from factory of the context. Context is not passed, when kernel runs alone.
+     *
+     * @param context   environment of kernel
+     */
+    default void setContext(KernelContext context) {
+    }
+
     /**
      * Getter for KernelController of currently loaded kernel.
      * @return  KernelController related to loaded Kernel.
      */
     KernelController getController();
+
+    /**
+     * Executors, that kernel exposes to its {@link KernelModule}s. Modules should use these pools instead
+     * of creating own ones. Pools are shut down with termination of kernel and BIOS.
+     *
+     * @return executors of the kernel; executors of the system ({@link ExecutorRegistry#system()}) by default
+     */
+    default ExecutorRegistry getExecutors() {
+        return ExecutorRegistry.system();
+    }
+
+    /**
+     * Event bus, that kernel exposes to its {@link KernelModule}s, so modules can exchange events without
+     * dependency on each other.
+     *
+     * @return event bus of the kernel; event bus of the system ({@link EventBus#system()}) by default
+     */
+    default EventBus getEventBus() {
+        return EventBus.system();
+    }
+
+    /**
+     * Metrics, that kernel exposes to its {@link KernelModule}s, so modules publish their counters and latencies
+     * through one registry, that is exported by BIOS.
+     *
+     * @return metrics of the kernel; metrics of the system ({@link MetricRegistry#system()}) by default
+     */
+    default MetricRegistry getMetrics() {
+        return MetricRegistry.system();
+    }
 }
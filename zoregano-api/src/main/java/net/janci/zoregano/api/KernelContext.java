@@ -0,0 +1,67 @@
+package net.janci.zoregano.api;
+
+import net.janci.zoregano.api.config.ConfigurationFactory;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
+
+/**
+ * Environment of one {@link Kernel} in multi-kernel mode, where several independent kernels run side by side in one
+ * JVM, e.g. one kernel for every tenant or shard. All kernels share BIOS and its modules, but every kernel has own
+ * controller, own partition of executors and own scope of configurations.
+ *
+ * Context is passed to kernel by {@link Kernel#setContext(KernelContext)}, before kernel is initialized.
+ */
+public final class KernelContext {
+
+    private final String name;
+
+    private final KernelController controller;
+
+    private final ExecutorRegistry executors;
+
+    private final ConfigurationFactory configurationFactory;
+
+    /**
+     * @param name                  name of kernel instance
+     * @param controller            controller of the kernel
+     * @param executors             executors of the kernel partition
+     * @param configurationFactory  factory of configurations in the scope of kernel, or null when system has no
+     *                              configuration factory
+     */
+    public KernelContext(String name, KernelController controller, ExecutorRegistry executors,
+                         ConfigurationFactory configurationFactory) {
+        this.name = name;
+        this.controller = controller;
+        this.executors = executors;
+        this.configurationFactory = configurationFactory;
+    }
+
+    /**
+     * @return name of kernel instance, e.g. "tenant-a"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return controller of the kernel; controllers of other kernels are independent
+     */
+    public KernelController getController() {
+        return controller;
+    }
+
+    /**
+     * @return executors of the kernel, they are sized to the share of CPUs of the kernel and shut down with
+     *         termination of the kernel
+     */
+    public ExecutorRegistry getExecutors() {
+        return executors;
+    }
+
+    /**
+     * @return factory of configurations in the scope of kernel ({@link ConfigurationFactory#scoped(String)}),
+     *         or null when system has no configuration factory
+     */
+    public ConfigurationFactory getConfigurationFactory() {
+        return configurationFactory;
+    }
+}
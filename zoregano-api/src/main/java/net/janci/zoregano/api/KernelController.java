@@ -4,6 +4,9 @@ package net.janci.zoregano.api;
  * KernelController is class, that open control mechanism to other class in the system.
  * For example: when some {@link KernelModule} can restart completely {@link Kernel}.
  *
+ * In multi-kernel mode every kernel has own controller ({@link KernelContext#getController()}) and no controller
+ * is marked as system controller.
+ *
  * @see KernelModule
  * @see Kernel
  */
@@ -21,14 +24,14 @@ public abstract class KernelController {
      *
      * @param moduleClass   Kernel module class.
      */
-    abstract public void stopModule(Class<KernelModule> moduleClass);
+    abstract public void stopModule(Class<? extends KernelModule> moduleClass);
 
     /**
      * Start specific {@link KernelModule}.
      *
      * @param moduleClass   Kernel module class.
      */
-    abstract public void startModule(Class<KernelModule> moduleClass);
+    abstract public void startModule(Class<? extends KernelModule> moduleClass);
 
     /**
      * The controller will be marked as system {@link Kernel} controller.
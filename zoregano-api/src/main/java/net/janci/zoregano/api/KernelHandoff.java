@@ -0,0 +1,72 @@
+package net.janci.zoregano.api;
+
+import net.janci.zoregano.api.logging.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * State, that {@link Kernel} and its {@link KernelModule}s hand over to their next incarnation, when kernel is
+ * restarted in the same JVM. Module can put its warm caches, pooled buffers or open connections by
+ * {@link KernelModule#handOff(KernelHandoff)} and take them back by {@link KernelModule#takeOver(KernelHandoff)},
+ * instead of building them again.
+ *
+ * Handoff is opt-in, module, that does not take its state, starts cold. Values, that are not taken, are
+ * closed by {@link #close()}, when they are {@link AutoCloseable}.
+ */
+public final class KernelHandoff implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(KernelHandoff.class);
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    /**
+     * Hand over value to the next incarnation. Value with the same key is replaced.
+     *
+     * @param key   key of value, module should use its class name as prefix
+     * @param value value to hand over
+     */
+    public synchronized void put(String key, Object value) {
+        values.put(key, value);
+    }
+
+    /**
+     * Take value handed over by the previous incarnation. Value can be taken only once.
+     *
+     * @param key   key of value
+     * @param type  expected type of value
+     * @param <T>   expected type of value
+     * @return value, or null when no value was handed over
+     * @throws ClassCastException when value is not instance of the type
+     */
+    public synchronized <T> T take(String key, Class<T> type) {
+        T value = type.cast(values.get(key));
+        values.remove(key);
+        return value;
+    }
+
+    /**
+     * @return keys of values, that were not taken yet
+     */
+    public synchronized Set<String> keys() {
+        return Set.copyOf(values.keySet());
+    }
+
+    /**
+     * Close values, that were not taken, when they are {@link AutoCloseable}, and forget all values.
+     */
+    @Override
+    public synchronized void close() {
+        for (Object value : values.values()) {
+            if (value instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) value).close();
+                } catch (Exception e) {
+                    LOGGER.error("Handed off value " + value.getClass().getName() + " can not be closed", e);
+                }
+            }
+        }
+        values.clear();
+    }
+}
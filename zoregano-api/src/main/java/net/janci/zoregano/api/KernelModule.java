@@ -1,5 +1,7 @@
 package net.janci.zoregano.api;
 
+import java.time.Duration;
+
 /**
  * Kernel modules are loaded, when {@link Kernel} is successfully started. Which module will be
  * started, and which module no, manage {@link Kernel}. It means, that any module may not be running at all.
@@ -7,6 +9,12 @@ package net.janci.zoregano.api;
  * Module should be isolated and should not have any "hard" dependency to other module.
  *
  * Also, start of modules is managed by {@link Kernel}, but there is no secured the order.
+ *
+ * Module can be stopped and started again by {@link KernelController}, while other modules keep running.
+ * Module, that returns {@link #inFlightWork()}, is stopped only after its work in progress is finished.
+ *
+ * Module marked as {@link #isLazy()} is not loaded with kernel, but on its first use, so deployment, that never
+ * uses the module, does not pay for its load and memory.
  */
 public interface KernelModule {
     /**
@@ -18,4 +26,48 @@ public interface KernelModule {
      * Stop module, stop all threads managed by module and release resources.
      */
     void unload();
+
+    /**
+     * Work in progress of module, that is drained before the module is unloaded by {@link KernelController}.
+     *
+     * @return counter of work guarded by module, or null when module does not track its work (default)
+     */
+    default InFlightWork inFlightWork() {
+        return null;
+    }
+
+    /**
+     * @return true, when module should be loaded on its first use or start by {@link KernelController}
+     *         instead of with kernel; false by default
+     */
+    default boolean isLazy() {
+        return false;
+    }
+
+    /**
+     * Lazy module, that was not used for idle timeout and has no work in progress, is unloaded and it is loaded
+     * again on its next use.
+     *
+     * @return idle timeout of lazy module, or null, when module is never unloaded for idleness (default)
+     */
+    default Duration idleTimeout() {
+        return null;
+    }
+
+    /**
+     * Hand over warm state to the next incarnation of module, when kernel is restarted in the same JVM.
+     * Called before {@link #unload()}, state handed over must not be released by unload.
+     *
+     * @param handoff   state handed over to the next incarnation
+     */
+    default void handOff(KernelHandoff handoff) {
+    }
+
+    /**
+     * Take warm state handed over by the previous incarnation of module. Called before {@link #load()}.
+     *
+     * @param handoff   state handed over by the previous incarnation
+     */
+    default void takeOver(KernelHandoff handoff) {
+    }
 }
@@ -0,0 +1,151 @@
+package net.janci.zoregano.api.config;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Precompiled configuration key for value of type T. Key is created once, usually as constant, and bound
+ * to {@link Configuration}. Bound value converts configuration value only once for every
+ * {@link Configuration#version()}, every next read returns cached value without parsing of path or value.
+ * <pre>
+ *     static final ConfigKey&lt;Duration&gt; TIMEOUT = ConfigKey.ofDuration("server.timeout");
+ *
+ *     ConfigKey.Value&lt;Duration&gt; timeout = TIMEOUT.bind(configuration);
+ *     timeout.get();
+ * </pre>
+ *
+ * Primitive values are read without boxing by {@link IntKey}, {@link LongKey} or {@link DoubleKey}.
+ *
+ * @param <T>   type of value
+ */
+public final class ConfigKey<T> {
+
+    private final String path;
+
+    private final BiFunction<Configuration, String, T> reader;
+
+    private ConfigKey(String path, BiFunction<Configuration, String, T> reader) {
+        this.path = path;
+        this.reader = reader;
+    }
+
+    /**
+     * @param path      path expression
+     * @param reader    function, that reads value by path from configuration
+     * @param <T>       type of value
+     * @return key for value read by reader
+     */
+    public static <T> ConfigKey<T> of(String path, BiFunction<Configuration, String, T> reader) {
+        return new ConfigKey<>(path, reader);
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for value read by {@link Configuration#getBoolean(String)}
+     */
+    public static ConfigKey<Boolean> ofBoolean(String path) {
+        return of(path, Configuration::getBoolean);
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for value read by {@link Configuration#getString(String)}
+     */
+    public static ConfigKey<String> ofString(String path) {
+        return of(path, Configuration::getString);
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for value read by {@link Configuration#getDuration(String)}
+     */
+    public static ConfigKey<Duration> ofDuration(String path) {
+        return of(path, Configuration::getDuration);
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for value read by {@link Configuration#getPeriod(String)}
+     */
+    public static ConfigKey<Period> ofPeriod(String path) {
+        return of(path, Configuration::getPeriod);
+    }
+
+    /**
+     * @param enumClass an enum class
+     * @param path      path expression
+     * @param <T>       a generic denoting a specific type of enum
+     * @return key for value read by {@link Configuration#getEnum(Class, String)}
+     */
+    public static <T extends Enum<T>> ConfigKey<T> ofEnum(Class<T> enumClass, String path) {
+        return of(path, (configuration, p) -> configuration.getEnum(enumClass, p));
+    }
+
+    /**
+     * @return path expression of the key
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Bind the key to configuration.
+     *
+     * @param configuration configuration, where value is read
+     * @return value of the key in the configuration
+     */
+    public Value<T> bind(Configuration configuration) {
+        return new Value<>(this, configuration);
+    }
+
+    /**
+     * Value of {@link ConfigKey} bound to configuration.
+     *
+     * @param <T>   type of value
+     */
+    public static final class Value<T> implements Supplier<T> {
+
+        private final ConfigKey<T> key;
+
+        private final Configuration configuration;
+
+        private volatile Cached<T> cached;
+
+        private Value(ConfigKey<T> key, Configuration configuration) {
+            this.key = key;
+            this.configuration = configuration;
+        }
+
+        /**
+         * @return value in the current version of configuration
+         */
+        @Override
+        public T get() {
+            long version = configuration.version();
+            Cached<T> current = cached;
+            if (current != null && current.version == version && version != Configuration.UNVERSIONED) {
+                return current.value;
+            }
+
+            T value = key.reader.apply(configuration, key.path);
+            if (version != Configuration.UNVERSIONED) {
+                cached = new Cached<>(version, value);
+            }
+            return value;
+        }
+    }
+
+    private static final class Cached<T> {
+
+        private final long version;
+
+        private final T value;
+
+        private Cached(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -3,15 +3,132 @@ package net.janci.zoregano.api.config;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Period;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Class implement the interface represent configuration and simple way,
  * how to read values by specific type.
+ *
+ * Numeric lists can be read and written as primitive arrays (for example {@link #getLongArray(String)}),
+ * without boxing of every element.
+ *
+ * Values, that are read often, can be read by precompiled keys ({@link ConfigKey}, {@link IntKey},
+ * {@link LongKey}, {@link DoubleKey}), that convert value only once for every {@link #version()}.
+ *
+ * Changes of values can be observed by {@link ConfigurationListener}. Consistent values of many paths
+ * are read from {@link #snapshot()} and many paths are changed atomically by {@link #update(Consumer)}.
+ * Listeners, snapshots and batches are optional, configuration, that does not support them, throws
+ * {@link UnsupportedOperationException}.
  */
 public interface Configuration {
 
+    /**
+     * Version, that is returned by configuration without versioning.
+     */
+    long UNVERSIONED = -1;
+
+    /**
+     * Version of values in the configuration. Implementation must return higher version after every change
+     * of any value (by setter or by reload of configuration), so values cached by {@link ConfigKey} are
+     * converted again.
+     *
+     * Default implementation returns {@link #UNVERSIONED}, values read by keys are converted on every read.
+     *
+     * @return non-negative version of values, or {@link #UNVERSIONED}
+     */
+    default long version() {
+        return UNVERSIONED;
+    }
+
+    /**
+     * Register listener of changes in the subtree of configuration. Subtree "server" contains path "server"
+     * and all paths starting with "server.", empty path is subtree of the whole configuration.
+     *
+     * Default implementation does not support change notifications.
+     *
+     * @param path      path expression of subtree
+     * @param listener  listener notified with changed paths in the subtree
+     * @throws UnsupportedOperationException when configuration does not support change notifications
+     */
+    default void addListener(String path, ConfigurationListener listener) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support change notifications");
+    }
+
+    /**
+     * Unregister listener from all subtrees, it was registered to.
+     *
+     * Default implementation does not support change notifications, as well as
+     * {@link #addListener(String, ConfigurationListener)}.
+     *
+     * @param listener  registered listener
+     * @throws UnsupportedOperationException when configuration does not support change notifications
+     */
+    default void removeListener(ConfigurationListener listener) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support change notifications");
+    }
+
+    /**
+     * Immutable view of current values. All reads from the snapshot see the same values, even when
+     * the configuration is changed concurrently, and setters of snapshot throw
+     * {@link UnsupportedOperationException}.
+     *
+     * Default implementation does not support snapshots.
+     *
+     * @return immutable snapshot of configuration
+     * @throws UnsupportedOperationException when configuration does not support snapshots
+     */
+    default Configuration snapshot() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support snapshots");
+    }
+
+    /**
+     * Apply batch of changes in one atomic step. Changes are done by setters of configuration passed
+     * to the consumer, getters of that configuration see changes done in the batch already. Readers of this
+     * configuration see either no change from the batch or all of them, and listeners are notified once
+     * for the whole batch. When the consumer throws exception, no change is applied.
+     *
+     * Default implementation does not support batches.
+     *
+     * @param changes   consumer, that change values of passed configuration
+     * @throws UnsupportedOperationException when configuration does not support batches
+     */
+    default void update(Consumer<? super Configuration> changes) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support batches");
+    }
+
+    /**
+     * Apply batch of changes atomically and persist the result in one durable commit.
+     *
+     * @see #commit(String, Consumer, Consumer)
+     */
+    default void commit(String configName, Consumer<? super Configuration> changes) throws IOException {
+        commit(configName, changes, values -> { });
+    }
+
+    /**
+     * Apply batch of changes atomically and persist the result in one durable commit. Changes are collected like
+     * by {@link #update(Consumer)}, then the validator checks configuration with all changes of the batch and
+     * refuses the batch by exception. Values are serialized once for the whole batch and written to the storage,
+     * before readers of this configuration see them, so the batch is either persisted and visible, or it is not
+     * applied at all.
+     *
+     * Default implementation does not support batches, the same as {@link #update(Consumer)}.
+     *
+     * @param configName    name of persisted configuration, the same as in {@link #save(String)}
+     * @param changes       consumer, that change values of passed configuration
+     * @param validator     consumer, that throws exception, when passed configuration with changes is not valid
+     * @throws IOException  when configuration can not be persisted
+     * @throws UnsupportedOperationException when configuration does not support batches
+     */
+    default void commit(String configName, Consumer<? super Configuration> changes,
+                        Consumer<? super Configuration> validator) throws IOException {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support batches");
+    }
+
     /**
      * Checks whether a value is present and non-null at the given path.
      *
@@ -304,6 +421,139 @@ public interface Configuration {
 
     void setDurationList(String path, TimeUnit unit, List<Long> values);
 
+    /**
+     * Gets a list value with int elements as primitive array, without boxing of elements.
+     * Throws in the same cases as {@link #getIntList(String)}.
+     *
+     * Default implementation converts {@link #getIntList(String)}. Implementation, that stores
+     * numeric lists as primitive arrays, should override it.
+     *
+     * @param path
+     *            the path to the list value.
+     * @return new array with values of the list, caller may modify it
+     */
+    default int[] getIntArray(String path) {
+        return getIntList(path).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Sets a list value with int elements from primitive array. Array is copied.
+     *
+     * @param path
+     *            the path to the list value.
+     * @param values
+     *            values of the list
+     */
+    default void setIntArray(String path, int[] values) {
+        setIntList(path, Arrays.stream(values).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Gets a list value with long elements as primitive array, without boxing of elements.
+     * Throws in the same cases as {@link #getLongList(String)}.
+     *
+     * Default implementation converts {@link #getLongList(String)}. Implementation, that stores
+     * numeric lists as primitive arrays, should override it.
+     *
+     * @param path
+     *            the path to the list value.
+     * @return new array with values of the list, caller may modify it
+     */
+    default long[] getLongArray(String path) {
+        return getLongList(path).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Sets a list value with long elements from primitive array. Array is copied.
+     *
+     * @param path
+     *            the path to the list value.
+     * @param values
+     *            values of the list
+     */
+    default void setLongArray(String path, long[] values) {
+        setLongList(path, Arrays.stream(values).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Gets a list value with double elements as primitive array, without boxing of elements.
+     * Throws in the same cases as {@link #getDoubleList(String)}.
+     *
+     * Default implementation converts {@link #getDoubleList(String)}. Implementation, that stores
+     * numeric lists as primitive arrays, should override it.
+     *
+     * @param path
+     *            the path to the list value.
+     * @return new array with values of the list, caller may modify it
+     */
+    default double[] getDoubleArray(String path) {
+        return getDoubleList(path).stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * Sets a list value with double elements from primitive array. Array is copied.
+     *
+     * @param path
+     *            the path to the list value.
+     * @param values
+     *            values of the list
+     */
+    default void setDoubleArray(String path, double[] values) {
+        setDoubleList(path, Arrays.stream(values).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Gets a list value with elements representing a size in bytes as primitive array.
+     * Throws in the same cases as {@link #getBytesList(String)}.
+     *
+     * @param path
+     *            the path to the list value.
+     * @return new array with sizes in bytes, caller may modify it
+     */
+    default long[] getBytesArray(String path) {
+        return getBytesList(path).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Sets a list value with sizes in bytes from primitive array. Array is copied.
+     *
+     * @param path
+     *            the path to the list value.
+     * @param values
+     *            sizes in bytes
+     */
+    default void setBytesArray(String path, long[] values) {
+        setBytesList(path, Arrays.stream(values).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Gets a list, converting each value in the list to a duration, using the
+     * same rules as {@link #getDuration(String, TimeUnit)}, as primitive array.
+     *
+     * @param path
+     *            a path expression
+     * @param unit
+     *            time units of the returned values
+     * @return new array with durations in the requested units, caller may modify it
+     */
+    default long[] getDurationArray(String path, TimeUnit unit) {
+        return getDurationList(path, unit).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Sets a list of durations from primitive array. Array is copied.
+     *
+     * @param path
+     *            a path expression
+     * @param unit
+     *            time units of the values
+     * @param values
+     *            durations in the units
+     */
+    default void setDurationArray(String path, TimeUnit unit, long[] values) {
+        setDurationList(path, unit, Arrays.stream(values).boxed().collect(Collectors.toList()));
+    }
+
     /**
      * Gets a list, converting each value in the list to a duration, using the
      * same rules as {@link #getDuration(String)}.
@@ -317,7 +567,8 @@ public interface Configuration {
     void setDurationList(String path, List<Duration> values);
 
     /**
-     * Persist configured keys for later usage.
+     * Persist configured keys for later usage. Many changes should be persisted together by
+     * {@link #commit(String, Consumer, Consumer)}.
      *
      * @param configName    new configuration name, that can be use to store.
      * @throws IOException  when any problem with persisting obtained.
@@ -1,6 +1,7 @@
 package net.janci.zoregano.api.config;
 
-import java.util.Optional;
+import net.janci.zoregano.api.internal.ServiceIndex;
+
 import java.util.ServiceLoader;
 import java.util.stream.Stream;
 
@@ -41,6 +42,21 @@ public interface ConfigurationFactory {
      */
     Configuration emptyConfiguration();
 
+    /**
+     * Factory of configurations in the scope, e.g. configurations of one kernel in multi-kernel mode. Name of
+     * configuration is prefixed by the scope and ".", so configuration "jdbc" of scope "tenant-a" is configuration
+     * "tenant-a.jdbc" of this factory; the scope is flattened into the name, so file based factory keeps scoped
+     * configurations in the same directory as the others. Configurations of different scopes are independent, and
+     * names passed to {@link Configuration#save(String)} and {@link Configuration#commit(String, java.util.function.Consumer)}
+     * of scoped configurations are prefixed by the scope too.
+     *
+     * @param scope name of scope, e.g. name of kernel
+     * @return factory of configurations in the scope
+     */
+    default ConfigurationFactory scoped(String scope) {
+        return new ScopedConfigurationFactory(this, scope);
+    }
+
     /**
      * Found correctly configuration factory in the system and returns it.
      *
@@ -48,9 +64,11 @@ public interface ConfigurationFactory {
      * loading this class has most priority.
      *
      * If {@link ConfigurationFactory} system property is not defined,
-     * {@link Stream#findFirst()} on the {@link ServiceLoader#load(Class)} is used to construct new instance.
+     * {@link Stream#findFirst()} on the providers from build-time {@link ServiceIndex}, or from
+     * {@link ServiceLoader#load(Class)} when the index is not available, is used to construct new instance.
      *
-     * Every time, when method is called, new instance is created.
+     * Instance is found only at first call and it is cached. Every next call returns the same instance
+     * without lock, until {@link #reload()} is called.
      *
      * When in the system non-exists any {@link ConfigurationFactory} as service or {@link ConfigurationFactory} by defined
      * system parameter doesn't obtained, method returns null.
@@ -58,15 +76,18 @@ public interface ConfigurationFactory {
      * @return instance of implementation ConfigurationFactory
      */
     static ConfigurationFactory getInstance() {
-        ServiceLoader<ConfigurationFactory> configFactoryService = ServiceLoader.load(ConfigurationFactory.class);
-        String configFactoryClass = System.getProperty("config.factory-class");
-        if (configFactoryClass != null) {
-            return configFactoryService.stream()
-                    .filter(p ->p.type().getName().equals(configFactoryClass))
-                    .findAny().map(ServiceLoader.Provider::get).orElse(null);
-        }
+        return ConfigurationFactoryHolder.get();
+    }
 
-        Optional<ConfigurationFactory> configurationFactoryOpt = configFactoryService.findFirst();
-        return configurationFactoryOpt.orElse(null);
+    /**
+     * Found configuration factory in the system again, by the same rules as {@link #getInstance()}, and atomically
+     * replace cached instance. Readers calling {@link #getInstance()} concurrently get either previous
+     * or new instance, but they are never blocked. Previous instance, that is {@link AutoCloseable} (e.g. factory,
+     * that watches its configurations), is closed after it is replaced.
+     *
+     * @return new instance of implementation ConfigurationFactory, or null when no factory is found
+     */
+    static ConfigurationFactory reload() {
+        return ConfigurationFactoryHolder.reload();
     }
 }
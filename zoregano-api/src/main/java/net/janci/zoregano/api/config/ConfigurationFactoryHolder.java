@@ -0,0 +1,90 @@
+package net.janci.zoregano.api.config;
+
+import net.janci.zoregano.api.internal.ServiceIndex;
+import net.janci.zoregano.api.logging.Logger;
+
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder of system {@link ConfigurationFactory}. Factory is published by atomic reference, readers
+ * never take lock and never find the factory again, until {@link #reload()} is called. Lookup of factory runs
+ * under lock, so concurrent first readers find the factory only once, and factory replaced by reload is closed,
+ * when it is {@link AutoCloseable}.
+ *
+ * @see ConfigurationFactory#getInstance()
+ */
+final class ConfigurationFactoryHolder {
+
+    /**
+     * Property name to define {@link ConfigurationFactory} class.
+     */
+    final static String FACTORY_CLASS_PROPERTY_NAME = "config.factory-class";
+
+    private static final Logger LOGGER = Logger.getLogger(ConfigurationFactoryHolder.class);
+
+    private static final AtomicReference<Loaded> loaded = new AtomicReference<>();
+
+    private static final Object lookupLock = new Object();
+
+    private ConfigurationFactoryHolder() {
+    }
+
+    static ConfigurationFactory get() {
+        Loaded current = loaded.get();
+        if (current == null) {
+            synchronized (lookupLock) {
+                current = loaded.get();
+                if (current == null) {
+                    current = new Loaded(lookup());
+                    loaded.set(current);
+                }
+            }
+        }
+        return current.factory;
+    }
+
+    static ConfigurationFactory reload() {
+        Loaded fresh;
+        Loaded previous;
+        synchronized (lookupLock) {
+            fresh = new Loaded(lookup());
+            previous = loaded.getAndSet(fresh);
+        }
+        if (previous != null && previous.factory instanceof AutoCloseable && previous.factory != fresh.factory) {
+            try {
+                ((AutoCloseable) previous.factory).close();
+            } catch (Exception e) {
+                LOGGER.warn("Replaced configuration factory " + previous.factory.getClass().getName()
+                        + " can not be closed: " + e);
+            }
+        }
+        return fresh.factory;
+    }
+
+    static ConfigurationFactory lookup() {
+        String configFactoryClass = System.getProperty(FACTORY_CLASS_PROPERTY_NAME);
+        if (configFactoryClass != null) {
+            return ServiceIndex.providers(ConfigurationFactory.class)
+                    .filter(p ->p.type().getName().equals(configFactoryClass))
+                    .findAny().map(ServiceLoader.Provider::get).orElse(null);
+        }
+
+        Optional<ConfigurationFactory> configurationFactoryOpt = ServiceIndex.providers(ConfigurationFactory.class)
+                .findFirst().map(ServiceLoader.Provider::get);
+        return configurationFactoryOpt.orElse(null);
+    }
+
+    /**
+     * Found factory, the factory may be null, when no factory exists in the system.
+     */
+    private static final class Loaded {
+
+        private final ConfigurationFactory factory;
+
+        private Loaded(ConfigurationFactory factory) {
+            this.factory = factory;
+        }
+    }
+}
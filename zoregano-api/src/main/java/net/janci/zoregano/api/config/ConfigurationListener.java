@@ -0,0 +1,23 @@
+package net.janci.zoregano.api.config;
+
+import java.util.Set;
+
+/**
+ * Listener of changes in the {@link Configuration}. Listener is registered for subtree of configuration
+ * by {@link Configuration#addListener(String, ConfigurationListener)} and it is notified only when any value
+ * in the subtree was changed, added or removed, for example by reload of configuration file.
+ *
+ * {@link net.janci.zoregano.api.KernelModule} can reconfigure itself by the listener, without restart
+ * of the kernel.
+ */
+@FunctionalInterface
+public interface ConfigurationListener {
+
+    /**
+     * Called after the change was applied, so configuration returns new values already.
+     *
+     * @param configuration changed configuration
+     * @param changedPaths  changed paths in the subtree of listener, never empty
+     */
+    void configurationChanged(Configuration configuration, Set<String> changedPaths);
+}
@@ -0,0 +1,77 @@
+package net.janci.zoregano.api.config;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Precompiled configuration key for double value. Bound value is read without boxing and it is converted
+ * only once for every {@link Configuration#version()}.
+ *
+ * @see ConfigKey
+ */
+public final class DoubleKey {
+
+    private final String path;
+
+    private final ToLongBiFunction<Configuration, String> reader;
+
+    private DoubleKey(String path, ToDoubleBiFunction<Configuration, String> reader) {
+        this.path = path;
+        this.reader = (configuration, p) -> Double.doubleToRawLongBits(reader.applyAsDouble(configuration, p));
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for value read by {@link Configuration#getDouble(String)}
+     */
+    public static DoubleKey of(String path) {
+        return new DoubleKey(path, Configuration::getDouble);
+    }
+
+    /**
+     * @param path      path expression
+     * @param reader    function, that reads value by path from configuration
+     * @return key for value read by reader
+     */
+    public static DoubleKey of(String path, ToDoubleBiFunction<Configuration, String> reader) {
+        return new DoubleKey(path, reader);
+    }
+
+    /**
+     * @return path expression of the key
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Bind the key to configuration.
+     *
+     * @param configuration configuration, where value is read
+     * @return value of the key in the configuration
+     */
+    public Value bind(Configuration configuration) {
+        return new Value(this, configuration);
+    }
+
+    /**
+     * Value of {@link DoubleKey} bound to configuration.
+     */
+    public static final class Value implements DoubleSupplier {
+
+        private final PrimitiveValue value;
+
+        private Value(DoubleKey key, Configuration configuration) {
+            this.value = new PrimitiveValue(key.path, key.reader, configuration);
+        }
+
+        /**
+         * @return value in the current version of configuration
+         */
+        @Override
+        public double getAsDouble() {
+            return Double.longBitsToDouble(value.getAsBits());
+        }
+    }
+}
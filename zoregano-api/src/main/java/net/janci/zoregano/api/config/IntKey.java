@@ -0,0 +1,77 @@
+package net.janci.zoregano.api.config;
+
+import java.util.function.IntSupplier;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Precompiled configuration key for int value. Bound value is read without boxing and it is converted
+ * only once for every {@link Configuration#version()}.
+ *
+ * @see ConfigKey
+ */
+public final class IntKey {
+
+    private final String path;
+
+    private final ToLongBiFunction<Configuration, String> reader;
+
+    private IntKey(String path, ToIntBiFunction<Configuration, String> reader) {
+        this.path = path;
+        this.reader = (configuration, p) -> reader.applyAsInt(configuration, p);
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for value read by {@link Configuration#getInt(String)}
+     */
+    public static IntKey of(String path) {
+        return new IntKey(path, Configuration::getInt);
+    }
+
+    /**
+     * @param path      path expression
+     * @param reader    function, that reads value by path from configuration
+     * @return key for value read by reader
+     */
+    public static IntKey of(String path, ToIntBiFunction<Configuration, String> reader) {
+        return new IntKey(path, reader);
+    }
+
+    /**
+     * @return path expression of the key
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Bind the key to configuration.
+     *
+     * @param configuration configuration, where value is read
+     * @return value of the key in the configuration
+     */
+    public Value bind(Configuration configuration) {
+        return new Value(this, configuration);
+    }
+
+    /**
+     * Value of {@link IntKey} bound to configuration.
+     */
+    public static final class Value implements IntSupplier {
+
+        private final PrimitiveValue value;
+
+        private Value(IntKey key, Configuration configuration) {
+            this.value = new PrimitiveValue(key.path, key.reader, configuration);
+        }
+
+        /**
+         * @return value in the current version of configuration
+         */
+        @Override
+        public int getAsInt() {
+            return (int) value.getAsBits();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package net.janci.zoregano.api.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Precompiled configuration key for long value. Bound value is read without boxing and it is converted
+ * only once for every {@link Configuration#version()}.
+ *
+ * @see ConfigKey
+ */
+public final class LongKey {
+
+    private final String path;
+
+    private final ToLongBiFunction<Configuration, String> reader;
+
+    private LongKey(String path, ToLongBiFunction<Configuration, String> reader) {
+        this.path = path;
+        this.reader = reader;
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for value read by {@link Configuration#getLong(String)}
+     */
+    public static LongKey of(String path) {
+        return new LongKey(path, Configuration::getLong);
+    }
+
+    /**
+     * @param path  path expression
+     * @return key for size in bytes read by {@link Configuration#getBytes(String)}
+     */
+    public static LongKey ofBytes(String path) {
+        return new LongKey(path, Configuration::getBytes);
+    }
+
+    /**
+     * @param path  path expression
+     * @param unit  time unit of value
+     * @return key for duration read by {@link Configuration#getDuration(String, TimeUnit)}
+     */
+    public static LongKey ofDuration(String path, TimeUnit unit) {
+        return new LongKey(path, (configuration, p) -> configuration.getDuration(p, unit));
+    }
+
+    /**
+     * @param path      path expression
+     * @param reader    function, that reads value by path from configuration
+     * @return key for value read by reader
+     */
+    public static LongKey of(String path, ToLongBiFunction<Configuration, String> reader) {
+        return new LongKey(path, reader);
+    }
+
+    /**
+     * @return path expression of the key
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Bind the key to configuration.
+     *
+     * @param configuration configuration, where value is read
+     * @return value of the key in the configuration
+     */
+    public Value bind(Configuration configuration) {
+        return new Value(this, configuration);
+    }
+
+    /**
+     * Value of {@link LongKey} bound to configuration.
+     */
+    public static final class Value implements LongSupplier {
+
+        private final PrimitiveValue value;
+
+        private Value(LongKey key, Configuration configuration) {
+            this.value = new PrimitiveValue(key.path, key.reader, configuration);
+        }
+
+        /**
+         * @return value in the current version of configuration
+         */
+        @Override
+        public long getAsLong() {
+            return value.getAsBits();
+        }
+    }
+}
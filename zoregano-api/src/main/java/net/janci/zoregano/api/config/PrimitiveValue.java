@@ -0,0 +1,59 @@
+package net.janci.zoregano.api.config;
+
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Value of primitive key bound to configuration, shared by {@link IntKey}, {@link LongKey} and {@link DoubleKey}.
+ * Value is kept as long bits together with the version of configuration, in which it was read, so it is converted
+ * only once for every {@link Configuration#version()}.
+ */
+final class PrimitiveValue {
+
+    private final String path;
+
+    private final ToLongBiFunction<Configuration, String> reader;
+
+    private final Configuration configuration;
+
+    private volatile Cached cached;
+
+    /**
+     * @param path          path expression
+     * @param reader        function, that reads value by path from configuration and returns its long bits
+     * @param configuration configuration, where value is read
+     */
+    PrimitiveValue(String path, ToLongBiFunction<Configuration, String> reader, Configuration configuration) {
+        this.path = path;
+        this.reader = reader;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return long bits of value in the current version of configuration
+     */
+    long getAsBits() {
+        long version = configuration.version();
+        Cached current = cached;
+        if (current != null && current.version == version && version != Configuration.UNVERSIONED) {
+            return current.bits;
+        }
+
+        long bits = reader.applyAsLong(configuration, path);
+        if (version != Configuration.UNVERSIONED) {
+            cached = new Cached(version, bits);
+        }
+        return bits;
+    }
+
+    private static final class Cached {
+
+        private final long version;
+
+        private final long bits;
+
+        private Cached(long version, long bits) {
+            this.version = version;
+            this.bits = bits;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package net.janci.zoregano.api.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link Configuration} of scope, that prefixes names of persisted configurations in {@link #save(String)} and
+ * {@link #commit(String, Consumer, Consumer)} by the scope, the same way as {@link ScopedConfigurationFactory}
+ * prefixes names of loaded configurations. Values are read and changed directly in the delegate.
+ */
+final class ScopedConfiguration implements Configuration {
+
+    private final Configuration delegate;
+
+    private final String prefix;
+
+    ScopedConfiguration(Configuration delegate, String prefix) {
+        this.delegate = delegate;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Configuration snapshot() {
+        return new ScopedConfiguration(delegate.snapshot(), prefix);
+    }
+
+    @Override
+    public void commit(String configName, Consumer<? super Configuration> changes) throws IOException {
+        delegate.commit(prefix + configName, changes);
+    }
+
+    @Override
+    public void commit(String configName, Consumer<? super Configuration> changes,
+                       Consumer<? super Configuration> validator) throws IOException {
+        delegate.commit(prefix + configName, changes, validator);
+    }
+
+    @Override
+    public void save(String configName) throws IOException {
+        delegate.save(prefix + configName);
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    @Override
+    public void addListener(String path, ConfigurationListener listener) {
+        delegate.addListener(path, listener);
+    }
+
+    @Override
+    public void removeListener(ConfigurationListener listener) {
+        delegate.removeListener(listener);
+    }
+
+    @Override
+    public void update(Consumer<? super Configuration> changes) {
+        delegate.update(changes);
+    }
+
+    @Override
+    public boolean hasPath(String path) {
+        return delegate.hasPath(path);
+    }
+
+    @Override
+    public boolean hasPathOrNull(String path) {
+        return delegate.hasPathOrNull(path);
+    }
+
+    @Override
+    public boolean getBoolean(String path) {
+        return delegate.getBoolean(path);
+    }
+
+    @Override
+    public void setBoolean(String path, boolean value) {
+        delegate.setBoolean(path, value);
+    }
+
+    @Override
+    public Number getNumber(String path) {
+        return delegate.getNumber(path);
+    }
+
+    @Override
+    public void setNumber(String path, Number value) {
+        delegate.setNumber(path, value);
+    }
+
+    @Override
+    public int getInt(String path) {
+        return delegate.getInt(path);
+    }
+
+    @Override
+    public void setInt(String path, int value) {
+        delegate.setInt(path, value);
+    }
+
+    @Override
+    public long getLong(String path) {
+        return delegate.getLong(path);
+    }
+
+    @Override
+    public void setLong(String path, Long value) {
+        delegate.setLong(path, value);
+    }
+
+    @Override
+    public double getDouble(String path) {
+        return delegate.getDouble(path);
+    }
+
+    @Override
+    public void setDouble(String path, double value) {
+        delegate.setDouble(path, value);
+    }
+
+    @Override
+    public String getString(String path) {
+        return delegate.getString(path);
+    }
+
+    @Override
+    public void setString(String path, String value) {
+        delegate.setString(path, value);
+    }
+
+    @Override
+    public <T extends Enum<T>> T getEnum(Class<T> enumClass, String path) {
+        return delegate.getEnum(enumClass, path);
+    }
+
+    @Override
+    public <T extends Enum<T>> void setEnum(Class<T> enumClass, String path, T value) {
+        delegate.setEnum(enumClass, path, value);
+    }
+
+    @Override
+    public Long getBytes(String path) {
+        return delegate.getBytes(path);
+    }
+
+    @Override
+    public void setBytes(String path, Long value) {
+        delegate.setBytes(path, value);
+    }
+
+    @Override
+    public long getDuration(String path, TimeUnit unit) {
+        return delegate.getDuration(path, unit);
+    }
+
+    @Override
+    public void setDuration(String path, TimeUnit unit, long value) {
+        delegate.setDuration(path, unit, value);
+    }
+
+    @Override
+    public Duration getDuration(String path) {
+        return delegate.getDuration(path);
+    }
+
+    @Override
+    public void setDuration(String path, Duration value) {
+        delegate.setDuration(path, value);
+    }
+
+    @Override
+    public Period getPeriod(String path) {
+        return delegate.getPeriod(path);
+    }
+
+    @Override
+    public void setPeriod(String path, Period value) {
+        delegate.setPeriod(path, value);
+    }
+
+    @Override
+    public List<Boolean> getBooleanList(String path) {
+        return delegate.getBooleanList(path);
+    }
+
+    @Override
+    public void setBooleanList(String path, List<Boolean> values) {
+        delegate.setBooleanList(path, values);
+    }
+
+    @Override
+    public List<Number> getNumberList(String path) {
+        return delegate.getNumberList(path);
+    }
+
+    @Override
+    public void setNumberList(String path, List<Number> values) {
+        delegate.setNumberList(path, values);
+    }
+
+    @Override
+    public List<Integer> getIntList(String path) {
+        return delegate.getIntList(path);
+    }
+
+    @Override
+    public void setIntList(String path, List<Integer> values) {
+        delegate.setIntList(path, values);
+    }
+
+    @Override
+    public List<Long> getLongList(String path) {
+        return delegate.getLongList(path);
+    }
+
+    @Override
+    public void setLongList(String path, List<Long> values) {
+        delegate.setLongList(path, values);
+    }
+
+    @Override
+    public List<Double> getDoubleList(String path) {
+        return delegate.getDoubleList(path);
+    }
+
+    @Override
+    public void setDoubleList(String path, List<Double> values) {
+        delegate.setDoubleList(path, values);
+    }
+
+    @Override
+    public List<String> getStringList(String path) {
+        return delegate.getStringList(path);
+    }
+
+    @Override
+    public void setStringList(String path, List<String> values) {
+        delegate.setStringList(path, values);
+    }
+
+    @Override
+    public <T extends Enum<T>> List<T> getEnumList(Class<T> enumClass, String path) {
+        return delegate.getEnumList(enumClass, path);
+    }
+
+    @Override
+    public <T extends Enum<T>> void setEnumList(Class<T> enumClass, String path, List<T> values) {
+        delegate.setEnumList(enumClass, path, values);
+    }
+
+    @Override
+    public List<Long> getBytesList(String path) {
+        return delegate.getBytesList(path);
+    }
+
+    @Override
+    public void setBytesList(String path, List<Long> values) {
+        delegate.setBytesList(path, values);
+    }
+
+    @Override
+    public List<Long> getDurationList(String path, TimeUnit unit) {
+        return delegate.getDurationList(path, unit);
+    }
+
+    @Override
+    public void setDurationList(String path, TimeUnit unit, List<Long> values) {
+        delegate.setDurationList(path, unit, values);
+    }
+
+    @Override
+    public int[] getIntArray(String path) {
+        return delegate.getIntArray(path);
+    }
+
+    @Override
+    public void setIntArray(String path, int[] values) {
+        delegate.setIntArray(path, values);
+    }
+
+    @Override
+    public long[] getLongArray(String path) {
+        return delegate.getLongArray(path);
+    }
+
+    @Override
+    public void setLongArray(String path, long[] values) {
+        delegate.setLongArray(path, values);
+    }
+
+    @Override
+    public double[] getDoubleArray(String path) {
+        return delegate.getDoubleArray(path);
+    }
+
+    @Override
+    public void setDoubleArray(String path, double[] values) {
+        delegate.setDoubleArray(path, values);
+    }
+
+    @Override
+    public long[] getBytesArray(String path) {
+        return delegate.getBytesArray(path);
+    }
+
+    @Override
+    public void setBytesArray(String path, long[] values) {
+        delegate.setBytesArray(path, values);
+    }
+
+    @Override
+    public long[] getDurationArray(String path, TimeUnit unit) {
+        return delegate.getDurationArray(path, unit);
+    }
+
+    @Override
+    public void setDurationArray(String path, TimeUnit unit, long[] values) {
+        delegate.setDurationArray(path, unit, values);
+    }
+
+    @Override
+    public List<Duration> getDurationList(String path) {
+        return delegate.getDurationList(path);
+    }
+
+    @Override
+    public void setDurationList(String path, List<Duration> values) {
+        delegate.setDurationList(path, values);
+    }
+}
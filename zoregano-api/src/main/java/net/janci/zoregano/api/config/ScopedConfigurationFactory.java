@@ -0,0 +1,44 @@
+package net.janci.zoregano.api.config;
+
+/**
+ * {@link ConfigurationFactory}, that prefixes names of configurations by scope, e.g. configuration "jdbc" of scope
+ * "tenant-a" is configuration "tenant-a.jdbc" of the delegate. Returned configurations are {@link ScopedConfiguration}s,
+ * so they are saved under the prefixed name too.
+ *
+ * @see ConfigurationFactory#scoped(String)
+ */
+final class ScopedConfigurationFactory implements ConfigurationFactory {
+
+    private final ConfigurationFactory delegate;
+
+    private final String prefix;
+
+    ScopedConfigurationFactory(ConfigurationFactory delegate, String scope) {
+        if (scope.isEmpty()) {
+            throw new IllegalArgumentException("Scope of configurations must not be empty");
+        }
+        this.delegate = delegate;
+        this.prefix = scope + ".";
+    }
+
+    @Override
+    public Configuration getConfiguration(String config) {
+        Configuration configuration = delegate.getConfiguration(prefix + config);
+        return configuration == null ? null : new ScopedConfiguration(configuration, prefix);
+    }
+
+    @Override
+    public boolean containsConfiguration(String config) {
+        return delegate.containsConfiguration(prefix + config);
+    }
+
+    @Override
+    public Configuration emptyConfiguration() {
+        return new ScopedConfiguration(delegate.emptyConfiguration(), prefix);
+    }
+
+    @Override
+    public ConfigurationFactory scoped(String scope) {
+        return new ScopedConfigurationFactory(delegate, prefix + scope);
+    }
+}
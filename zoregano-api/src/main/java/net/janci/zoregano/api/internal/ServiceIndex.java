@@ -0,0 +1,253 @@
+package net.janci.zoregano.api.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.module.ModuleDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Find service providers by index precomputed during build by zoregano-processor. The index is stored
+ * in files META-INF/zoregano/services/&lt;service class name&gt;, that contain provider class names.
+ *
+ * Providers from index are instantiated directly by public static "provider()" method or by public
+ * no-argument constructor, without {@link ServiceLoader} discovery. Index is used only when it covers every
+ * provider declared by "provides" directives of modules in the boot layer and by META-INF/services files, and
+ * every indexed provider is directly accessible, i.e. its package is exported to zoregano.api. Otherwise, e.g. when
+ * index is missing, stale, or other module provides the service without index, providers are found by
+ * {@link ServiceLoader#load(Class)}, so no provider is lost.
+ *
+ * Index and declared providers are read only by the first lookup of every service by the system class loader,
+ * the decision is cached and next lookups only stream cached providers. Lookups by other class loaders (e.g. class
+ * loader of module layer set as context class loader) are not cached, so the cache never holds classes of
+ * unloadable layers.
+ */
+public class ServiceIndex {
+
+    /**
+     * Location of service index, same as ServiceIndexProcessor#INDEX_LOCATION.
+     */
+    public final static String INDEX_LOCATION = "META-INF/zoregano/services/";
+
+    private final static String SERVICES_LOCATION = "META-INF/services/";
+
+    /**
+     * Providers from complete index by service, or empty optional when service is found by {@link ServiceLoader}.
+     */
+    private final static ClassValue<Optional<List<? extends ServiceLoader.Provider<?>>>> SYSTEM_PROVIDERS = new ClassValue<>() {
+        @Override
+        protected Optional<List<? extends ServiceLoader.Provider<?>>> computeValue(Class<?> service) {
+            return Optional.ofNullable(findComplete(service, ClassLoader.getSystemClassLoader()));
+        }
+    };
+
+    private ServiceIndex() {
+    }
+
+    /**
+     * Returns providers of service. Providers are not instantiated, until {@link ServiceLoader.Provider#get()}
+     * is called.
+     *
+     * @param service   service class
+     * @param <S>       type of service
+     * @return providers of the service from index, or from {@link ServiceLoader} when index is missing, stale
+     *         or incomplete
+     */
+    public static <S> Stream<ServiceLoader.Provider<S>> providers(Class<S> service) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = ClassLoader.getSystemClassLoader();
+        }
+
+        List<ServiceLoader.Provider<S>> indexed = loader == ClassLoader.getSystemClassLoader()
+                ? findCached(service)
+                : findComplete(service, loader);
+        if (indexed != null) {
+            return indexed.stream();
+        }
+
+        ServiceIndex.class.getModule().addUses(service);
+        return ServiceLoader.load(service).stream();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> List<ServiceLoader.Provider<S>> findCached(Class<S> service) {
+        // cached providers were checked by findComplete, that they provide the service
+        return (List<ServiceLoader.Provider<S>>) SYSTEM_PROVIDERS.get(service).orElse(null);
+    }
+
+    /**
+     * @return unmodifiable providers from index, or null when index is missing, stale or incomplete
+     */
+    private static <S> List<ServiceLoader.Provider<S>> findComplete(Class<S> service, ClassLoader loader) {
+        List<ServiceLoader.Provider<S>> indexed = findIndexed(service, loader);
+        if (indexed == null || !indexed.stream().map(provider -> provider.type().getName()).collect(Collectors.toSet())
+                .containsAll(findDeclared(service, loader))) {
+            return null;
+        }
+        return List.copyOf(indexed);
+    }
+
+    private static <S> List<ServiceLoader.Provider<S>> findIndexed(Class<S> service, ClassLoader loader) {
+        Set<String> providerNames = readIndex(loader, INDEX_LOCATION, service);
+        if (providerNames == null) {
+            return null;
+        }
+
+        List<ServiceLoader.Provider<S>> providers = new ArrayList<>(providerNames.size());
+        for (String providerName : providerNames) {
+            IndexedProvider<S> provider = IndexedProvider.of(service, providerName, loader);
+            if (provider == null) {
+                return null;
+            }
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    /**
+     * Provider names are read from module descriptors, without loading of provider classes.
+     *
+     * @return names of providers declared in the boot layer and in META-INF/services files
+     */
+    private static Set<String> findDeclared(Class<?> service, ClassLoader loader) {
+        Set<String> providerNames = new LinkedHashSet<>();
+        for (Module module : ModuleLayer.boot().modules()) {
+            for (ModuleDescriptor.Provides provides : module.getDescriptor().provides()) {
+                if (provides.service().equals(service.getName())) {
+                    providerNames.addAll(provides.providers());
+                }
+            }
+        }
+        Set<String> classPathProviders = readIndex(loader, SERVICES_LOCATION, service);
+        if (classPathProviders != null) {
+            providerNames.addAll(classPathProviders);
+        }
+        return providerNames;
+    }
+
+    private static Set<String> readIndex(ClassLoader loader, String location, Class<?> service) {
+        try {
+            Enumeration<URL> indexes = loader.getResources(location + service.getName());
+            if (!indexes.hasMoreElements()) {
+                return null;
+            }
+
+            Set<String> providerNames = new LinkedHashSet<>();
+            while (indexes.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int comment = line.indexOf('#');
+                        String providerName = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                        if (!providerName.isEmpty()) {
+                            providerNames.add(providerName);
+                        }
+                    }
+                }
+            }
+            return providerNames;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Provider found in the index.
+     *
+     * @param <S>   type of service
+     */
+    private static class IndexedProvider<S> implements ServiceLoader.Provider<S> {
+
+        private final Class<? extends S> type;
+
+        private final Method providerMethod;
+
+        private final Constructor<? extends S> constructor;
+
+        private IndexedProvider(Class<? extends S> type, Method providerMethod, Constructor<? extends S> constructor) {
+            this.type = type;
+            this.providerMethod = providerMethod;
+            this.constructor = constructor;
+        }
+
+        /**
+         * @return provider, or null when provider class can not be used directly
+         */
+        static <S> IndexedProvider<S> of(Class<S> service, String providerName, ClassLoader loader) {
+            Class<?> providerClass;
+            try {
+                providerClass = Class.forName(providerName, false, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return null;
+            }
+
+            if (!Modifier.isPublic(providerClass.getModifiers())
+                    || !providerClass.getModule().isExported(providerClass.getPackageName(), ServiceIndex.class.getModule())) {
+                return null;
+            }
+
+            if (providerClass.getModule().isNamed()) {
+                try {
+                    Method providerMethod = providerClass.getMethod("provider");
+                    if (Modifier.isStatic(providerMethod.getModifiers()) && service.isAssignableFrom(providerMethod.getReturnType())) {
+                        // same as ServiceLoader, type of provider is class, that declares provider method
+                        @SuppressWarnings("unchecked")
+                        Class<? extends S> type = (Class<? extends S>) providerClass;
+                        return new IndexedProvider<>(type, providerMethod, null);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // provider is created by constructor
+                }
+            }
+
+            if (!service.isAssignableFrom(providerClass) || Modifier.isAbstract(providerClass.getModifiers())) {
+                return null;
+            }
+
+            try {
+                return new IndexedProvider<>(providerClass.asSubclass(service), null,
+                        providerClass.asSubclass(service).getConstructor());
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Class<? extends S> type() {
+            return type;
+        }
+
+        @Override
+        public S get() {
+            try {
+                if (providerMethod != null) {
+                    @SuppressWarnings("unchecked")
+                    S provider = (S) providerMethod.invoke(null);
+                    return provider;
+                }
+                return constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                throw new ServiceConfigurationError("Provider " + type.getName() + " could not be instantiated", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new ServiceConfigurationError("Provider " + type.getName() + " could not be instantiated", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package net.janci.zoregano.api.logging;
+
+/**
+ * Severity of log message, from the most severe.
+ */
+public enum LogLevel {
+    ERROR,
+    WARN,
+    INFO,
+    DEBUG
+}
@@ -0,0 +1,20 @@
+package net.janci.zoregano.api.logging;
+
+/**
+ * Destination of messages of all {@link Logger}s, e.g. logging BIOS module. Sink is installed by
+ * {@link Logger#setSink(LogSink)}.
+ */
+@FunctionalInterface
+public interface LogSink {
+
+    /**
+     * Log message. Sink is called by thread, that logs, so it should not block on I/O. Caller may reuse
+     * the message after the call, so sink must copy it, when it is written later.
+     *
+     * @param level     level of message
+     * @param logger    name of logger
+     * @param message   message
+     * @param error     error logged with the message, or null
+     */
+    void log(LogLevel level, String logger, CharSequence message, Throwable error);
+}
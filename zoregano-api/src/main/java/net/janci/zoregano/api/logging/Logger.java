@@ -0,0 +1,125 @@
+package net.janci.zoregano.api.logging;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Named logger of modules. Messages are passed to {@link LogSink} installed by logging BIOS module, or they are
+ * written to {@link System#err}, when no sink is installed (e.g. before BIOS is loaded).
+ *
+ * Logger does not allocate, so it can be used on hot paths, when the message is constant, or it is
+ * {@link StringBuilder} reused by the caller. Messages with lower level than level defined by system property
+ * {@value #LEVEL_PROPERTY_NAME} are ignored before they are passed to sink.
+ */
+public final class Logger {
+
+    /**
+     * Name of system property, that define the lowest logged level.
+     */
+    public final static String LEVEL_PROPERTY_NAME = "log.level";
+
+    private static final LogSink CONSOLE = (level, logger, message, error) -> {
+        System.err.println(level + " " + logger + " - " + message);
+        if (error != null) {
+            error.printStackTrace();
+        }
+    };
+
+    private static final LogLevel LEVEL = parseLevel(System.getProperty(LEVEL_PROPERTY_NAME));
+
+    private static volatile LogSink sink = CONSOLE;
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = Objects.requireNonNull(name);
+    }
+
+    /**
+     * @param name  name of logger, usually name of class
+     * @return logger with the name; logger should be kept in static field
+     */
+    public static Logger getLogger(String name) {
+        return new Logger(name);
+    }
+
+    /**
+     * @param type  class, that logs
+     * @return logger with name of the class
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getName());
+    }
+
+    /**
+     * Install sink of all loggers.
+     *
+     * @param logSink   sink, or null to write messages to {@link System#err} again
+     */
+    public static void setSink(LogSink logSink) {
+        sink = logSink != null ? logSink : CONSOLE;
+    }
+
+    /**
+     * Level is parsed case-insensitively, unknown level is reported and {@link LogLevel#INFO} is used, so wrong
+     * value of system property does not break initialization of every class with logger.
+     *
+     * @param value value of system property {@value #LEVEL_PROPERTY_NAME}, or null
+     * @return parsed level, or {@link LogLevel#INFO}, when value is missing or unknown
+     */
+    static LogLevel parseLevel(String value) {
+        if (value == null || value.isBlank()) {
+            return LogLevel.INFO;
+        }
+        try {
+            return LogLevel.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            CONSOLE.log(LogLevel.WARN, Logger.class.getName(), "Unknown log level '" + value + "' in system property "
+                    + LEVEL_PROPERTY_NAME + ", level " + LogLevel.INFO + " is used", null);
+            return LogLevel.INFO;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param level level of message
+     * @return true, when messages of the level are logged
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(LEVEL) <= 0;
+    }
+
+    /**
+     * @param level     level of message
+     * @param message   message, caller may reuse it after the call
+     * @param error     error logged with the message, or null
+     */
+    public void log(LogLevel level, CharSequence message, Throwable error) {
+        if (isEnabled(level)) {
+            sink.log(level, name, message, error);
+        }
+    }
+
+    public void error(CharSequence message) {
+        log(LogLevel.ERROR, message, null);
+    }
+
+    public void error(CharSequence message, Throwable error) {
+        log(LogLevel.ERROR, message, error);
+    }
+
+    public void warn(CharSequence message) {
+        log(LogLevel.WARN, message, null);
+    }
+
+    public void info(CharSequence message) {
+        log(LogLevel.INFO, message, null);
+    }
+
+    public void debug(CharSequence message) {
+        log(LogLevel.DEBUG, message, null);
+    }
+}
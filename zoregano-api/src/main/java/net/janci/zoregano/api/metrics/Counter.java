@@ -0,0 +1,33 @@
+package net.janci.zoregano.api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, e.g. count of requests or errors. Counter is striped by {@link LongAdder}, so threads,
+ * that count concurrently, do not contend on one cache line. Counting does not allocate.
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * @param delta value added to the counter, it should not be negative
+     */
+    public void add(long delta) {
+        count.add(delta);
+    }
+
+    /**
+     * @return sum of all additions; value read concurrently with counting may miss the latest additions
+     */
+    public long getCount() {
+        return count.sum();
+    }
+}
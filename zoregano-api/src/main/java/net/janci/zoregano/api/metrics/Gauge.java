@@ -0,0 +1,14 @@
+package net.janci.zoregano.api.metrics;
+
+/**
+ * Current value of something, e.g. size of queue or count of open connections. Gauge is read only when metrics
+ * are exported, so it costs nothing between exports.
+ */
+@FunctionalInterface
+public interface Gauge {
+
+    /**
+     * @return current value, method must be fast and thread safe
+     */
+    double getValue();
+}
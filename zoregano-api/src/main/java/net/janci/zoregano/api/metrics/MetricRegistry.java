@@ -0,0 +1,91 @@
+package net.janci.zoregano.api.metrics;
+
+import net.janci.zoregano.concurrent.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named metrics of modules: {@link Counter}s, {@link Gauge}s and {@link LatencyHistogram}s. Metric is created by its
+ * first use, next uses with the same name return the same metric, so module should look up the metric once and keep
+ * it in a field. Recording to the metric is then only an addition without lock and without allocation.
+ *
+ * Histograms have fixed count of buckets, so their memory does not grow with count of recorded latencies.
+ * Metrics are read by exporters, e.g. BIOS module, that writes snapshots of {@link #system()} registry.
+ */
+public class MetricRegistry {
+
+    private static final MetricRegistry SYSTEM = new MetricRegistry();
+
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Registry of the system, that is shared by all modules and read by exporters.
+     *
+     * @return registry of the system
+     */
+    public static MetricRegistry system() {
+        return SYSTEM;
+    }
+
+    /**
+     * Get counter, counter is created, when it does not exist.
+     *
+     * @param name  name of metric, e.g. "http.requests"
+     * @return counter with the name
+     * @throws IllegalArgumentException when other type of metric is registered with the name
+     */
+    public Counter counter(String name) {
+        return metric(name, Counter.class, metrics.computeIfAbsent(name, key -> new Counter()));
+    }
+
+    /**
+     * Get latency histogram, histogram is created, when it does not exist.
+     *
+     * @param name  name of metric, e.g. "http.latency"
+     * @return histogram with the name
+     * @throws IllegalArgumentException when other type of metric is registered with the name
+     */
+    public LatencyHistogram histogram(String name) {
+        return metric(name, LatencyHistogram.class, metrics.computeIfAbsent(name, key -> new LatencyHistogram()));
+    }
+
+    /**
+     * Register gauge. Gauge registered with the same name before is replaced, e.g. by gauge of reloaded module.
+     *
+     * @param name  name of metric, e.g. "http.connections"
+     * @param gauge gauge read by exporters
+     * @throws IllegalArgumentException when other type of metric is registered with the name
+     */
+    public void gauge(String name, Gauge gauge) {
+        metric(name, Gauge.class, metrics.merge(name, gauge, (current, added) -> current instanceof Gauge ? added : current));
+    }
+
+    /**
+     * Remove metric, e.g. when module is unloaded.
+     *
+     * @param name  name of metric
+     */
+    public void remove(String name) {
+        metrics.remove(name);
+    }
+
+    /**
+     * @return all registered metrics by their names, ordered by names; values are {@link Counter}, {@link Gauge}
+     *         or {@link LatencyHistogram}
+     */
+    public SortedMap<String, Object> getMetrics() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(metrics));
+    }
+
+    private static <M> M metric(String name, Class<M> type, Object metric) {
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric '" + name + "' is " + metric.getClass().getSimpleName()
+                    + ", not " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+}
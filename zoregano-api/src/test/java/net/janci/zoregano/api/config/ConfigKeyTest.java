@@ -0,0 +1,193 @@
+package net.janci.zoregano.api.config;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigKeyTest {
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private final Configuration configuration = (Configuration) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {Configuration.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "version":
+                        return version.get();
+                    case "getInt":
+                        reads.incrementAndGet();
+                        return (int) version.get() + 10;
+                    case "getDuration":
+                        reads.incrementAndGet();
+                        return args.length == 1 ? Duration.ofSeconds(version.get() + 1)
+                                : ((TimeUnit) args[1]).convert(version.get() + 1, TimeUnit.SECONDS);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    private final Map<String, List<?>> lists = new HashMap<>();
+
+    /**
+     * Configuration, that stores lists as given and converts elements by their string form, so default
+     * array methods are tested over list methods.
+     */
+    private final Configuration listConfiguration = (Configuration) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] {Configuration.class}, (proxy, method, args) -> {
+                if (method.isDefault()) {
+                    return MethodHandles.privateLookupIn(Configuration.class, MethodHandles.lookup())
+                            .unreflectSpecial(method, Configuration.class)
+                            .bindTo(proxy)
+                            .invokeWithArguments(args);
+                }
+                switch (method.getName()) {
+                    case "setIntList":
+                    case "setLongList":
+                    case "setDoubleList":
+                    case "setBytesList":
+                    case "setStringList":
+                        lists.put((String) args[0], List.copyOf((List<?>) args[1]));
+                        return null;
+                    case "setDurationList":
+                        lists.put((String) args[0], ((List<?>) args[2]).stream()
+                                .map(element -> ((TimeUnit) args[1]).toNanos((Long) element))
+                                .collect(Collectors.toList()));
+                        return null;
+                    case "getIntList":
+                        return convert(args[0], Integer::valueOf);
+                    case "getLongList":
+                    case "getBytesList":
+                        return convert(args[0], Long::valueOf);
+                    case "getDoubleList":
+                        return convert(args[0], Double::valueOf);
+                    case "getDurationList":
+                        return convert(args[0], element -> ((TimeUnit) args[1]).convert(Long.parseLong(element),
+                                TimeUnit.NANOSECONDS));
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    @org.junit.jupiter.api.Test
+    void testValueIsConvertedOncePerVersion() {
+        IntKey.Value threads = IntKey.of("server.threads").bind(configuration);
+        LongKey.Value timeoutMillis = LongKey.ofDuration("server.timeout", TimeUnit.MILLISECONDS).bind(configuration);
+        ConfigKey.Value<Duration> timeout = ConfigKey.ofDuration("server.timeout").bind(configuration);
+
+        assertEquals(10, threads.getAsInt());
+        assertEquals(10, threads.getAsInt());
+        assertEquals(1000, timeoutMillis.getAsLong());
+        assertEquals(1000, timeoutMillis.getAsLong());
+        assertEquals(Duration.ofSeconds(1), timeout.get());
+        assertEquals(Duration.ofSeconds(1), timeout.get());
+        assertEquals(3, reads.get());
+
+        version.incrementAndGet();
+
+        assertEquals(11, threads.getAsInt());
+        assertEquals(2000, timeoutMillis.getAsLong());
+        assertEquals(Duration.ofSeconds(2), timeout.get());
+        assertEquals(6, reads.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testPrimitiveKeysKeepValuesOfTheirType() {
+        IntKey.Value negative = IntKey.of("server.offset", (c, path) -> -10).bind(configuration);
+        DoubleKey.Value ratio = DoubleKey.of("server.ratio", (c, path) -> -0.25).bind(configuration);
+        LongKey.Value ids = LongKey.of("server.id", (c, path) -> Long.MIN_VALUE).bind(configuration);
+
+        assertEquals(-10, negative.getAsInt());
+        assertEquals(-10, negative.getAsInt());
+        assertEquals(-0.25, ratio.getAsDouble());
+        assertEquals(-0.25, ratio.getAsDouble());
+        assertEquals(Long.MIN_VALUE, ids.getAsLong());
+        assertEquals(Long.MIN_VALUE, ids.getAsLong());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testUnversionedConfigurationIsReadEveryTime() {
+        version.set(Configuration.UNVERSIONED);
+        IntKey.Value threads = IntKey.of("server.threads").bind(configuration);
+
+        threads.getAsInt();
+        threads.getAsInt();
+
+        assertEquals(2, reads.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDefaultArraysRoundTripThroughLists() {
+        listConfiguration.setIntArray("server.ports", new int[] {8080, 8443});
+        listConfiguration.setLongArray("server.ids", new long[] {Long.MIN_VALUE, Long.MAX_VALUE});
+        listConfiguration.setDoubleArray("server.weights", new double[] {0.5, 1.5});
+        listConfiguration.setBytesArray("server.buffers", new long[] {1024, 1L << 40});
+        listConfiguration.setDurationArray("server.backoff", TimeUnit.SECONDS, new long[] {1, 2});
+
+        assertEquals(List.of(8080, 8443), listConfiguration.getIntList("server.ports"));
+        assertArrayEquals(new int[] {8080, 8443}, listConfiguration.getIntArray("server.ports"));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, Long.MAX_VALUE}, listConfiguration.getLongArray("server.ids"));
+        assertArrayEquals(new double[] {0.5, 1.5}, listConfiguration.getDoubleArray("server.weights"));
+        assertArrayEquals(new long[] {1024, 1L << 40}, listConfiguration.getBytesArray("server.buffers"));
+        assertArrayEquals(new long[] {1000, 2000},
+                listConfiguration.getDurationArray("server.backoff", TimeUnit.MILLISECONDS));
+
+        int[] ports = listConfiguration.getIntArray("server.ports");
+        ports[0] = 80;
+        assertArrayEquals(new int[] {8080, 8443}, listConfiguration.getIntArray("server.ports"),
+                "Returned array must be a copy");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDefaultArraysOfEmptyLists() {
+        listConfiguration.setIntArray("ints", new int[0]);
+        listConfiguration.setLongArray("longs", new long[0]);
+        listConfiguration.setDoubleArray("doubles", new double[0]);
+        listConfiguration.setBytesArray("bytes", new long[0]);
+        listConfiguration.setDurationArray("durations", TimeUnit.SECONDS, new long[0]);
+
+        assertEquals(List.of(), listConfiguration.getIntList("ints"));
+        assertEquals(0, listConfiguration.getIntArray("ints").length);
+        assertEquals(0, listConfiguration.getLongArray("longs").length);
+        assertEquals(0, listConfiguration.getDoubleArray("doubles").length);
+        assertEquals(0, listConfiguration.getBytesArray("bytes").length);
+        assertEquals(0, listConfiguration.getDurationArray("durations", TimeUnit.SECONDS).length);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDefaultArraysPropagateNonNumericElements() {
+        listConfiguration.setStringList("server.ports", List.of("8080", "http"));
+
+        assertThrows(NumberFormatException.class, () -> listConfiguration.getIntArray("server.ports"));
+        assertThrows(NumberFormatException.class, () -> listConfiguration.getLongArray("server.ports"));
+        assertThrows(NumberFormatException.class, () -> listConfiguration.getDoubleArray("server.ports"));
+        assertThrows(NumberFormatException.class, () -> listConfiguration.getBytesArray("server.ports"));
+        assertThrows(NumberFormatException.class,
+                () -> listConfiguration.getDurationArray("server.ports", TimeUnit.SECONDS));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDefaultBatchesAndListenersAreNotSupported() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> listConfiguration.update(batch -> batch.setIntArray("server.ports", new int[] {80})));
+        assertThrows(UnsupportedOperationException.class,
+                () -> listConfiguration.commit("server", batch -> batch.setIntArray("server.ports", new int[] {80})));
+        assertThrows(UnsupportedOperationException.class, () -> listConfiguration.addListener("", (changed, paths) -> { }));
+        assertThrows(UnsupportedOperationException.class, () -> listConfiguration.removeListener((changed, paths) -> { }));
+        assertFalse(lists.containsKey("server.ports"), "Unsupported batch must not apply any change");
+    }
+
+    private <T> List<T> convert(Object path, Function<String, T> converter) {
+        return lists.get((String) path).stream().map(String::valueOf).map(converter).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,47 @@
+package net.janci.zoregano.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigurationFactoryTest {
+
+    @org.junit.jupiter.api.Test
+    void testInstanceIsCachedUntilReload() {
+        ConfigurationFactory factory = ConfigurationFactory.getInstance();
+
+        assertTrue(factory instanceof TestConfigurationFactory);
+        assertSame(factory, ConfigurationFactory.getInstance());
+
+        ConfigurationFactory reloaded = ConfigurationFactory.reload();
+
+        assertTrue(reloaded instanceof TestConfigurationFactory);
+        assertNotSame(factory, reloaded);
+        assertSame(reloaded, ConfigurationFactory.getInstance());
+        assertTrue(((TestConfigurationFactory) factory).closed, "Replaced factory must be closed");
+        assertFalse(((TestConfigurationFactory) reloaded).closed);
+    }
+
+    public static class TestConfigurationFactory implements ConfigurationFactory, AutoCloseable {
+
+        private volatile boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public Configuration getConfiguration(String config) {
+            return null;
+        }
+
+        @Override
+        public boolean containsConfiguration(String config) {
+            return false;
+        }
+
+        @Override
+        public Configuration emptyConfiguration() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package net.janci.zoregano.api.internal;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceIndexTest {
+
+    @org.junit.jupiter.api.Test
+    void testProvidersFromIndex() {
+        List<ServiceLoader.Provider<TestService>> providers = ServiceIndex.providers(TestService.class)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(FirstService.class, SecondService.class),
+                providers.stream().map(ServiceLoader.Provider::type).collect(Collectors.toList()));
+        assertTrue(providers.get(0).get() instanceof FirstService);
+        assertNotSame(providers.get(0).get(), providers.get(0).get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testStaleIndexFallsBackToServiceLoader() {
+        assertEquals(0, ServiceIndex.providers(StaleService.class).count());
+    }
+
+    public interface TestService {
+    }
+
+    public interface StaleService {
+    }
+
+    public static class FirstService implements TestService {
+    }
+
+    public static class SecondService implements TestService {
+    }
+}
@@ -0,0 +1,16 @@
+package net.janci.zoregano.api.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggerTest {
+
+    @org.junit.jupiter.api.Test
+    void testLevelIsParsedLeniently() {
+        assertEquals(LogLevel.DEBUG, Logger.parseLevel("debug"));
+        assertEquals(LogLevel.WARN, Logger.parseLevel(" Warn "));
+        assertEquals(LogLevel.ERROR, Logger.parseLevel("ERROR"));
+        assertEquals(LogLevel.INFO, Logger.parseLevel(null));
+        assertEquals(LogLevel.INFO, Logger.parseLevel(""));
+        assertEquals(LogLevel.INFO, Logger.parseLevel("verbose"));
+    }
+}
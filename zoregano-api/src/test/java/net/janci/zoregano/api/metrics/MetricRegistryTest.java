@@ -0,0 +1,56 @@
+package net.janci.zoregano.api.metrics;
+
+import net.janci.zoregano.concurrent.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricRegistryTest {
+
+    @org.junit.jupiter.api.Test
+    void testMetricsAreCreatedOnce() throws InterruptedException {
+        MetricRegistry registry = new MetricRegistry();
+        Counter counter = registry.counter("requests");
+        assertSame(counter, registry.counter("requests"));
+        assertSame(registry.histogram("latency"), registry.histogram("latency"));
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    registry.counter("requests").increment();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        counter.add(5);
+
+        assertEquals(40_005, counter.getCount());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testNameIsBoundToTypeOfMetric() {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("requests");
+        registry.gauge("connections", () -> 1);
+        registry.gauge("connections", () -> 2);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("requests"));
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("requests", () -> 3));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("connections"));
+
+        SortedMap<String, Object> metrics = registry.getMetrics();
+        assertEquals(List.of("connections", "requests"), new ArrayList<>(metrics.keySet()));
+        assertEquals(2, ((Gauge) metrics.get("connections")).getValue());
+
+        registry.remove("requests");
+        assertTrue(registry.histogram("requests") instanceof LatencyHistogram);
+    }
+}
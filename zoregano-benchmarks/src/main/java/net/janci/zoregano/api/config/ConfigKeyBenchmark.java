@@ -0,0 +1,83 @@
+package net.janci.zoregano.api.config;
+
+import net.janci.zoregano.benchmarks.MapConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for reads by precompiled keys against reads by path. Run with "-prof gc" to see allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigKeyBenchmark {
+
+    private static final LongKey TIMEOUT_MILLIS = LongKey.ofDuration("server.timeout", TimeUnit.MILLISECONDS);
+
+    private static final LongKey BUFFER = LongKey.ofBytes("server.buffer");
+
+    private static final ConfigKey<Duration> TIMEOUT = ConfigKey.ofDuration("server.timeout");
+
+    private Configuration configuration;
+
+    private LongKey.Value timeoutMillis;
+
+    private LongKey.Value buffer;
+
+    private ConfigKey.Value<Duration> timeout;
+
+    @Setup
+    public void setUp() {
+        configuration = new MapConfiguration()
+                .with("server.timeout", "10s")
+                .with("server.buffer", "128K");
+
+        timeoutMillis = TIMEOUT_MILLIS.bind(configuration);
+        buffer = BUFFER.bind(configuration);
+        timeout = TIMEOUT.bind(configuration);
+    }
+
+    @Benchmark
+    public long durationByPath() {
+        return configuration.getDuration("server.timeout", TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    public long durationByKey() {
+        return timeoutMillis.getAsLong();
+    }
+
+    @Benchmark
+    public Duration javaDurationByPath() {
+        return configuration.getDuration("server.timeout");
+    }
+
+    @Benchmark
+    public Duration javaDurationByKey() {
+        return timeout.get();
+    }
+
+    @Benchmark
+    public long bytesByPath() {
+        return configuration.getBytes("server.buffer");
+    }
+
+    @Benchmark
+    public long bytesByKey() {
+        return buffer.getAsLong();
+    }
+}
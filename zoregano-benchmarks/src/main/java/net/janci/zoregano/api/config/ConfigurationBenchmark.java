@@ -0,0 +1,67 @@
+package net.janci.zoregano.api.config;
+
+import net.janci.zoregano.benchmarks.MapConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmark for typed {@link Configuration} getters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationBenchmark {
+
+    private Configuration configuration;
+
+    @Setup
+    public void setUp() {
+        configuration = new MapConfiguration()
+                .with("server.threads", 64)
+                .with("server.timeout", "10s")
+                .with("server.buffer", "128K")
+                .with("server.buckets", LongStream.range(0, 64).boxed().collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public int getInt() {
+        return configuration.getInt("server.threads");
+    }
+
+    @Benchmark
+    public long getDurationInUnit() {
+        return configuration.getDuration("server.timeout", TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    public Duration getDuration() {
+        return configuration.getDuration("server.timeout");
+    }
+
+    @Benchmark
+    public Long getBytes() {
+        return configuration.getBytes("server.buffer");
+    }
+
+    @Benchmark
+    public List<Long> getLongList() {
+        return configuration.getLongList("server.buckets");
+    }
+}
@@ -0,0 +1,32 @@
+package net.janci.zoregano.api.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for cached {@link ConfigurationFactory#getInstance()} against lookup of factory on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationFactoryBenchmark {
+
+    @Benchmark
+    public ConfigurationFactory getInstance() {
+        return ConfigurationFactory.getInstance();
+    }
+
+    @Benchmark
+    public ConfigurationFactory lookup() {
+        return ConfigurationFactoryHolder.lookup();
+    }
+}
@@ -0,0 +1,86 @@
+package net.janci.zoregano.api.config;
+
+import net.janci.zoregano.benchmarks.MapConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmark for numeric table stored as boxed list against primitive array. Benchmarks "read*" copy
+ * table from configuration, benchmarks "scan*" only iterate table already read. Run with "-prof gc"
+ * to see memory allocated by every copy of the table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveArrayBenchmark {
+
+    @Param({"64", "4096"})
+    private int size;
+
+    private Configuration boxedConfiguration;
+
+    private Configuration primitiveConfiguration;
+
+    private List<Long> boxedTable;
+
+    private long[] primitiveTable;
+
+    @Setup
+    public void setUp() {
+        List<Long> values = LongStream.range(0, size).map(i -> i * 1_000_003).boxed().collect(Collectors.toList());
+
+        boxedConfiguration = new MapConfiguration();
+        boxedConfiguration.setLongList("limits", values);
+
+        primitiveConfiguration = new MapConfiguration();
+        primitiveConfiguration.setLongArray("limits", values.stream().mapToLong(Long::longValue).toArray());
+
+        boxedTable = boxedConfiguration.getLongList("limits");
+        primitiveTable = primitiveConfiguration.getLongArray("limits");
+    }
+
+    @Benchmark
+    public List<Long> readBoxedList() {
+        return boxedConfiguration.getLongList("limits");
+    }
+
+    @Benchmark
+    public long[] readPrimitiveArray() {
+        return primitiveConfiguration.getLongArray("limits");
+    }
+
+    @Benchmark
+    public long scanBoxedList() {
+        long sum = 0;
+        for (Long value : boxedTable) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scanPrimitiveArray() {
+        long sum = 0;
+        for (long value : primitiveTable) {
+            sum += value;
+        }
+        return sum;
+    }
+}
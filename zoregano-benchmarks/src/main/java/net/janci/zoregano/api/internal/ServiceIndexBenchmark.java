@@ -0,0 +1,48 @@
+package net.janci.zoregano.api.internal;
+
+import net.janci.zoregano.api.Kernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark for discovery of {@link Kernel} by {@link ServiceIndex} against {@link ServiceLoader} scanning.
+ * Methods "*Types" only find provider types, as {@link ServiceLoader#stream()} used by BIOS discovery, other methods
+ * instantiate the provider too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceIndexBenchmark {
+
+    @Benchmark
+    public Kernel serviceIndex() {
+        return ServiceIndex.providers(Kernel.class).findFirst().map(ServiceLoader.Provider::get).orElseThrow();
+    }
+
+    @Benchmark
+    public Kernel serviceLoader() {
+        return ServiceLoader.load(Kernel.class).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public List<Class<? extends Kernel>> serviceIndexTypes() {
+        return ServiceIndex.providers(Kernel.class).map(ServiceLoader.Provider::type).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Class<? extends Kernel>> serviceLoaderTypes() {
+        return ServiceLoader.load(Kernel.class).stream().map(ServiceLoader.Provider::type).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+package net.janci.zoregano.api.metrics;
+
+import net.janci.zoregano.concurrent.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of recording to metrics on the hot path, compared with shared {@link AtomicLong}. Run with "-prof gc"
+ * to see, that recording does not allocate, and with "-t" to see contention of recording threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class MetricRegistryBenchmark {
+
+    private final AtomicLong atomic = new AtomicLong();
+
+    private Counter counter;
+
+    private LatencyHistogram histogram;
+
+    @Setup
+    public void setUp() {
+        MetricRegistry registry = new MetricRegistry();
+        counter = registry.counter("benchmark.requests");
+        histogram = registry.histogram("benchmark.latency");
+    }
+
+    @Benchmark
+    public long atomicIncrement() {
+        return atomic.incrementAndGet();
+    }
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(1_500);
+    }
+
+    @Benchmark
+    public Counter counterLookup() {
+        return MetricRegistry.system().counter("benchmark.requests");
+    }
+}
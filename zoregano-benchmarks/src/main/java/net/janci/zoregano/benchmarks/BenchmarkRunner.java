@@ -0,0 +1,32 @@
+package net.janci.zoregano.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Run JMH benchmarks. Accepts all JMH command line options. When result format is not specified,
+ * results are exported as JSON to "jmh-result.json", so they can be compared between commits, for
+ * example by <a href="https://jmh.morethan.io">JMH Visualizer</a>.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Run JMH benchmarks.
+     *
+     * @param args  JMH command line options
+     * @throws Exception when benchmarks can not be run
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+            if (!options.contains("-rff")) {
+                options.addAll(List.of("-rff", "jmh-result.json"));
+            }
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,399 @@
+package net.janci.zoregano.benchmarks;
+
+import net.janci.zoregano.api.config.Configuration;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Synthetic {@link Configuration} for benchmarks. Values are stored in the map as they were set, or as strings,
+ * and every getter converts the value on every call, as usual configuration implementations do.
+ * Version of configuration is incremented by every change. Primitive arrays are stored as they were set.
+ */
+public class MapConfiguration implements Configuration {
+
+    private final Map<String, Object> values = new HashMap<>();
+
+    private volatile long version = 0;
+
+    /**
+     * Set raw value to path, for example "10m" for duration or "128M" for bytes.
+     *
+     * @param path  path expression
+     * @param value raw value
+     * @return this configuration
+     */
+    public MapConfiguration with(String path, Object value) {
+        put(path, value);
+        return this;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public boolean hasPath(String path) {
+        return values.get(path) != null;
+    }
+
+    @Override
+    public boolean hasPathOrNull(String path) {
+        return values.containsKey(path);
+    }
+
+    @Override
+    public boolean getBoolean(String path) {
+        return toBoolean(get(path));
+    }
+
+    @Override
+    public void setBoolean(String path, boolean value) {
+        put(path, value);
+    }
+
+    @Override
+    public Number getNumber(String path) {
+        return toNumber(get(path));
+    }
+
+    @Override
+    public void setNumber(String path, Number value) {
+        put(path, value);
+    }
+
+    @Override
+    public int getInt(String path) {
+        return toNumber(get(path)).intValue();
+    }
+
+    @Override
+    public void setInt(String path, int value) {
+        put(path, value);
+    }
+
+    @Override
+    public long getLong(String path) {
+        return toNumber(get(path)).longValue();
+    }
+
+    @Override
+    public void setLong(String path, Long value) {
+        put(path, value);
+    }
+
+    @Override
+    public double getDouble(String path) {
+        return toNumber(get(path)).doubleValue();
+    }
+
+    @Override
+    public void setDouble(String path, double value) {
+        put(path, value);
+    }
+
+    @Override
+    public String getString(String path) {
+        return String.valueOf(get(path));
+    }
+
+    @Override
+    public void setString(String path, String value) {
+        put(path, value);
+    }
+
+    @Override
+    public <T extends Enum<T>> T getEnum(Class<T> enumClass, String path) {
+        return Enum.valueOf(enumClass, String.valueOf(get(path)));
+    }
+
+    @Override
+    public <T extends Enum<T>> void setEnum(Class<T> enumClass, String path, T value) {
+        put(path, value.name());
+    }
+
+    @Override
+    public Long getBytes(String path) {
+        return toBytes(get(path));
+    }
+
+    @Override
+    public void setBytes(String path, Long value) {
+        put(path, value);
+    }
+
+    @Override
+    public long getDuration(String path, TimeUnit unit) {
+        return unit.convert(toDuration(get(path)).toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void setDuration(String path, TimeUnit unit, long value) {
+        put(path, Duration.ofNanos(unit.toNanos(value)));
+    }
+
+    @Override
+    public Duration getDuration(String path) {
+        return toDuration(get(path));
+    }
+
+    @Override
+    public void setDuration(String path, Duration value) {
+        put(path, value);
+    }
+
+    @Override
+    public Period getPeriod(String path) {
+        Object value = get(path);
+        if (value instanceof Period) {
+            return (Period) value;
+        }
+        if (value instanceof Number) {
+            return Period.ofDays(((Number) value).intValue());
+        }
+        return Period.parse("P" + value.toString().trim().toUpperCase());
+    }
+
+    @Override
+    public void setPeriod(String path, Period value) {
+        put(path, value);
+    }
+
+    @Override
+    public long[] getLongArray(String path) {
+        Object value = get(path);
+        if (value instanceof long[]) {
+            return ((long[]) value).clone();
+        }
+        return list(path).stream().mapToLong(v -> toNumber(v).longValue()).toArray();
+    }
+
+    @Override
+    public void setLongArray(String path, long[] values) {
+        put(path, values.clone());
+    }
+
+    @Override
+    public List<Boolean> getBooleanList(String path) {
+        return list(path).stream().map(MapConfiguration::toBoolean).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setBooleanList(String path, List<Boolean> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public List<Number> getNumberList(String path) {
+        return list(path).stream().map(MapConfiguration::toNumber).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setNumberList(String path, List<Number> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public List<Integer> getIntList(String path) {
+        return list(path).stream().map(v -> toNumber(v).intValue()).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setIntList(String path, List<Integer> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public List<Long> getLongList(String path) {
+        return list(path).stream().map(v -> toNumber(v).longValue()).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setLongList(String path, List<Long> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public List<Double> getDoubleList(String path) {
+        return list(path).stream().map(v -> toNumber(v).doubleValue()).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setDoubleList(String path, List<Double> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public List<String> getStringList(String path) {
+        return list(path).stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setStringList(String path, List<String> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public <T extends Enum<T>> List<T> getEnumList(Class<T> enumClass, String path) {
+        return list(path).stream().map(v -> Enum.valueOf(enumClass, String.valueOf(v))).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T extends Enum<T>> void setEnumList(Class<T> enumClass, String path, List<T> values) {
+        put(path, values.stream().map(Enum::name).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Long> getBytesList(String path) {
+        return list(path).stream().map(MapConfiguration::toBytes).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setBytesList(String path, List<Long> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public List<Long> getDurationList(String path, TimeUnit unit) {
+        return list(path).stream()
+                .map(v -> unit.convert(toDuration(v).toNanos(), TimeUnit.NANOSECONDS))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void setDurationList(String path, TimeUnit unit, List<Long> values) {
+        put(path, values.stream().map(v -> Duration.ofNanos(unit.toNanos(v))).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Duration> getDurationList(String path) {
+        return list(path).stream().map(MapConfiguration::toDuration).collect(Collectors.toList());
+    }
+
+    @Override
+    public void setDurationList(String path, List<Duration> values) {
+        put(path, List.copyOf(values));
+    }
+
+    @Override
+    public void save(String configName) {
+    }
+
+    private void put(String path, Object value) {
+        values.put(path, value);
+        version++;
+    }
+
+    private Object get(String path) {
+        Object value = values.get(path);
+        if (value == null) {
+            throw new IllegalArgumentException("No value at path '" + path + "'");
+        }
+        return value;
+    }
+
+    private List<?> list(String path) {
+        Object value = get(path);
+        if (value instanceof long[]) {
+            return Arrays.stream((long[]) value).boxed().collect(Collectors.toList());
+        }
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Value at path '" + path + "' is not list");
+        }
+        return (List<?>) value;
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return Boolean.parseBoolean(value.toString().trim());
+    }
+
+    private static Number toNumber(Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        String text = value.toString().trim();
+        if (text.contains(".") || text.contains("e") || text.contains("E")) {
+            return Double.parseDouble(text);
+        }
+        return Long.parseLong(text);
+    }
+
+    private static long toBytes(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        String text = value.toString().trim();
+        int unitStart = unitStart(text);
+        long number = Long.parseLong(text.substring(0, unitStart).trim());
+        String unit = text.substring(unitStart).trim();
+        switch (unit) {
+            case "":
+            case "B":
+                return number;
+            case "K":
+            case "k":
+                return number << 10;
+            case "M":
+            case "m":
+                return number << 20;
+            case "G":
+            case "g":
+                return number << 30;
+            case "T":
+            case "t":
+                return number << 40;
+            default:
+                throw new IllegalArgumentException("Unknown size unit '" + unit + "'");
+        }
+    }
+
+    private static Duration toDuration(Object value) {
+        if (value instanceof Duration) {
+            return (Duration) value;
+        }
+        if (value instanceof Number) {
+            return Duration.ofMillis(((Number) value).longValue());
+        }
+        String text = value.toString().trim();
+        int unitStart = unitStart(text);
+        long number = Long.parseLong(text.substring(0, unitStart).trim());
+        String unit = text.substring(unitStart).trim();
+        switch (unit) {
+            case "ns":
+                return Duration.ofNanos(number);
+            case "us":
+                return Duration.ofNanos(number * 1000);
+            case "":
+            case "ms":
+                return Duration.ofMillis(number);
+            case "s":
+                return Duration.ofSeconds(number);
+            case "m":
+                return Duration.ofMinutes(number);
+            case "h":
+                return Duration.ofHours(number);
+            case "d":
+                return Duration.ofDays(number);
+            default:
+                throw new IllegalArgumentException("Unknown duration unit '" + unit + "'");
+        }
+    }
+
+    private static int unitStart(String text) {
+        int i = 0;
+        while (i < text.length() && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '-')) {
+            i++;
+        }
+        return i;
+    }
+}
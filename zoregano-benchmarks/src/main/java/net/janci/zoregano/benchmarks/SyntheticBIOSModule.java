@@ -0,0 +1,29 @@
+package net.janci.zoregano.benchmarks;
+
+import net.janci.zoregano.api.BIOSModule;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Synthetic {@link BIOSModule} for benchmarks. Module consumes defined amount of CPU on load and unload.
+ */
+public class SyntheticBIOSModule implements BIOSModule {
+
+    private final long tokens;
+
+    /**
+     * @param tokens    amount of CPU work on load and unload, see {@link Blackhole#consumeCPU(long)}
+     */
+    public SyntheticBIOSModule(long tokens) {
+        this.tokens = tokens;
+    }
+
+    @Override
+    public void load(String[] args) {
+        Blackhole.consumeCPU(tokens);
+    }
+
+    @Override
+    public void unload() {
+        Blackhole.consumeCPU(tokens);
+    }
+}
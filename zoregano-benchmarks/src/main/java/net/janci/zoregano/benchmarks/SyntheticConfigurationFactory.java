@@ -0,0 +1,25 @@
+package net.janci.zoregano.benchmarks;
+
+import net.janci.zoregano.api.config.Configuration;
+import net.janci.zoregano.api.config.ConfigurationFactory;
+
+/**
+ * Synthetic {@link ConfigurationFactory} for benchmarks, registered as service.
+ */
+public class SyntheticConfigurationFactory implements ConfigurationFactory {
+
+    @Override
+    public Configuration getConfiguration(String config) {
+        return new MapConfiguration();
+    }
+
+    @Override
+    public boolean containsConfiguration(String config) {
+        return false;
+    }
+
+    @Override
+    public Configuration emptyConfiguration() {
+        return new MapConfiguration();
+    }
+}
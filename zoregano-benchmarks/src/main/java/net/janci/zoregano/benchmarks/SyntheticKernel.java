@@ -0,0 +1,36 @@
+package net.janci.zoregano.benchmarks;
+
+import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.KernelController;
+import net.janci.zoregano.api.KernelModule;
+
+/**
+ * Synthetic {@link Kernel} for benchmarks, registered as service.
+ */
+public class SyntheticKernel implements Kernel {
+
+    @Override
+    public void init() {
+    }
+
+    @Override
+    public void terminate() {
+    }
+
+    @Override
+    public KernelController getController() {
+        return new KernelController() {
+            @Override
+            public void restart() {
+            }
+
+            @Override
+            public void stopModule(Class<? extends KernelModule> moduleClass) {
+            }
+
+            @Override
+            public void startModule(Class<? extends KernelModule> moduleClass) {
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package net.janci.zoregano.concurrent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for throughput of {@link NamedThreadFactory#newThread(Runnable)}. Threads are created, but not started.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamedThreadFactoryBenchmark {
+
+    private final ThreadFactory threadFactory = new NamedThreadFactory("benchmark");
+
+    private final Runnable task = () -> {};
+
+    @Benchmark
+    public Thread newThread() {
+        return threadFactory.newThread(task);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Thread newThreadContended() {
+        return threadFactory.newThread(task);
+    }
+}
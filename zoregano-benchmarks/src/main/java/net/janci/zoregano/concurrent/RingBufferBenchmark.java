@@ -0,0 +1,98 @@
+package net.janci.zoregano.concurrent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of events per second through {@link RingBuffer} with one consumer, compared with {@link ArrayBlockingQueue}
+ * of the same capacity. Both push back on publisher, when consumer falls behind. Consumer records latency from
+ * publishing to handling of every event, percentiles are printed at the end of every trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RingBufferBenchmark {
+
+    private static final int CAPACITY = 1024;
+
+    @Param({"ringBuffer", "arrayBlockingQueue"})
+    public String queueType;
+
+    private LatencyHistogram latencies;
+
+    private RingBuffer<TimestampEvent> ringBuffer;
+
+    private BlockingQueue<Long> queue;
+
+    private Thread queueConsumer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        latencies = new LatencyHistogram();
+        if ("ringBuffer".equals(queueType)) {
+            ringBuffer = new RingBuffer<>("benchmark", CAPACITY, TimestampEvent::new, WaitStrategy.YIELD);
+            ringBuffer.subscribe("consumer", (event, sequence, endOfBatch) -> latencies.record(System.nanoTime() - event.timestamp));
+        } else {
+            queue = new ArrayBlockingQueue<>(CAPACITY);
+            queueConsumer = new NamedThreadFactory("benchmark-consumer").newThread(() -> {
+                try {
+                    while (true) {
+                        latencies.record(System.nanoTime() - queue.take());
+                    }
+                } catch (InterruptedException e) {
+                    // end of trial
+                }
+            });
+            queueConsumer.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (ringBuffer != null) {
+            ringBuffer.close();
+        } else {
+            queueConsumer.interrupt();
+            queueConsumer.join();
+        }
+        System.out.printf("%n%s latency: p50 %d ns, p99 %d ns, p99.9 %d ns, max %d ns%n", queueType,
+                latencies.getPercentileNanos(50), latencies.getPercentileNanos(99),
+                latencies.getPercentileNanos(99.9), latencies.getMaxNanos());
+    }
+
+    @Benchmark
+    public void publish() throws InterruptedException {
+        if (ringBuffer != null) {
+            ringBuffer.publish(TimestampEvent::set, System.nanoTime());
+        } else {
+            queue.put(System.nanoTime());
+        }
+    }
+
+    private static final class TimestampEvent {
+
+        private long timestamp;
+
+        private void set(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+}
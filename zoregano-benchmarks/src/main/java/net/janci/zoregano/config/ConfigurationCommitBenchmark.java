@@ -0,0 +1,62 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.config.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for change of {@link #keys} values persisted after every change, as management module does without
+ * batches, against one durable commit of the whole batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationCommitBenchmark {
+
+    @Param({"10", "100"})
+    public int keys;
+
+    private Configuration configuration;
+
+    private int round;
+
+    @Setup
+    public void setUp() throws IOException {
+        configuration = new FileConfigurationFactory(Files.createTempDirectory("zoregano-config")).getConfiguration("modules");
+    }
+
+    @Benchmark
+    public void saveEverySet() throws IOException {
+        int value = round++;
+        for (int i = 0; i < keys; i++) {
+            configuration.setInt("module-" + i + ".threads", value);
+            configuration.save("modules");
+        }
+    }
+
+    @Benchmark
+    public void commitBatch() throws IOException {
+        int value = round++;
+        configuration.commit("modules", batch -> {
+            for (int i = 0; i < keys; i++) {
+                batch.setInt("module-" + i + ".threads", value);
+            }
+        });
+    }
+}
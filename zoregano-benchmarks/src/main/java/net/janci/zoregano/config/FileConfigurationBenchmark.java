@@ -0,0 +1,61 @@
+package net.janci.zoregano.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for loading of configuration snapshot with the size of {@link #entries}. Mapped snapshot is compared
+ * with decoding of the whole snapshot to on-heap values, as configuration loaded by parser does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileConfigurationBenchmark {
+
+    @Param({"100", "100000"})
+    public int entries;
+
+    private Path directory;
+
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("zoregano-config");
+        MapValues.Builder builder = new MapValues.Builder(MapValues.EMPTY);
+        for (int i = 0; i < entries; i++) {
+            builder.putObject("module-" + i + ".timeout", ValueType.STRING, i + "s");
+            builder.putLong("module-" + i + ".threads", i);
+        }
+        snapshot = FileConfigurationFactory.snapshotFile(directory, "application");
+        BinaryFormat.write(builder.build(0), snapshot);
+    }
+
+    @Benchmark
+    public int loadMapped() {
+        return new FileConfigurationFactory(directory).getConfiguration("application").getInt("module-1.threads");
+    }
+
+    @Benchmark
+    public int loadOnHeap() throws IOException {
+        Values values = new MapValues.Builder(MappedValues.open(snapshot, 0)).build(0);
+        return new FileConfiguration(directory, values).getInt("module-1.threads");
+    }
+}
@@ -0,0 +1,68 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of latency of logging by threads, that log concurrently, to {@link AsyncLogModule} against
+ * synchronous {@link PrintStream} to file (the same as logging to {@link System#err}). Sample time mode reports
+ * percentiles of latency of log call. Run with "-prof gc" to see, that logging to the module does not allocate.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncLogModuleBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncLogModuleBenchmark.class);
+
+    private AsyncLogModule module;
+
+    private PrintStream stream;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path directory = Files.createTempDirectory("zoregano-log");
+        module = new AsyncLogModule(directory.resolve("async.log"), 8192);
+        module.load(new String[0]);
+        stream = new PrintStream(new FileOutputStream(directory.resolve("sync.log").toFile()), true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        module.unload();
+        stream.close();
+        System.out.printf("%nAsync log dropped %d messages%n", module.getDropped());
+    }
+
+    @Benchmark
+    public void asyncLog() {
+        LOGGER.info("request handled");
+    }
+
+    @Benchmark
+    public void synchronousPrint() {
+        stream.println("INFO " + LOGGER.getName() + " - request handled");
+    }
+}
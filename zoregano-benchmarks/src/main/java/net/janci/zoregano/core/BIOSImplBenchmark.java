@@ -0,0 +1,56 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.BIOSModule;
+import net.janci.zoregano.benchmarks.SyntheticBIOSModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link BIOSImpl} load and terminate of N synthetic BIOS modules.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BIOSImplBenchmark {
+
+    @Param({"1", "16", "128"})
+    private int modules;
+
+    @Param({"0", "10000"})
+    private long tokens;
+
+    private List<BIOSModule> biosModules;
+
+    @Setup
+    public void setUp() {
+        biosModules = new ArrayList<>();
+        for (int i = 0; i < modules; i++) {
+            biosModules.add(new SyntheticBIOSModule(tokens));
+        }
+    }
+
+    @Benchmark
+    public BIOSImpl loadAndTerminate() {
+        BIOSImpl bios = new BIOSImpl(new String[0], biosModules);
+        bios.loadBIOSModules();
+        bios.awaitToStartKernel();
+        bios.terminate();
+        return bios;
+    }
+}
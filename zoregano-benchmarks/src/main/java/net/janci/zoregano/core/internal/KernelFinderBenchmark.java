@@ -0,0 +1,29 @@
+package net.janci.zoregano.core.internal;
+
+import net.janci.zoregano.api.Kernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link ServiceLoader} based discovery of {@link Kernel} in {@link KernelFinder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelFinderBenchmark {
+
+    @Benchmark
+    public Kernel findKernel() throws FindKernelException {
+        return new KernelFinder().findKernel();
+    }
+}
@@ -2,5 +2,7 @@
  * Library module, that extends standard Java concurrent module.
  */
 module zoregano.concurrent {
+    requires java.management;
+
     exports net.janci.zoregano.concurrent;
 }
@@ -0,0 +1,36 @@
+package net.janci.zoregano.concurrent;
+
+/**
+ * Handler of errors, that threads of this library (e.g. consumer of {@link RingBuffer}) can not throw to any caller.
+ *
+ * The library does not depend on any logging, so errors are reported to {@link #system()} handler, that writes them
+ * to {@link System#err}, until it is replaced by {@link #setSystem(ErrorHandler)}, e.g. by bootloader, that reports
+ * them by its logger.
+ */
+@FunctionalInterface
+public interface ErrorHandler {
+
+    /**
+     * Report error. Handler must not throw.
+     *
+     * @param message   description of failed operation
+     * @param error     error, that was caught
+     */
+    void onError(String message, Throwable error);
+
+    /**
+     * @return handler of errors of the system
+     */
+    static ErrorHandler system() {
+        return SystemErrorHandler.handler;
+    }
+
+    /**
+     * Replace handler of errors of the system.
+     *
+     * @param handler   handler, or null to write errors to {@link System#err} again
+     */
+    static void setSystem(ErrorHandler handler) {
+        SystemErrorHandler.handler = handler != null ? handler : SystemErrorHandler.CONSOLE;
+    }
+}
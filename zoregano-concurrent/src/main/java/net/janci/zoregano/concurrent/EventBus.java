@@ -0,0 +1,123 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Named topics of events, so modules can exchange data without dependency on each other. Every topic is
+ * {@link RingBuffer} of preallocated events, modules agree only on name and type of event, that is shared
+ * through API module.
+ *
+ * Topic is created by its first use, next uses with the same name return the same ring buffer.
+ */
+public class EventBus implements AutoCloseable {
+
+    /**
+     * Capacity of topics, that do not define own capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final AtomicReference<EventBus> SYSTEM = new AtomicReference<>();
+
+    private final String prefix;
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * @param prefix    prefix of consumer thread names
+     */
+    public EventBus(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Event bus of the system, that is shared by all modules. When the bus was closed, new bus is created.
+     *
+     * @return event bus of the system
+     */
+    public static EventBus system() {
+        EventBus bus = SYSTEM.get();
+        while (bus == null || bus.closed) {
+            EventBus created = new EventBus("zoregano-events");
+            if (SYSTEM.compareAndSet(bus, created)) {
+                return created;
+            }
+            bus = SYSTEM.get();
+        }
+        return bus;
+    }
+
+    /**
+     * Get topic with default capacity, consumers and publishers of the topic park, when they wait.
+     *
+     * @see #topic(String, Class, int, Supplier, WaitStrategy)
+     */
+    public <E> RingBuffer<E> topic(String name, Class<E> type, Supplier<? extends E> factory) {
+        return topic(name, type, DEFAULT_CAPACITY, factory, WaitStrategy.PARK);
+    }
+
+    /**
+     * Get topic, topic is created, when it does not exist.
+     *
+     * @param name          name of topic
+     * @param type          type of events in the topic
+     * @param capacity      count of preallocated events, power of two; used only when topic is created
+     * @param factory       factory of events; used only when topic is created
+     * @param waitStrategy  wait strategy of topic; used only when topic is created
+     * @param <E>           type of events in the topic
+     * @return ring buffer of the topic
+     * @throws IllegalArgumentException when topic exists with other type of events
+     * @throws IllegalStateException when event bus is closed
+     */
+    @SuppressWarnings("unchecked")
+    public <E> RingBuffer<E> topic(String name, Class<E> type, int capacity, Supplier<? extends E> factory,
+                                   WaitStrategy waitStrategy) {
+        if (closed) {
+            throw new IllegalStateException("Event bus '" + prefix + "' is closed");
+        }
+        Topic topic = topics.computeIfAbsent(name,
+                key -> new Topic(type, new RingBuffer<>(prefix + "-" + key, capacity, factory, waitStrategy)));
+        if (topic.type != type) {
+            throw new IllegalArgumentException("Topic '" + name + "' contains events " + topic.type.getName()
+                    + ", not " + type.getName());
+        }
+        return (RingBuffer<E>) topic.buffer;
+    }
+
+    /**
+     * Close all topics, consumers handle all published events before they stop.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        List<Topic> closing = new ArrayList<>(topics.values());
+        for (Topic topic : closing) {
+            topic.buffer.close();
+        }
+    }
+
+    /**
+     * @return true, when event bus was closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private static final class Topic {
+
+        private final Class<?> type;
+
+        private final RingBuffer<?> buffer;
+
+        private Topic(Class<?> type, RingBuffer<?> buffer) {
+            this.type = type;
+            this.buffer = buffer;
+        }
+    }
+}
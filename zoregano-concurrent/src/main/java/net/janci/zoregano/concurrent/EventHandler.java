@@ -0,0 +1,21 @@
+package net.janci.zoregano.concurrent;
+
+/**
+ * Consumer of events published to {@link RingBuffer}. Events are delivered in batches, handler can defer
+ * expensive work (e.g. flush of output) to the end of batch.
+ *
+ * @param <E>   type of event
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * Handle published event. Event is owned by the ring buffer and it is reused for next events, so handler
+     * must not keep reference to the event after return.
+     *
+     * @param event         published event
+     * @param sequence      sequence of event in the ring buffer
+     * @param endOfBatch    true, when the event is the last available event
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,200 @@
+package net.janci.zoregano.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Shared executors for BIOS, kernel and their modules, so modules do not create own pools and the system
+ * does not create more threads than it can use:
+ * <ul>
+ *     <li>{@link #compute()} - work-stealing pool with one thread per CPU for non-blocking tasks</li>
+ *     <li>{@link #io()} - bounded pool for blocking I/O, or virtual thread per task, when system property
+ *     {@value #VIRTUAL_THREADS_PROPERTY_NAME} is true and Java supports virtual threads</li>
+ *     <li>{@link #named(String, int)} - fixed pool for module, that needs own threads</li>
+ * </ul>
+ * Pools are created when they are requested first time, threads are named "prefix"-"pool"-"threadNumber"
+ * and all pools are instrumented by {@link InstrumentedExecutorService}.
+ *
+ * All pools are shut down by {@link #close()}. Registry of the system ({@link #system()}) is closed
+ * by BIOS terminate, after the kernel was terminated.
+ */
+public class ExecutorRegistry implements AutoCloseable {
+
+    /**
+     * Name of system property, that enable virtual threads in {@link #io()} pool.
+     */
+    public final static String VIRTUAL_THREADS_PROPERTY_NAME = "executor.io.virtual-threads";
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private static final AtomicReference<ExecutorRegistry> SYSTEM = new AtomicReference<>();
+
+    private final String prefix;
+
+    private final int computeThreads;
+
+    private final int ioThreads;
+
+    private final Map<String, ExecutorService> pools = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Create registry with compute pool sized to CPU count and I/O pool with 4 threads per CPU (at least 16).
+     *
+     * @param prefix    prefix of thread names
+     */
+    public ExecutorRegistry(String prefix) {
+        this(prefix, Runtime.getRuntime().availableProcessors(), Math.max(16, 4 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param prefix            prefix of thread names
+     * @param computeThreads    parallelism of compute pool
+     * @param ioThreads         maximal count of threads in I/O pool, when it does not use virtual threads
+     */
+    public ExecutorRegistry(String prefix, int computeThreads, int ioThreads) {
+        if (computeThreads < 1 || ioThreads < 1) {
+            throw new IllegalArgumentException("Pools must have at least one thread");
+        }
+        this.prefix = prefix;
+        this.computeThreads = computeThreads;
+        this.ioThreads = ioThreads;
+    }
+
+    /**
+     * Registry of the system, that is shared by BIOS, kernel and all modules. When the registry was closed,
+     * new registry is created.
+     *
+     * @return registry of the system
+     */
+    public static ExecutorRegistry system() {
+        ExecutorRegistry registry = SYSTEM.get();
+        while (registry == null || registry.closed) {
+            ExecutorRegistry created = new ExecutorRegistry("zoregano");
+            if (SYSTEM.compareAndSet(registry, created)) {
+                return created;
+            }
+            registry = SYSTEM.get();
+        }
+        return registry;
+    }
+
+    /**
+     * @return work-stealing pool for CPU bound tasks, that do not block
+     */
+    public ExecutorService compute() {
+        return pool("compute", () -> new ForkJoinPool(computeThreads, new ComputeThreadFactory(prefix + "-compute"), null, true));
+    }
+
+    /**
+     * @return pool for tasks, that block on I/O
+     */
+    public ExecutorService io() {
+        return pool("io", () -> {
+            if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY_NAME) && VirtualThreadFactory.isSupported()) {
+                return VirtualThreadFactory.newThreadPerTaskExecutor(prefix + "-io");
+            }
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(ioThreads, ioThreads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new NamedThreadFactory(prefix + "-io"));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+    }
+
+    /**
+     * Fixed pool with the name. When the pool exists, it is returned without change of thread count.
+     *
+     * @param name      name of pool, e.g. name of module
+     * @param threads   count of threads
+     * @return named pool
+     */
+    public ExecutorService named(String name, int threads) {
+        return pool(name, () -> Executors.newFixedThreadPool(threads, new NamedThreadFactory(prefix + "-" + name)));
+    }
+
+    /**
+     * Shut down all pools and wait until running tasks are finished, at most 10 seconds. Tasks, that are not
+     * finished in time, are interrupted.
+     */
+    @Override
+    public void close() {
+        close(Duration.ofSeconds(CLOSE_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * Shut down all pools and wait until running tasks are finished, at most the timeout. Tasks, that are not
+     * finished in time, are interrupted.
+     *
+     * @param timeout   maximal time to wait for running tasks, zero interrupts them immediately
+     */
+    public void close(Duration timeout) {
+        closed = true;
+        List<ExecutorService> executors = new ArrayList<>(pools.values());
+        executors.forEach(ExecutorService::shutdown);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (ExecutorService executor : executors) {
+            try {
+                if (!executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return true, when registry was closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private ExecutorService pool(String name, Supplier<ExecutorService> factory) {
+        if (closed) {
+            throw new RejectedExecutionException("Executor registry '" + prefix + "' is closed");
+        }
+        ExecutorService pool = pools.computeIfAbsent(name, key -> new InstrumentedExecutorService(prefix + "-" + key, factory.get()));
+        if (closed) {
+            // registry was closed concurrently, pool may be created after close
+            pool.shutdown();
+            throw new RejectedExecutionException("Executor registry '" + prefix + "' is closed");
+        }
+        return pool;
+    }
+
+    private static final class ComputeThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private final String prefix;
+
+        private ComputeThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(prefix + "-" + threadNumber.getAndIncrement());
+            return thread;
+        }
+    }
+}
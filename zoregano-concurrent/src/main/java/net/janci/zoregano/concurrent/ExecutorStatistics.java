@@ -0,0 +1,170 @@
+package net.janci.zoregano.concurrent;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of executors with the same thread name prefix, recorded by {@link InstrumentedExecutorService}.
+ * Executors with the same prefix share one statistics, so statistics of pools created again and again
+ * (e.g. by every BIOS instance) are summed.
+ *
+ * Statistics are available by pull API {@link #all()} and, when system property {@value #JMX_PROPERTY_NAME}
+ * is true, as MXBeans in the platform MBean server. JMX is disabled by default, because initialization
+ * of platform MBean server slows down the boot.
+ */
+public final class ExecutorStatistics implements ExecutorStatisticsMXBean {
+
+    /**
+     * Name of system property, that enable registration of statistics in the platform MBean server.
+     */
+    public final static String JMX_PROPERTY_NAME = "executor.statistics.jmx";
+
+    private static final ConcurrentMap<String, ExecutorStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    final LongAdder submitted = new LongAdder();
+
+    final LongAdder completed = new LongAdder();
+
+    final LongAdder failed = new LongAdder();
+
+    final LongAdder rejected = new LongAdder();
+
+    final LongAdder queued = new LongAdder();
+
+    final LongAdder active = new LongAdder();
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    private ExecutorStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param name  thread name prefix of executor
+     * @return statistics of executors with the prefix, created when they do not exist yet
+     */
+    public static ExecutorStatistics of(String name) {
+        return STATISTICS.computeIfAbsent(name, ExecutorStatistics::create);
+    }
+
+    /**
+     * @return statistics of all instrumented executors by thread name prefix
+     */
+    public static Map<String, ExecutorStatistics> all() {
+        return Collections.unmodifiableMap(STATISTICS);
+    }
+
+    private static ExecutorStatistics create(String name) {
+        ExecutorStatistics statistics = new ExecutorStatistics(name);
+        if (Boolean.getBoolean(JMX_PROPERTY_NAME)) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(statistics,
+                        new ObjectName("net.janci.zoregano:type=Executor,name=" + ObjectName.quote(name)));
+            } catch (JMException e) {
+                ErrorHandler.system().onError("Executor statistics '" + name + "' can not be registered", e);
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * Tasks submitted by {@link java.util.concurrent.ExecutorService#submit(Runnable)} never fail, because
+     * exception is stored in the future, so they are counted as completed.
+     */
+    @Override
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getQueueDepth() {
+        return queued.sum();
+    }
+
+    @Override
+    public long getActiveThreads() {
+        return active.sum();
+    }
+
+    /**
+     * @return histogram of time between submit of task and start of task
+     */
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * @return histogram of run time of tasks
+     */
+    public LatencyHistogram getRunTime() {
+        return runTime;
+    }
+
+    @Override
+    public long getQueueWaitP50Nanos() {
+        return queueWait.getPercentileNanos(50);
+    }
+
+    @Override
+    public long getQueueWaitP99Nanos() {
+        return queueWait.getPercentileNanos(99);
+    }
+
+    @Override
+    public long getQueueWaitMaxNanos() {
+        return queueWait.getMaxNanos();
+    }
+
+    @Override
+    public long getRunTimeP50Nanos() {
+        return runTime.getPercentileNanos(50);
+    }
+
+    @Override
+    public long getRunTimeP99Nanos() {
+        return runTime.getPercentileNanos(99);
+    }
+
+    @Override
+    public long getRunTimeMaxNanos() {
+        return runTime.getMaxNanos();
+    }
+
+    @Override
+    public String toString() {
+        return name + "[submitted=" + getSubmittedCount() + ", completed=" + getCompletedCount()
+                + ", failed=" + getFailedCount() + ", rejected=" + getRejectedCount()
+                + ", queued=" + getQueueDepth() + ", active=" + getActiveThreads()
+                + ", queueWaitP99=" + getQueueWaitP99Nanos() + "ns, runTimeP99=" + getRunTimeP99Nanos() + "ns]";
+    }
+}
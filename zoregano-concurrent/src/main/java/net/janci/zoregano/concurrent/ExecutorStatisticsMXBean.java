@@ -0,0 +1,34 @@
+package net.janci.zoregano.concurrent;
+
+/**
+ * Management interface of {@link ExecutorStatistics}, registered as
+ * net.janci.zoregano:type=Executor,name=&lt;thread name prefix&gt;.
+ */
+public interface ExecutorStatisticsMXBean {
+
+    String getName();
+
+    long getSubmittedCount();
+
+    long getCompletedCount();
+
+    long getFailedCount();
+
+    long getRejectedCount();
+
+    long getQueueDepth();
+
+    long getActiveThreads();
+
+    long getQueueWaitP50Nanos();
+
+    long getQueueWaitP99Nanos();
+
+    long getQueueWaitMaxNanos();
+
+    long getRunTimeP50Nanos();
+
+    long getRunTimeP99Nanos();
+
+    long getRunTimeMaxNanos();
+}
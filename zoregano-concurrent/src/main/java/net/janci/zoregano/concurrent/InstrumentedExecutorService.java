@@ -0,0 +1,120 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExecutorService}, that records {@link ExecutorStatistics} of another executor: count of submitted,
+ * completed, failed and rejected tasks, queue depth, active threads and histograms of queue wait and run time.
+ * Statistics are grouped by name, that should be thread name prefix of executor. Example:
+ * <pre>
+ *   ExecutorService executor = new InstrumentedExecutorService("bios-module",
+ *           Executors.newCachedThreadPool(new NamedThreadFactory("bios-module")));
+ * </pre>
+ *
+ * Every task is wrapped by object with submit time, recording costs two {@link System#nanoTime()} calls
+ * and a few {@link java.util.concurrent.atomic.LongAdder} additions.
+ */
+public class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final ExecutorStatistics statistics;
+
+    /**
+     * @param name      thread name prefix of executor, that groups statistics
+     * @param delegate  executor, that runs tasks
+     */
+    public InstrumentedExecutorService(String name, ExecutorService delegate) {
+        this.delegate = delegate;
+        this.statistics = ExecutorStatistics.of(name);
+    }
+
+    /**
+     * @return statistics of all executors with the same name
+     */
+    public ExecutorStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        statistics.submitted.increment();
+        statistics.queued.increment();
+        try {
+            delegate.execute(new InstrumentedTask(command, System.nanoTime()));
+        } catch (RejectedExecutionException e) {
+            statistics.queued.decrement();
+            statistics.rejected.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Tasks, that never started, are removed from the queue depth.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> tasks = delegate.shutdownNow();
+        statistics.queued.add(-tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private final class InstrumentedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long submitNanos;
+
+        private InstrumentedTask(Runnable task, long submitNanos) {
+            this.task = task;
+            this.submitNanos = submitNanos;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            statistics.queued.decrement();
+            statistics.active.increment();
+            statistics.getQueueWait().record(startNanos - submitNanos);
+            boolean completed = false;
+            try {
+                task.run();
+                completed = true;
+            } finally {
+                statistics.active.decrement();
+                statistics.getRunTime().record(System.nanoTime() - startNanos);
+                if (completed) {
+                    statistics.completed.increment();
+                } else {
+                    statistics.failed.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds with buckets by powers of two. Bucket i contains latencies
+ * from 2^(i-1) (inclusive) to 2^i (exclusive) nanoseconds, bucket 0 contains zero latencies. Recording is
+ * only a few additions to {@link LongAdder}s, so the histogram can stay enabled in production.
+ *
+ * Percentiles are approximated by upper bound of the bucket, so they are at most two times higher than
+ * real latency. Values read concurrently with recording may not be consistent with each other.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos latency in nanoseconds, negative latency is recorded as zero
+     */
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(latency)].increment();
+        totalNanos.add(latency);
+        maxNanos.accumulate(latency);
+    }
+
+    /**
+     * @return count of recorded latencies
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return sum of all recorded latencies
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return maximal recorded latency
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @param percentile    percentile from 0 to 100, e.g. 99.9
+     * @return upper bound of bucket, that contains the percentile, or 0 when nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = getBuckets();
+        long count = 0;
+        for (long bucket : counts) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return Math.min(upperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * @return counts of latencies in buckets, see class description
+     */
+    public long[] getBuckets() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,329 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free ring buffer of preallocated events, that is shared by many publishers and many consumers. Every
+ * subscribed consumer receives all events published after its subscription, in order of their sequences.
+ *
+ * Events are created once by factory and reused, publisher only fills claimed event, so publishing does not
+ * allocate. Publisher claims sequence by one atomic increment and publishes it by one ordered write. Every
+ * consumer runs in own thread and handles all available events in one batch, without lock.
+ *
+ * Publisher can not overtake the slowest consumer by more than capacity of buffer: {@link #next()} waits by
+ * {@link WaitStrategy}, until consumers free the slot, and {@link #tryPublish(BiConsumer, Object)} refuses
+ * the event, so slow consumers push back on publishers instead of unbounded growth of queue.
+ *
+ * @param <E>   type of event
+ */
+public final class RingBuffer<E> implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final String name;
+
+    private final Object[] entries;
+
+    private final int mask;
+
+    private final AtomicLongArray published;
+
+    private final WaitStrategy waitStrategy;
+
+    private final Sequence cursor = new Sequence(-1);
+
+    private final Sequence gatingCache = new Sequence(-1);
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private volatile Sequence[] gating = new Sequence[0];
+
+    private volatile boolean closed;
+
+    /**
+     * @param name          name of buffer, prefix of names of consumer threads
+     * @param capacity      count of preallocated events, power of two
+     * @param factory       factory of events
+     * @param waitStrategy  strategy of waiting consumers and publishers
+     */
+    public RingBuffer(String name, int capacity, Supplier<? extends E> factory, WaitStrategy waitStrategy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity of ring buffer must be power of two: " + capacity);
+        }
+        this.name = name;
+        this.entries = new Object[capacity];
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        this.waitStrategy = waitStrategy;
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = factory.get();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * @return count of preallocated events
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Claim next sequence, wait when the buffer is full. Claimed sequence must be published by {@link #publish(long)},
+     * otherwise consumers stop on it.
+     *
+     * @return claimed sequence
+     * @throws IllegalStateException when buffer is closed
+     */
+    public long next() {
+        checkOpen();
+        long sequence = cursor.incrementAndGet();
+        long wrapPoint = sequence - entries.length;
+        if (wrapPoint > gatingCache.get()) {
+            int attempt = 0;
+            long gating;
+            while (wrapPoint > (gating = minimumGating(sequence))) {
+                waitStrategy.idle(attempt++);
+            }
+            gatingCache.set(gating);
+        }
+        return sequence;
+    }
+
+    /**
+     * Claim next sequence, when the buffer is not full.
+     *
+     * @return claimed sequence, or -1 when the buffer is full
+     * @throws IllegalStateException when buffer is closed
+     */
+    public long tryNext() {
+        checkOpen();
+        while (true) {
+            long current = cursor.get();
+            long sequence = current + 1;
+            long wrapPoint = sequence - entries.length;
+            if (wrapPoint > gatingCache.get()) {
+                long gating = minimumGating(current);
+                gatingCache.set(gating);
+                if (wrapPoint > gating) {
+                    return -1;
+                }
+            }
+            if (cursor.compareAndSet(current, sequence)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * @param sequence  claimed or published sequence
+     * @return event of the sequence
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /**
+     * Publish filled event to consumers.
+     *
+     * @param sequence  claimed sequence
+     */
+    public void publish(long sequence) {
+        published.lazySet((int) sequence & mask, sequence);
+    }
+
+    /**
+     * Claim event, fill it by translator and publish it. Waits, when the buffer is full. Translator, that does not
+     * capture any variable, does not allocate.
+     *
+     * @param translator    fills event from argument
+     * @param argument      argument of translator
+     * @param <A>           type of argument
+     * @throws IllegalStateException when buffer is closed
+     */
+    public <A> void publish(BiConsumer<? super E, ? super A> translator, A argument) {
+        long sequence = next();
+        try {
+            translator.accept(get(sequence), argument);
+        } finally {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Claim event, fill it by translator and publish it, when the buffer is not full.
+     *
+     * @param translator    fills event from argument
+     * @param argument      argument of translator
+     * @param <A>           type of argument
+     * @return true, when event was published; false, when the buffer is full
+     * @throws IllegalStateException when buffer is closed
+     */
+    public <A> boolean tryPublish(BiConsumer<? super E, ? super A> translator, A argument) {
+        long sequence = tryNext();
+        if (sequence < 0) {
+            return false;
+        }
+        try {
+            translator.accept(get(sequence), argument);
+        } finally {
+            publish(sequence);
+        }
+        return true;
+    }
+
+    /**
+     * Start consumer, that receives all events published after subscription, in own thread.
+     *
+     * @param consumerName  name of consumer, suffix of thread name
+     * @param handler       handler of events
+     * @return subscription, that stops the consumer, when it is closed
+     * @throws IllegalStateException when buffer is closed
+     * @see #subscribe(String, EventHandler, ErrorHandler)
+     */
+    public Subscription subscribe(String consumerName, EventHandler<? super E> handler) {
+        return subscribe(consumerName, handler, null);
+    }
+
+    /**
+     * Start consumer, that receives all events published after subscription, in own thread. Exception thrown
+     * by the handler is passed to the error handler and the consumer continues with the next event.
+     *
+     * @param consumerName  name of consumer, suffix of thread name
+     * @param handler       handler of events
+     * @param errorHandler  handler of exceptions thrown by the handler, or null for {@link ErrorHandler#system()}
+     * @return subscription, that stops the consumer, when it is closed
+     * @throws IllegalStateException when buffer is closed
+     */
+    public Subscription subscribe(String consumerName, EventHandler<? super E> handler, ErrorHandler errorHandler) {
+        checkOpen();
+        Subscription subscription = new Subscription(handler, errorHandler);
+        synchronized (this) {
+            Sequence[] current = gating;
+            Sequence[] added = Arrays.copyOf(current, current.length + 1);
+            added[current.length] = subscription.sequence;
+            gating = added;
+            subscriptions.add(subscription);
+        }
+        // sequence is set again after it gates publishers, so publishers can not wrap slots, the consumer waits for
+        subscription.sequence.set(cursor.get());
+        subscription.thread = new NamedThreadFactory(name + "-" + consumerName).newThread(subscription::run);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Stop all consumers, after they handle all published events. Publishing to closed buffer fails.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Ring buffer '" + name + "' is closed");
+        }
+    }
+
+    private long minimumGating(long defaultValue) {
+        long minimum = defaultValue;
+        for (Sequence sequence : gating) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    private long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (published.get((int) sequence & mask) != sequence) {
+                return sequence - 1;
+            }
+        }
+        return to;
+    }
+
+    private synchronized void remove(Subscription subscription) {
+        gating = Arrays.stream(gating).filter(sequence -> sequence != subscription.sequence).toArray(Sequence[]::new);
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Consumer subscribed to the ring buffer.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final EventHandler<? super E> handler;
+
+        private final ErrorHandler errorHandler;
+
+        private final Sequence sequence = new Sequence(cursor.get());
+
+        private volatile boolean running = true;
+
+        private Thread thread;
+
+        private Subscription(EventHandler<? super E> handler, ErrorHandler errorHandler) {
+            this.handler = handler;
+            this.errorHandler = errorHandler;
+        }
+
+        /**
+         * @return sequence of the last handled event
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        /**
+         * Stop the consumer, after it handles all published events, and wait for it at most 10 seconds.
+         */
+        @Override
+        public void close() {
+            running = false;
+            if (thread != null && thread != Thread.currentThread()) {
+                try {
+                    thread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            remove(this);
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            int attempt = 0;
+            while (true) {
+                long available = highestPublished(next, next + mask);
+                if (available >= next) {
+                    for (long current = next; current <= available; current++) {
+                        try {
+                            handler.onEvent(get(current), current, current == available);
+                        } catch (RuntimeException e) {
+                            (errorHandler != null ? errorHandler : ErrorHandler.system())
+                                    .onError("Consumer " + Thread.currentThread().getName() + " failed to handle event " + current, e);
+                        }
+                    }
+                    sequence.lazySet(available);
+                    next = available + 1;
+                    attempt = 0;
+                } else if (!running) {
+                    return;
+                } else {
+                    waitStrategy.idle(attempt++);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequence of {@link RingBuffer} padded to own cache line, so cursor of publishers and sequences of consumers,
+ * that are written by different threads, do not share cache line.
+ */
+@SuppressWarnings("unused")
+final class Sequence extends AtomicLong {
+
+    private long p1, p2, p3, p4, p5, p6, p7;
+
+    Sequence(long initialValue) {
+        super(initialValue);
+    }
+}
@@ -0,0 +1,17 @@
+package net.janci.zoregano.concurrent;
+
+/**
+ * Holder of {@link ErrorHandler#system()}.
+ */
+final class SystemErrorHandler {
+
+    static final ErrorHandler CONSOLE = (message, error) -> {
+        System.err.println(message);
+        error.printStackTrace();
+    };
+
+    static volatile ErrorHandler handler = CONSOLE;
+
+    private SystemErrorHandler() {
+    }
+}
@@ -0,0 +1,71 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Version of {@link NamedThreadFactory}, that creates virtual threads named as "prefix"-"threadNumber".
+ * Virtual threads are cheap, so blocking I/O can run in thousands of threads without pooling.
+ *
+ * Virtual threads are available on Java 21 and newer, when the module is used as multi-release jar. On older
+ * Java versions this factory creates daemon platform threads by {@link NamedThreadFactory}, so the code using
+ * the factory works on any supported Java version. Availability can be checked by {@link #isSupported()}.
+ */
+public class VirtualThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    private final String prefix;
+
+    private final ThreadFactory platformFactory;
+
+    /**
+     * Example, how this class can be used:
+     * <pre>
+     *   ExecutorService executor = VirtualThreadFactory.newThreadPerTaskExecutor("bios-module");
+     * </pre>
+     *
+     * @param prefix    String, that will be before every thread, that will be created.
+     */
+    public VirtualThreadFactory(String prefix) {
+        this.prefix = prefix;
+        this.platformFactory = VirtualThreads.isSupported() ? null : new NamedThreadFactory(prefix);
+    }
+
+    /**
+     * @return true, when this factory creates virtual threads
+     */
+    public static boolean isSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * Create executor, that starts new virtual thread for every task. When virtual threads are not supported,
+     * executor is cached pool of daemon platform threads.
+     *
+     * @param prefix    prefix of thread names
+     * @return new executor, that must be shut down by owner
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        if (VirtualThreads.isSupported()) {
+            return VirtualThreads.newThreadPerTaskExecutor(new VirtualThreadFactory(prefix));
+        }
+        return Executors.newCachedThreadPool(new NamedThreadFactory(prefix));
+    }
+
+    /**
+     * Factory to create new virtual thread with prefixed name.
+     *
+     * @param r     A runnable to be executed by new thread instance.
+     * @return constructed thread, that is not started.
+     */
+    @Override
+    public Thread newThread(Runnable r) {
+        if (platformFactory != null) {
+            return platformFactory.newThread(r);
+        }
+        return VirtualThreads.newThread(prefix + "-" + threadNumber.getAndIncrement(), r);
+    }
+}
@@ -0,0 +1,29 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads. This class is used on Java versions without virtual threads, multi-release jar
+ * contains version of this class for Java 21 in META-INF/versions/21, that creates virtual threads.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Method, not constant, so the value is not inlined to the callers compiled for the base version.
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    static Thread newThread(String name, Runnable task) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+    }
+
+    static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+    }
+}
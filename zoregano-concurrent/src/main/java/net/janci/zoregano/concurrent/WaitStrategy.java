@@ -0,0 +1,62 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Strategy of thread, that waits for {@link RingBuffer} without lock: consumer waits for published event, publisher
+ * waits for free slot. Strategy is trade-off between latency and CPU used by waiting thread.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spin all the time. Lowest latency, but waiting thread takes whole CPU core.
+     */
+    BUSY_SPIN {
+        @Override
+        public void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+
+    /**
+     * Spin for a while, then yield CPU to other threads. Low latency, when there are more cores than busy threads.
+     */
+    YIELD {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    /**
+     * Spin and yield for a while, then park for short time. Waiting thread does not take CPU, latency of idle
+     * thread is given by resolution of parking (tens of microseconds).
+     */
+    PARK {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else if (attempt < 2 * SPIN_ATTEMPTS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_ATTEMPTS = 100;
+
+    private static final long PARK_NANOS = 10_000;
+
+    /**
+     * Wait once, caller checks its condition after every call.
+     *
+     * @param attempt   count of previous unsuccessful checks of the condition
+     */
+    public abstract void idle(int attempt);
+}
@@ -0,0 +1,29 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads on Java 21 and newer, see base version of this class.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Method, not constant, so the value is not inlined to the callers compiled for the base version.
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    static Thread newThread(String name, Runnable task) {
+        return Thread.ofVirtual().name(name).unstarted(task);
+    }
+
+    static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        return Executors.newThreadPerTaskExecutor(threadFactory);
+    }
+}
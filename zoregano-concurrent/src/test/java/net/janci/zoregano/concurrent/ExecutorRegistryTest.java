@@ -0,0 +1,60 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorRegistryTest {
+
+    @org.junit.jupiter.api.Test
+    void testPoolsAreSharedAndNamed() throws InterruptedException, ExecutionException {
+        ExecutorRegistry registry = new ExecutorRegistry("test-registry", 2, 4);
+        try {
+            assertSame(registry.compute(), registry.compute());
+            assertSame(registry.io(), registry.io());
+            assertSame(registry.named("cache", 1), registry.named("cache", 3));
+
+            assertTrue(registry.compute().submit(() -> Thread.currentThread().getName()).get().startsWith("test-registry-compute-"));
+            assertTrue(registry.io().submit(() -> Thread.currentThread().getName()).get().startsWith("test-registry-io-"));
+            assertEquals("test-registry-cache-1", registry.named("cache", 1).submit(() -> Thread.currentThread().getName()).get());
+            assertNotNull(ExecutorStatistics.all().get("test-registry-io"));
+        } finally {
+            registry.close();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testCloseShutsDownAllPools() {
+        ExecutorRegistry registry = new ExecutorRegistry("test-close", 1, 1);
+        ExecutorService compute = registry.compute();
+        ExecutorService io = registry.io();
+        io.execute(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        registry.close();
+
+        assertTrue(registry.isClosed());
+        assertTrue(compute.isTerminated());
+        assertTrue(io.isTerminated());
+        assertEquals(1, ExecutorStatistics.of("test-close-io").getCompletedCount());
+        assertThrows(RejectedExecutionException.class, registry::io);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSystemRegistryIsCreatedAgainAfterClose() {
+        ExecutorRegistry system = ExecutorRegistry.system();
+        assertSame(system, ExecutorRegistry.system());
+
+        system.close();
+
+        assertNotSame(system, ExecutorRegistry.system());
+        assertFalse(ExecutorRegistry.system().isClosed());
+    }
+}
@@ -0,0 +1,67 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedExecutorServiceTest {
+
+    @org.junit.jupiter.api.Test
+    void testStatisticsOfTasks() throws InterruptedException, ExecutionException {
+        InstrumentedExecutorService executor = new InstrumentedExecutorService("test-stats",
+                Executors.newSingleThreadExecutor(new NamedThreadFactory("test-stats")));
+        ExecutorStatistics statistics = executor.getStatistics();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Future<Integer> result = executor.submit(() -> 42);
+        executor.execute(() -> {
+            throw new IllegalStateException("expected failure");
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(1, statistics.getActiveThreads());
+        assertEquals(2, statistics.getQueueDepth());
+
+        release.countDown();
+        assertEquals(Integer.valueOf(42), result.get());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+
+        assertEquals(4, statistics.getSubmittedCount());
+        assertEquals(2, statistics.getCompletedCount());
+        assertEquals(1, statistics.getFailedCount());
+        assertEquals(1, statistics.getRejectedCount());
+        assertEquals(0, statistics.getQueueDepth());
+        assertEquals(0, statistics.getActiveThreads());
+        assertEquals(3, statistics.getRunTime().getCount());
+        assertEquals(3, statistics.getQueueWait().getCount());
+        assertTrue(statistics.getQueueWaitMaxNanos() > 0);
+        assertSame(statistics, ExecutorStatistics.all().get("test-stats"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testExecutorsWithSamePrefixShareStatistics() {
+        InstrumentedExecutorService first = new InstrumentedExecutorService("test-shared", Executors.newCachedThreadPool());
+        InstrumentedExecutorService second = new InstrumentedExecutorService("test-shared", Executors.newCachedThreadPool());
+        first.shutdown();
+        second.shutdown();
+
+        assertSame(first.getStatistics(), second.getStatistics());
+        assertEquals("test-shared", first.getStatistics().getName());
+    }
+}
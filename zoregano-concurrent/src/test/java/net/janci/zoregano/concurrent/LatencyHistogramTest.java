@@ -0,0 +1,37 @@
+package net.janci.zoregano.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @org.junit.jupiter.api.Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(99));
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(99 * 1_000 + 1_000_000, histogram.getTotalNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(1023, histogram.getPercentileNanos(50));
+        assertEquals(1023, histogram.getPercentileNanos(99));
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+        assertEquals(99, histogram.getBuckets()[10]);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testExtremeLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(1, histogram.getBuckets()[0]);
+        assertEquals(1, histogram.getBuckets()[63]);
+        assertEquals(0, histogram.getPercentileNanos(50));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(100));
+    }
+}
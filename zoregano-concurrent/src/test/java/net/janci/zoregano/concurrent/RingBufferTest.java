@@ -0,0 +1,160 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    private static final int PUBLISHERS = 4;
+
+    private static final int EVENTS = 100_000;
+
+    @org.junit.jupiter.api.Test
+    void testEveryConsumerReceivesAllEventsInOrder() throws InterruptedException {
+        try (RingBuffer<LongEvent> buffer = new RingBuffer<>("test", 64, LongEvent::new, WaitStrategy.YIELD)) {
+            List<OrderCheckingHandler> handlers = List.of(new OrderCheckingHandler(), new OrderCheckingHandler());
+            for (int i = 0; i < handlers.size(); i++) {
+                buffer.subscribe("consumer-" + i, handlers.get(i));
+            }
+
+            List<Thread> publishers = new ArrayList<>();
+            for (int p = 0; p < PUBLISHERS; p++) {
+                int publisher = p;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < EVENTS; i++) {
+                        buffer.publish(LongEvent::set, (long) publisher * EVENTS + i);
+                    }
+                });
+                thread.start();
+                publishers.add(thread);
+            }
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+
+            for (OrderCheckingHandler handler : handlers) {
+                assertTrue(handler.done.await(30, TimeUnit.SECONDS));
+                assertNull(handler.failure.get());
+                assertTrue(handler.batches < PUBLISHERS * EVENTS, "Consumer must handle events in batches");
+            }
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSlowConsumerPushesBackOnPublishers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (RingBuffer<LongEvent> buffer = new RingBuffer<>("test", 8, LongEvent::new, WaitStrategy.PARK)) {
+            RingBuffer<LongEvent>.Subscription subscription = buffer.subscribe("slow", (event, sequence, endOfBatch) -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            int published = 0;
+            while (buffer.tryPublish(LongEvent::set, 1L)) {
+                published++;
+            }
+            assertEquals(buffer.getCapacity(), published);
+
+            release.countDown();
+            buffer.publish(LongEvent::set, 2L);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (subscription.getSequence() < published && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(published, subscription.getSequence());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>("test", 12, LongEvent::new, WaitStrategy.PARK));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testEventBusSharesTopicsByName() {
+        try (EventBus bus = new EventBus("test")) {
+            RingBuffer<LongEvent> topic = bus.topic("numbers", LongEvent.class, LongEvent::new);
+            assertSame(topic, bus.topic("numbers", LongEvent.class, LongEvent::new));
+            assertThrows(IllegalArgumentException.class, () -> bus.topic("numbers", StringBuilder.class, StringBuilder::new));
+            bus.close();
+            assertThrows(IllegalStateException.class, () -> topic.publish(LongEvent::set, 1L));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testHandlerFailureIsPassedToErrorHandler() throws InterruptedException {
+        BlockingQueue<String> errors = new LinkedBlockingQueue<>();
+        BlockingQueue<Long> handled = new LinkedBlockingQueue<>();
+        try (RingBuffer<LongEvent> buffer = new RingBuffer<>("test", 8, LongEvent::new, WaitStrategy.PARK)) {
+            buffer.subscribe("failing", (event, sequence, endOfBatch) -> {
+                if (event.value == 2) {
+                    throw new IllegalStateException("event " + event.value);
+                }
+                handled.add(event.value);
+            }, (message, error) -> errors.add(message + ": " + error.getMessage()));
+
+            for (long value = 1; value <= 3; value++) {
+                buffer.publish(LongEvent::set, value);
+            }
+
+            assertEquals(Long.valueOf(1), handled.poll(10, TimeUnit.SECONDS));
+            assertEquals(Long.valueOf(3), handled.poll(10, TimeUnit.SECONDS), "Consumer must continue after failed event");
+            String error = errors.poll(10, TimeUnit.SECONDS);
+            assertNotNull(error);
+            assertTrue(error.startsWith("Consumer test-failing"), error);
+            assertTrue(error.endsWith(": event 2"), error);
+        }
+    }
+
+    private static final class LongEvent {
+
+        private long value;
+
+        private void set(long value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Events of every publisher must be received in order of their publishing.
+     */
+    private static final class OrderCheckingHandler implements EventHandler<LongEvent> {
+
+        private final long[] lastValues = new long[PUBLISHERS];
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private final AtomicReference<String> failure = new AtomicReference<>();
+
+        private long received;
+
+        private long batches;
+
+        private OrderCheckingHandler() {
+            Arrays.fill(lastValues, -1);
+        }
+
+        @Override
+        public void onEvent(LongEvent event, long sequence, boolean endOfBatch) {
+            int publisher = (int) (event.value / EVENTS);
+            long value = event.value % EVENTS;
+            if (value != lastValues[publisher] + 1) {
+                failure.compareAndSet(null, "Publisher " + publisher + " expected " + (lastValues[publisher] + 1) + " got " + value);
+            }
+            lastValues[publisher] = value;
+            if (endOfBatch) {
+                batches++;
+            }
+            if (++received == (long) PUBLISHERS * EVENTS) {
+                done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package net.janci.zoregano.concurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadFactoryTest {
+
+    @org.junit.jupiter.api.Test
+    void testNewNamedThread() {
+        ThreadFactory tf = new VirtualThreadFactory("test-v99");
+        Thread first = tf.newThread(() -> {});
+        Thread second = tf.newThread(() -> {});
+
+        assertTrue(first.getName().startsWith("test-v99-"));
+        assertNotEquals(first.getName(), second.getName());
+        assertTrue(first.isDaemon());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testExecutorRunsBlockingTasksConcurrently() throws InterruptedException {
+        ExecutorService executor = VirtualThreadFactory.newThreadPerTaskExecutor("test-executor");
+        int tasks = 100;
+        CountDownLatch started = new CountDownLatch(tasks);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    names.add(Thread.currentThread().getName());
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(tasks, names.size());
+        assertTrue(names.stream().allMatch(name -> name.startsWith("test-executor-")));
+    }
+}
@@ -0,0 +1,18 @@
+import net.janci.zoregano.api.SystemProperty;
+import net.janci.zoregano.config.FileConfigurationFactory;
+
+/**
+ * Reference implementation of configuration for Zoregano System. Configurations are stored as binary
+ * snapshots in the configuration directory and they are read directly from memory mapped files.
+ * Changed snapshots are reloaded and changes are published to configuration listeners.
+ */
+@SystemProperty(value = FileConfigurationFactory.DIRECTORY_PROPERTY_NAME, description = "Define directory with configuration snapshots, default is 'config'")
+@SystemProperty(value = FileConfigurationFactory.WATCH_PROPERTY_NAME, description = "Reload configurations, when their snapshots are changed, default is 'true'")
+module zoregano.config {
+    requires zoregano.api;
+    requires zoregano.concurrent;
+
+    exports net.janci.zoregano.config;
+
+    provides net.janci.zoregano.api.config.ConfigurationFactory with net.janci.zoregano.config.FileConfigurationFactory;
+}
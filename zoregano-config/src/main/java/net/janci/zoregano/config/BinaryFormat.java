@@ -0,0 +1,306 @@
+package net.janci.zoregano.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.time.Duration;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Binary snapshot format of configuration. The format is designed to be read directly from memory mapped
+ * file by {@link MappedValues}, without parsing of the whole file.
+ *
+ * All numbers are little endian. File layout:
+ * <pre>
+ *     header   magic "ZCFG" (int), format version (short), reserved (short), entry count (int), reserved (int)
+ *     index    entry count * 16 bytes, sorted by code points of path:
+ *              path offset (int), path length in bytes (int), value offset (int), type (byte), 3 bytes padding
+ *     paths    UTF-8 encoded paths
+ *     values   values aligned to 8 bytes, encoded by type:
+ *              boolean     1 byte
+ *              long        8 bytes
+ *              double      8 bytes IEEE 754
+ *              string      length (int), UTF-8 bytes
+ *              duration    seconds (long), nanoseconds (int)
+ *              period      years (int), months (int), days (int)
+ *              boolean[]   count (int), 1 byte for every element
+ *              long[]      count (int), padding (int), 8 bytes for every element
+ *              double[]    count (int), padding (int), 8 bytes for every element
+ *              strings     count (int), every element as string
+ *              durations   count (int), every element as duration
+ * </pre>
+ */
+final class BinaryFormat {
+
+    static final int MAGIC = 0x4746435A;
+
+    static final short FORMAT_VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int INDEX_ENTRY_SIZE = 16;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * File name extension of snapshot files.
+     */
+    static final String EXTENSION = ".zcfg";
+
+    /**
+     * Order of paths in the file, paths are compared by Unicode code points, that is the same order
+     * as order of UTF-8 encoded bytes.
+     */
+    static final Comparator<String> PATH_ORDER = (first, second) -> {
+        int i = 0;
+        int j = 0;
+        while (i < first.length() && j < second.length()) {
+            int a = first.codePointAt(i);
+            int b = second.codePointAt(j);
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Boolean.compare(i < first.length(), j < second.length());
+    };
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Write values to the file. Values are written to temporary file in the same directory at first, the temporary
+     * file is forced to the disk, then it atomically replaces the file and the directory is forced to the disk too.
+     * Readers, that have mapped previous file, never see partially written file, and crash during write leaves
+     * either the previous file or the new one, never torn file. Temporary file is created with default permissions
+     * of new files, and it gets POSIX permissions of the replaced file, so the rename does not change them.
+     *
+     * @param values    values to write
+     * @param file      snapshot file
+     * @throws IOException when file can not be written
+     */
+    static void write(Values values, Path file) throws IOException {
+        ByteBuffer buffer = encode(values);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(file.getFileName() + "."
+                + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            copyPermissions(file, temporary);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(directory);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Copy POSIX permissions of the replaced file, file systems without POSIX permissions are skipped.
+     */
+    private static void copyPermissions(Path file, Path temporary) throws IOException {
+        if (!Files.exists(file) || !Files.getFileStore(temporary).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            return;
+        }
+        Files.setPosixFilePermissions(temporary, Files.getPosixFilePermissions(file));
+    }
+
+    /**
+     * Force the rename to the disk. Some platforms (e.g. Windows) can not open directory, the rename is durable
+     * there without it.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directory can not be forced on this platform
+        }
+    }
+
+    /**
+     * Encode values to the binary snapshot format.
+     *
+     * @param values    values to encode
+     * @return buffer with encoded values, ready to be read
+     */
+    static ByteBuffer encode(Values values) {
+        List<Integer> entries = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            entries.add(i);
+        }
+        entries.sort((first, second) -> PATH_ORDER.compare(values.path(first), values.path(second)));
+
+        byte[][] paths = new byte[entries.size()][];
+        int pathsSize = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            paths[i] = values.path(entries.get(i)).getBytes(StandardCharsets.UTF_8);
+            pathsSize += paths[i].length;
+        }
+
+        int pathsOffset = HEADER_SIZE + entries.size() * INDEX_ENTRY_SIZE;
+        int valuesOffset = align(pathsOffset + pathsSize);
+        int[] valueOffsets = new int[entries.size()];
+        int size = valuesOffset;
+        for (int i = 0; i < entries.size(); i++) {
+            valueOffsets[i] = size;
+            size = align(size + valueSize(values, entries.get(i)));
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(BYTE_ORDER);
+        buffer.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) 0).putInt(entries.size()).putInt(0);
+
+        int pathOffset = pathsOffset;
+        for (int i = 0; i < entries.size(); i++) {
+            buffer.putInt(pathOffset).putInt(paths[i].length).putInt(valueOffsets[i])
+                    .put(values.type(entries.get(i))).put((byte) 0).put((byte) 0).put((byte) 0);
+            pathOffset += paths[i].length;
+        }
+
+        for (byte[] path : paths) {
+            buffer.put(path);
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            buffer.position(valueOffsets[i]);
+            writeValue(buffer, values, entries.get(i));
+        }
+
+        buffer.position(0);
+        return buffer;
+    }
+
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+
+    private static int valueSize(Values values, int entry) {
+        switch (values.type(entry)) {
+            case ValueType.NULL:
+                return 0;
+            case ValueType.BOOLEAN:
+                return 1;
+            case ValueType.LONG:
+            case ValueType.DOUBLE:
+                return 8;
+            case ValueType.STRING:
+                return stringSize((String) values.value(entry));
+            case ValueType.DURATION:
+                return 12;
+            case ValueType.PERIOD:
+                return 12;
+            case ValueType.BOOLEAN_ARRAY:
+                return 4 + ((boolean[]) values.value(entry)).length;
+            case ValueType.LONG_ARRAY:
+                return 8 + 8 * ((long[]) values.value(entry)).length;
+            case ValueType.DOUBLE_ARRAY:
+                return 8 + 8 * ((double[]) values.value(entry)).length;
+            case ValueType.STRING_LIST: {
+                int size = 4;
+                for (Object element : (List<?>) values.value(entry)) {
+                    size += stringSize((String) element);
+                }
+                return size;
+            }
+            case ValueType.DURATION_LIST:
+                return 4 + 12 * ((List<?>) values.value(entry)).size();
+            default:
+                throw new IllegalStateException("Unknown value type " + values.type(entry));
+        }
+    }
+
+    private static int stringSize(String value) {
+        return 4 + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void writeValue(ByteBuffer buffer, Values values, int entry) {
+        switch (values.type(entry)) {
+            case ValueType.NULL:
+                break;
+            case ValueType.BOOLEAN:
+                buffer.put(values.booleanValue(entry) ? (byte) 1 : (byte) 0);
+                break;
+            case ValueType.LONG:
+                buffer.putLong(values.longValue(entry));
+                break;
+            case ValueType.DOUBLE:
+                buffer.putDouble(values.doubleValue(entry));
+                break;
+            case ValueType.STRING:
+                writeString(buffer, (String) values.value(entry));
+                break;
+            case ValueType.DURATION:
+                writeDuration(buffer, (Duration) values.value(entry));
+                break;
+            case ValueType.PERIOD: {
+                Period period = (Period) values.value(entry);
+                buffer.putInt(period.getYears()).putInt(period.getMonths()).putInt(period.getDays());
+                break;
+            }
+            case ValueType.BOOLEAN_ARRAY: {
+                boolean[] array = (boolean[]) values.value(entry);
+                buffer.putInt(array.length);
+                for (boolean element : array) {
+                    buffer.put(element ? (byte) 1 : (byte) 0);
+                }
+                break;
+            }
+            case ValueType.LONG_ARRAY: {
+                long[] array = (long[]) values.value(entry);
+                buffer.putInt(array.length).putInt(0);
+                buffer.asLongBuffer().put(array);
+                break;
+            }
+            case ValueType.DOUBLE_ARRAY: {
+                double[] array = (double[]) values.value(entry);
+                buffer.putInt(array.length).putInt(0);
+                buffer.asDoubleBuffer().put(array);
+                break;
+            }
+            case ValueType.STRING_LIST: {
+                List<?> list = (List<?>) values.value(entry);
+                buffer.putInt(list.size());
+                for (Object element : list) {
+                    writeString(buffer, (String) element);
+                }
+                break;
+            }
+            case ValueType.DURATION_LIST: {
+                List<?> list = (List<?>) values.value(entry);
+                buffer.putInt(list.size());
+                for (Object element : list) {
+                    writeDuration(buffer, (Duration) element);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown value type " + values.type(entry));
+        }
+    }
+
+    private static void writeString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static void writeDuration(ByteBuffer buffer, Duration value) {
+        buffer.putLong(value.getSeconds()).putInt(value.getNano());
+    }
+}
@@ -0,0 +1,17 @@
+package net.janci.zoregano.config;
+
+/**
+ * Exception class for signal, that value in the configuration is missing, or it can not be converted
+ * to requested type.
+ *
+ * @see FileConfiguration
+ */
+public class ConfigurationException extends RuntimeException {
+    ConfigurationException(String message) {
+        super(message);
+    }
+
+    ConfigurationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
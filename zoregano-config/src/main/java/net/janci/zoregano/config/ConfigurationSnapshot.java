@@ -0,0 +1,40 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.config.Configuration;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Immutable {@link Configuration}, that reads the same table of values forever. Snapshot can be saved,
+ * but all setters throw {@link UnsupportedOperationException}.
+ */
+final class ConfigurationSnapshot extends ValuesConfiguration {
+
+    private final Values values;
+
+    ConfigurationSnapshot(Path directory, Values values) {
+        super(directory);
+        this.values = values;
+    }
+
+    @Override
+    Values values() {
+        return values;
+    }
+
+    @Override
+    void change(Consumer<MapValues.Builder> change) {
+        throw new UnsupportedOperationException("Configuration snapshot is immutable");
+    }
+
+    @Override
+    public Configuration snapshot() {
+        return this;
+    }
+
+    @Override
+    public void update(Consumer<? super Configuration> changes) {
+        throw new UnsupportedOperationException("Configuration snapshot is immutable");
+    }
+}
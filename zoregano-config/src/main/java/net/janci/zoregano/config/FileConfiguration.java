@@ -0,0 +1,201 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.config.Configuration;
+import net.janci.zoregano.api.config.ConfigurationListener;
+import net.janci.zoregano.api.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * {@link Configuration} stored as binary snapshot in the configuration directory. Configuration loaded from
+ * snapshot reads values directly from memory mapped file, see {@link BinaryFormat}.
+ *
+ * Values are immutable table, that is replaced by every change. Readers read the current table without lock,
+ * so every read sees consistent values, and {@link #snapshot()} is only reference to the current table.
+ * Batch of changes made by {@link #update(Consumer)} is published by one replace of the table.
+ * Batch committed by {@link #commit(String, Consumer, Consumer)} is written to its snapshot file durably, before
+ * it is published.
+ * Typed values are stored in their type, for example duration set by {@link #setDuration(String, java.time.Duration)}
+ * is never parsed again. String values are converted by rules of
+ * <a href="https://github.com/lightbend/config/blob/master/HOCON.md">HOCON spec</a>.
+ *
+ * Configuration loaded by {@link FileConfigurationFactory} is reloaded, when its snapshot file is changed,
+ * and registered {@link ConfigurationListener}s are notified only about changed paths.
+ *
+ * All getters throw {@link ConfigurationException}, when the path is unset or null, or value can not be
+ * converted to requested type.
+ *
+ * @see FileConfigurationFactory
+ */
+public class FileConfiguration extends ValuesConfiguration {
+
+    private static final Logger LOGGER = Logger.getLogger(FileConfiguration.class);
+
+    private volatile Values values;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    FileConfiguration(Path directory, Values values) {
+        super(directory);
+        this.values = values;
+    }
+
+    @Override
+    Values values() {
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Listeners are notified after every change by setter and after reload of changed snapshot file,
+     * in the thread, that changed the configuration.
+     */
+    @Override
+    public void addListener(String path, ConfigurationListener listener) {
+        subscriptions.add(new Subscription(path, listener));
+    }
+
+    @Override
+    public void removeListener(ConfigurationListener listener) {
+        subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    /**
+     * Replace values by snapshot file, that was changed on the disk. Listeners are notified only about
+     * changed values. Values changed by setters and not saved, are replaced too.
+     *
+     * @param file  snapshot file
+     * @throws IOException when file is not valid snapshot, values are not changed
+     */
+    void reload(Path file) throws IOException {
+        Set<String> changed;
+        synchronized (this) {
+            Values current = values;
+            Values next = MappedValues.open(file, current.version() + 1);
+            changed = Values.changedPaths(current, next);
+            if (changed.isEmpty()) {
+                return;
+            }
+            values = next;
+        }
+        notifyListeners(changed);
+    }
+
+    /**
+     * Remove all values, when snapshot file was deleted from the disk. Listeners are notified about
+     * all removed paths.
+     */
+    void clear() {
+        Set<String> changed;
+        synchronized (this) {
+            Values current = values;
+            if (current.size() == 0) {
+                return;
+            }
+            Values next = new MapValues.Builder(MapValues.EMPTY).build(current.version() + 1);
+            changed = Values.changedPaths(current, next);
+            values = next;
+        }
+        notifyListeners(changed);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Changes are done on the copy of current values, that is published after the consumer finished. Concurrent
+     * changes wait, until the batch is published.
+     */
+    @Override
+    public void update(Consumer<? super Configuration> changes) {
+        change(builder -> changes.accept(new StagedConfiguration(directory, builder)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Values with changes are encoded once and written to snapshot file by {@link BinaryFormat#write(Values, Path)},
+     * then they are published. When validation or write fails, values of configuration are not changed. Batch, that
+     * does not change any value, is not written again, when snapshot file exists. Concurrent changes wait, until
+     * the batch is written and published.
+     */
+    @Override
+    public void commit(String configName, Consumer<? super Configuration> changes,
+                       Consumer<? super Configuration> validator) throws IOException {
+        Set<String> changed;
+        synchronized (this) {
+            Values current = values;
+            MapValues.Builder builder = new MapValues.Builder(current);
+            changes.accept(new StagedConfiguration(directory, builder));
+            Values next = builder.build(current.version() + 1);
+            changed = Values.changedPaths(current, next);
+            Path file = FileConfigurationFactory.snapshotFile(directory, configName);
+            if (changed.isEmpty() && Files.isRegularFile(file)) {
+                return;
+            }
+            validator.accept(new ConfigurationSnapshot(directory, next));
+            BinaryFormat.write(next, file);
+            if (changed.isEmpty()) {
+                return;
+            }
+            values = next;
+        }
+        notifyListeners(changed);
+    }
+
+    @Override
+    void change(Consumer<MapValues.Builder> change) {
+        Set<String> changed;
+        synchronized (this) {
+            Values current = values;
+            MapValues.Builder builder = new MapValues.Builder(current);
+            change.accept(builder);
+            Values next = builder.build(current.version() + 1);
+            changed = Values.changedPaths(current, next);
+            if (changed.isEmpty()) {
+                return;
+            }
+            values = next;
+        }
+        notifyListeners(changed);
+    }
+
+    private void notifyListeners(Set<String> changed) {
+        for (Subscription subscription : subscriptions) {
+            Set<String> paths = changed.stream().filter(subscription::contains).collect(Collectors.toUnmodifiableSet());
+            if (!paths.isEmpty()) {
+                try {
+                    subscription.listener.configurationChanged(this, paths);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Listener of configuration changes failed", e);
+                }
+            }
+        }
+    }
+
+    private static final class Subscription {
+
+        private final String path;
+
+        private final String prefix;
+
+        private final ConfigurationListener listener;
+
+        private Subscription(String path, ConfigurationListener listener) {
+            this.path = path;
+            this.prefix = path + ".";
+            this.listener = listener;
+        }
+
+        private boolean contains(String changedPath) {
+            return path.isEmpty() || changedPath.equals(path) || changedPath.startsWith(prefix);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.config.Configuration;
+import net.janci.zoregano.api.config.ConfigurationFactory;
+import net.janci.zoregano.api.logging.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Factory of {@link FileConfiguration}s. Configuration with name &lt;name&gt; is stored as binary snapshot
+ * &lt;name&gt;.zcfg in the configuration directory, that is defined by system property
+ * {@value #DIRECTORY_PROPERTY_NAME}.
+ *
+ * Snapshot is memory mapped when configuration is requested first time, so loading of configuration
+ * costs the same for any count of values. Every configuration is loaded only once and the same instance
+ * is returned by all next calls.
+ *
+ * Factory created by {@link java.util.ServiceLoader} watches the directory, unless system property
+ * {@value #WATCH_PROPERTY_NAME} is false. Loaded configuration is reloaded, when its snapshot is changed,
+ * or cleared, when its snapshot is deleted, and only changes are published to the {@link net.janci.zoregano.api.config.ConfigurationListener}s,
+ * so running system picks up new values without restart of kernel.
+ */
+public class FileConfigurationFactory implements ConfigurationFactory, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(FileConfigurationFactory.class);
+
+    /**
+     * Name of system property, that define directory with configuration snapshots.
+     */
+    public final static String DIRECTORY_PROPERTY_NAME = "config.dir";
+
+    /**
+     * Name of system property, that enable watching of configuration directory.
+     */
+    public final static String WATCH_PROPERTY_NAME = "config.watch";
+
+    private final Path directory;
+
+    private final boolean watch;
+
+    private volatile boolean watchAttempted;
+
+    private volatile SnapshotWatcher watcher;
+
+    private final ConcurrentMap<String, FileConfiguration> configurations = new ConcurrentHashMap<>();
+
+    /**
+     * Create factory for directory defined by system property {@value #DIRECTORY_PROPERTY_NAME}.
+     */
+    public FileConfigurationFactory() {
+        this(Path.of(System.getProperty(DIRECTORY_PROPERTY_NAME, "config")),
+                Boolean.parseBoolean(System.getProperty(WATCH_PROPERTY_NAME, "true")));
+    }
+
+    /**
+     * Create factory, that does not watch changes of snapshots.
+     *
+     * @param directory directory with configuration snapshots
+     */
+    public FileConfigurationFactory(Path directory) {
+        this(directory, false);
+    }
+
+    /**
+     * @param directory directory with configuration snapshots
+     * @param watch     reload loaded configurations, when their snapshots are changed
+     */
+    public FileConfigurationFactory(Path directory, boolean watch) {
+        this.directory = directory;
+        this.watch = watch;
+    }
+
+    /**
+     * Get configuration for requested name.
+     *
+     * @param configName    name of configuration, e.g. jdbc, kernel or application
+     * @return configuration loaded from snapshot, or empty configuration when snapshot does not exist
+     * @throws ConfigurationException when snapshot exists, but it can not be read
+     */
+    @Override
+    public Configuration getConfiguration(String configName) {
+        if (watch && !watchAttempted) {
+            startWatching();
+        }
+        return configurations.computeIfAbsent(configName, this::load);
+    }
+
+    @Override
+    public boolean containsConfiguration(String configName) {
+        return configurations.containsKey(configName) || Files.isRegularFile(snapshotFile(directory, configName));
+    }
+
+    @Override
+    public Configuration emptyConfiguration() {
+        return new FileConfiguration(directory, MapValues.EMPTY);
+    }
+
+    /**
+     * Stop watching of configuration directory. Loaded configurations stay usable, but they are not reloaded.
+     *
+     * @throws IOException when watcher can not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    /**
+     * Watcher is started before the first configuration is mapped, so no change after mapping is missed.
+     * Watching is attempted only once, so directory, that does not exist yet, is not watched and later
+     * calls do not take the lock.
+     */
+    private synchronized void startWatching() {
+        if (watchAttempted) {
+            return;
+        }
+        try {
+            if (Files.isDirectory(directory)) {
+                watcher = SnapshotWatcher.start(directory, configurations);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Configuration directory '" + directory + "' can not be watched: " + e.getMessage());
+        } finally {
+            watchAttempted = true;
+        }
+    }
+
+    private FileConfiguration load(String configName) {
+        Path file = snapshotFile(directory, configName);
+        if (!Files.isRegularFile(file)) {
+            return new FileConfiguration(directory, MapValues.EMPTY);
+        }
+
+        try {
+            return new FileConfiguration(directory, MappedValues.open(file, 0));
+        } catch (IOException e) {
+            throw new ConfigurationException("Configuration '" + configName + "' can not be loaded", e);
+        }
+    }
+
+    static Path snapshotFile(Path directory, String configName) {
+        return directory.resolve(configName + BinaryFormat.EXTENSION);
+    }
+}
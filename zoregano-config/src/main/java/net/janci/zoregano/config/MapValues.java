@@ -0,0 +1,195 @@
+package net.janci.zoregano.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * On-heap {@link Values}. Values are never modified, every change creates new instance by {@link Builder}.
+ */
+final class MapValues extends Values {
+
+    static final MapValues EMPTY = new MapValues(0, new String[0], new byte[0], new long[0], new Object[0]);
+
+    private final String[] paths;
+
+    private final byte[] types;
+
+    private final long[] primitives;
+
+    private final Object[] objects;
+
+    private MapValues(long version, String[] paths, byte[] types, long[] primitives, Object[] objects) {
+        super(version);
+        this.paths = paths;
+        this.types = types;
+        this.primitives = primitives;
+        this.objects = objects;
+    }
+
+    @Override
+    int find(String path) {
+        int entry = Arrays.binarySearch(paths, path);
+        return entry >= 0 ? entry : ABSENT;
+    }
+
+    @Override
+    int size() {
+        return paths.length;
+    }
+
+    @Override
+    String path(int entry) {
+        return paths[entry];
+    }
+
+    @Override
+    byte type(int entry) {
+        return types[entry];
+    }
+
+    @Override
+    boolean booleanValue(int entry) {
+        return primitives[entry] != 0;
+    }
+
+    @Override
+    long longValue(int entry) {
+        return primitives[entry];
+    }
+
+    @Override
+    double doubleValue(int entry) {
+        return Double.longBitsToDouble(primitives[entry]);
+    }
+
+    @Override
+    Object value(int entry) {
+        switch (types[entry]) {
+            case ValueType.BOOLEAN:
+                return booleanValue(entry);
+            case ValueType.LONG:
+                return longValue(entry);
+            case ValueType.DOUBLE:
+                return doubleValue(entry);
+            default:
+                return objects[entry];
+        }
+    }
+
+    @Override
+    long[] longArray(int entry) {
+        return ((long[]) objects[entry]).clone();
+    }
+
+    @Override
+    double[] doubleArray(int entry) {
+        return ((double[]) objects[entry]).clone();
+    }
+
+    @Override
+    int arrayLength(int entry) {
+        return types[entry] == ValueType.LONG_ARRAY ? ((long[]) objects[entry]).length : ((double[]) objects[entry]).length;
+    }
+
+    @Override
+    long longElement(int entry, int index) {
+        return ((long[]) objects[entry])[index];
+    }
+
+    @Override
+    double doubleElement(int entry, int index) {
+        return ((double[]) objects[entry])[index];
+    }
+
+    /**
+     * Builder of new values, that starts with copy of existing values.
+     */
+    static final class Builder {
+
+        private final TreeMap<String, Entry> entries = new TreeMap<>();
+
+        Builder(Values base) {
+            for (int i = 0; i < base.size(); i++) {
+                byte type = base.type(i);
+                switch (type) {
+                    case ValueType.BOOLEAN:
+                        entries.put(base.path(i), new Entry(type, base.booleanValue(i) ? 1 : 0, null));
+                        break;
+                    case ValueType.LONG:
+                        entries.put(base.path(i), new Entry(type, base.longValue(i), null));
+                        break;
+                    case ValueType.DOUBLE:
+                        entries.put(base.path(i), new Entry(type, Double.doubleToRawLongBits(base.doubleValue(i)), null));
+                        break;
+                    default:
+                        entries.put(base.path(i), new Entry(type, 0, base.value(i)));
+                }
+            }
+        }
+
+        Builder putBoolean(String path, boolean value) {
+            entries.put(path, new Entry(ValueType.BOOLEAN, value ? 1 : 0, null));
+            return this;
+        }
+
+        Builder putLong(String path, long value) {
+            entries.put(path, new Entry(ValueType.LONG, value, null));
+            return this;
+        }
+
+        Builder putDouble(String path, double value) {
+            entries.put(path, new Entry(ValueType.DOUBLE, Double.doubleToRawLongBits(value), null));
+            return this;
+        }
+
+        /**
+         * @param path  path expression
+         * @param type  type of value, other than primitive one
+         * @param value immutable value of the type, null is stored as {@link ValueType#NULL}
+         * @return this builder
+         */
+        Builder putObject(String path, byte type, Object value) {
+            entries.put(path, value == null ? new Entry(ValueType.NULL, 0, null) : new Entry(type, 0, value));
+            return this;
+        }
+
+        Builder remove(String path) {
+            entries.remove(path);
+            return this;
+        }
+
+        MapValues build(long version) {
+            int size = entries.size();
+            String[] paths = new String[size];
+            byte[] types = new byte[size];
+            long[] primitives = new long[size];
+            Object[] objects = new Object[size];
+
+            int i = 0;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                paths[i] = entry.getKey();
+                types[i] = entry.getValue().type;
+                primitives[i] = entry.getValue().primitive;
+                objects[i] = entry.getValue().object;
+                i++;
+            }
+            return new MapValues(version, paths, types, primitives, objects);
+        }
+    }
+
+    private static final class Entry {
+
+        private final byte type;
+
+        private final long primitive;
+
+        private final Object object;
+
+        private Entry(byte type, long primitive, Object object) {
+            this.type = type;
+            this.primitive = primitive;
+            this.object = object;
+        }
+    }
+}
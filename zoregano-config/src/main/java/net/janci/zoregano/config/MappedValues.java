@@ -0,0 +1,257 @@
+package net.janci.zoregano.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link Values} read directly from memory mapped snapshot file in the {@link BinaryFormat}. Opening of file
+ * reads only the header, values are read from mapped memory when they are requested, so JVMs on the same host
+ * share one copy of the file in the page cache.
+ *
+ * Buffer is read only by absolute methods, that do not change its position, so the values can be read
+ * by many threads concurrently.
+ */
+final class MappedValues extends Values {
+
+    private final ByteBuffer buffer;
+
+    private final int entries;
+
+    private MappedValues(long version, ByteBuffer buffer, int entries) {
+        super(version);
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    /**
+     * Map snapshot file to memory.
+     *
+     * @param file      snapshot file
+     * @param version   version of values
+     * @return values in the file
+     * @throws IOException when file can not be mapped, or it is not valid snapshot file
+     */
+    static MappedValues open(Path file, long version) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Configuration snapshot '" + file + "' is too large");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(BinaryFormat.BYTE_ORDER);
+        }
+
+        if (buffer.capacity() < BinaryFormat.HEADER_SIZE || buffer.getInt(0) != BinaryFormat.MAGIC) {
+            throw new IOException("File '" + file + "' is not configuration snapshot");
+        }
+        if (buffer.getShort(4) != BinaryFormat.FORMAT_VERSION) {
+            throw new IOException("Configuration snapshot '" + file + "' has unsupported format version " + buffer.getShort(4));
+        }
+
+        int entries = buffer.getInt(8);
+        if (entries < 0 || BinaryFormat.HEADER_SIZE + (long) entries * BinaryFormat.INDEX_ENTRY_SIZE > buffer.capacity()) {
+            throw new IOException("Configuration snapshot '" + file + "' is corrupted");
+        }
+        return new MappedValues(version, buffer, entries);
+    }
+
+    @Override
+    int find(String path) {
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compare = comparePath(middle, path);
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Compare path of entry with the path by code points, directly on the UTF-8 bytes, without decoding of path.
+     */
+    private int comparePath(int entry, String path) {
+        int offset = pathOffset(entry);
+        int end = offset + pathLength(entry);
+        int i = 0;
+        while (offset < end && i < path.length()) {
+            int first = buffer.get(offset) & 0xFF;
+            int codePoint;
+            if (first < 0x80) {
+                codePoint = first;
+                offset += 1;
+            } else if (first < 0xE0) {
+                codePoint = ((first & 0x1F) << 6) | (buffer.get(offset + 1) & 0x3F);
+                offset += 2;
+            } else if (first < 0xF0) {
+                codePoint = ((first & 0x0F) << 12) | ((buffer.get(offset + 1) & 0x3F) << 6) | (buffer.get(offset + 2) & 0x3F);
+                offset += 3;
+            } else {
+                codePoint = ((first & 0x07) << 18) | ((buffer.get(offset + 1) & 0x3F) << 12)
+                        | ((buffer.get(offset + 2) & 0x3F) << 6) | (buffer.get(offset + 3) & 0x3F);
+                offset += 4;
+            }
+
+            int other = path.codePointAt(i);
+            if (codePoint != other) {
+                return Integer.compare(codePoint, other);
+            }
+            i += Character.charCount(other);
+        }
+        return Boolean.compare(offset < end, i < path.length());
+    }
+
+    @Override
+    int size() {
+        return entries;
+    }
+
+    @Override
+    String path(int entry) {
+        return string(pathOffset(entry), pathLength(entry));
+    }
+
+    @Override
+    byte type(int entry) {
+        return buffer.get(indexOffset(entry) + 12);
+    }
+
+    @Override
+    boolean booleanValue(int entry) {
+        return buffer.get(valueOffset(entry)) != 0;
+    }
+
+    @Override
+    long longValue(int entry) {
+        return buffer.getLong(valueOffset(entry));
+    }
+
+    @Override
+    double doubleValue(int entry) {
+        return buffer.getDouble(valueOffset(entry));
+    }
+
+    @Override
+    Object value(int entry) {
+        int offset = valueOffset(entry);
+        switch (type(entry)) {
+            case ValueType.NULL:
+                return null;
+            case ValueType.BOOLEAN:
+                return booleanValue(entry);
+            case ValueType.LONG:
+                return longValue(entry);
+            case ValueType.DOUBLE:
+                return doubleValue(entry);
+            case ValueType.STRING:
+                return string(offset + 4, buffer.getInt(offset));
+            case ValueType.DURATION:
+                return duration(offset);
+            case ValueType.PERIOD:
+                return Period.of(buffer.getInt(offset), buffer.getInt(offset + 4), buffer.getInt(offset + 8));
+            case ValueType.BOOLEAN_ARRAY: {
+                boolean[] array = new boolean[buffer.getInt(offset)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = buffer.get(offset + 4 + i) != 0;
+                }
+                return array;
+            }
+            case ValueType.LONG_ARRAY:
+                return longArray(entry);
+            case ValueType.DOUBLE_ARRAY:
+                return doubleArray(entry);
+            case ValueType.STRING_LIST: {
+                int count = buffer.getInt(offset);
+                List<String> list = new ArrayList<>(count);
+                int elementOffset = offset + 4;
+                for (int i = 0; i < count; i++) {
+                    int length = buffer.getInt(elementOffset);
+                    list.add(string(elementOffset + 4, length));
+                    elementOffset += 4 + length;
+                }
+                return Collections.unmodifiableList(list);
+            }
+            case ValueType.DURATION_LIST: {
+                int count = buffer.getInt(offset);
+                List<Duration> list = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    list.add(duration(offset + 4 + 12 * i));
+                }
+                return Collections.unmodifiableList(list);
+            }
+            default:
+                throw new IllegalStateException("Unknown value type " + type(entry));
+        }
+    }
+
+    @Override
+    long[] longArray(int entry) {
+        int offset = valueOffset(entry);
+        long[] array = new long[buffer.getInt(offset)];
+        buffer.duplicate().order(BinaryFormat.BYTE_ORDER).position(offset + 8).asLongBuffer().get(array);
+        return array;
+    }
+
+    @Override
+    double[] doubleArray(int entry) {
+        int offset = valueOffset(entry);
+        double[] array = new double[buffer.getInt(offset)];
+        buffer.duplicate().order(BinaryFormat.BYTE_ORDER).position(offset + 8).asDoubleBuffer().get(array);
+        return array;
+    }
+
+    @Override
+    int arrayLength(int entry) {
+        return buffer.getInt(valueOffset(entry));
+    }
+
+    @Override
+    long longElement(int entry, int index) {
+        return buffer.getLong(valueOffset(entry) + 8 + 8 * index);
+    }
+
+    @Override
+    double doubleElement(int entry, int index) {
+        return buffer.getDouble(valueOffset(entry) + 8 + 8 * index);
+    }
+
+    private int indexOffset(int entry) {
+        return BinaryFormat.HEADER_SIZE + entry * BinaryFormat.INDEX_ENTRY_SIZE;
+    }
+
+    private int pathOffset(int entry) {
+        return buffer.getInt(indexOffset(entry));
+    }
+
+    private int pathLength(int entry) {
+        return buffer.getInt(indexOffset(entry) + 4);
+    }
+
+    private int valueOffset(int entry) {
+        return buffer.getInt(indexOffset(entry) + 8);
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.duplicate().position(offset).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Duration duration(int offset) {
+        return Duration.ofSeconds(buffer.getLong(offset), buffer.getInt(offset + 8));
+    }
+}
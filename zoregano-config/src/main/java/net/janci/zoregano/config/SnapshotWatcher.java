@@ -0,0 +1,166 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.concurrent.NamedThreadFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Watch the configuration directory and its subdirectories by {@link WatchService} and reload loaded
+ * configurations, when their snapshot files are changed. Snapshots are replaced by atomic rename, so the watcher
+ * never reads partially written snapshot written by {@link FileConfiguration#save(String)}. Configuration, whose
+ * snapshot file was deleted, is cleared. Configuration in subdirectory is named by its relative path with '/'
+ * separators, for example "tenant/jdbc".
+ */
+final class SnapshotWatcher implements Runnable, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(SnapshotWatcher.class);
+
+    private final Path directory;
+
+    private final Map<String, FileConfiguration> configurations;
+
+    private final WatchService watchService;
+
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    private SnapshotWatcher(Path directory, Map<String, FileConfiguration> configurations, WatchService watchService) {
+        this.directory = directory;
+        this.configurations = configurations;
+        this.watchService = watchService;
+    }
+
+    /**
+     * Start watching of directory and all its subdirectories in new daemon thread.
+     *
+     * @param directory         configuration directory
+     * @param configurations    loaded configurations by name, only these configurations are reloaded
+     * @return started watcher
+     * @throws IOException when directory can not be watched
+     */
+    static SnapshotWatcher start(Path directory, Map<String, FileConfiguration> configurations) throws IOException {
+        WatchService watchService = directory.getFileSystem().newWatchService();
+        SnapshotWatcher watcher = new SnapshotWatcher(directory, configurations, watchService);
+        try {
+            watcher.register(directory);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+
+        new NamedThreadFactory("config-watcher").newThread(watcher).start();
+        return watcher;
+    }
+
+    /**
+     * Register directory before its subdirectories are listed, so subdirectory created concurrently is either
+     * listed or reported by event.
+     */
+    private void register(Path watched) throws IOException {
+        WatchKey key = watched.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(key, watched);
+        try (Stream<Path> paths = Files.list(watched)) {
+            for (Path subdirectory : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                register(subdirectory);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path watched = watchedDirectories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || watched == null) {
+                        configurations.keySet().forEach(this::reload);
+                        continue;
+                    }
+                    Path path = watched.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                        registerCreated(path);
+                    } else if (path.getFileName().toString().endsWith(BinaryFormat.EXTENSION)) {
+                        reload(configName(path));
+                    }
+                }
+                if (!key.reset()) {
+                    watchedDirectories.remove(key);
+                    if (directory.equals(watched)) {
+                        return;
+                    }
+                    reloadSubtree(watched);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // watcher was closed
+        }
+    }
+
+    /**
+     * Watch new subdirectory and reload snapshots, that were created in it before it was registered.
+     */
+    private void registerCreated(Path created) {
+        try {
+            register(created);
+        } catch (IOException e) {
+            LOGGER.warn("Configuration directory '" + created + "' can not be watched: " + e.getMessage());
+        }
+        reloadSubtree(created);
+    }
+
+    private void reloadSubtree(Path subdirectory) {
+        String prefix = configName(subdirectory) + "/";
+        configurations.keySet().stream().filter(configName -> configName.startsWith(prefix)).forEach(this::reload);
+    }
+
+    private String configName(Path path) {
+        String relative = StreamSupport.stream(directory.relativize(path).spliterator(), false)
+                .map(Path::toString)
+                .collect(Collectors.joining("/"));
+        return relative.endsWith(BinaryFormat.EXTENSION)
+                ? relative.substring(0, relative.length() - BinaryFormat.EXTENSION.length())
+                : relative;
+    }
+
+    private void reload(String configName) {
+        FileConfiguration configuration = configurations.get(configName);
+        if (configuration == null) {
+            return;
+        }
+
+        Path file = FileConfigurationFactory.snapshotFile(directory, configName);
+        if (!Files.isRegularFile(file)) {
+            configuration.clear();
+            return;
+        }
+
+        try {
+            configuration.reload(file);
+        } catch (NoSuchFileException e) {
+            configuration.clear();
+        } catch (IOException e) {
+            LOGGER.warn("Configuration '" + configName + "' can not be reloaded: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
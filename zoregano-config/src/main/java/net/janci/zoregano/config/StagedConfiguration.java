@@ -0,0 +1,39 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.config.Configuration;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Configuration passed to the batch of changes by {@link FileConfiguration#update(Consumer)}. Changes are
+ * collected in the builder, that is published by the owner after the batch. Table of values for getters
+ * is built only when it is read after change.
+ *
+ * Staged configuration is used only by the thread, that runs the batch.
+ */
+final class StagedConfiguration extends ValuesConfiguration {
+
+    private final MapValues.Builder builder;
+
+    private Values values;
+
+    StagedConfiguration(Path directory, MapValues.Builder builder) {
+        super(directory);
+        this.builder = builder;
+    }
+
+    @Override
+    Values values() {
+        if (values == null) {
+            values = builder.build(Configuration.UNVERSIONED);
+        }
+        return values;
+    }
+
+    @Override
+    void change(Consumer<MapValues.Builder> change) {
+        change.accept(builder);
+        values = null;
+    }
+}
@@ -0,0 +1,206 @@
+package net.janci.zoregano.config;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Parse string values with units, as sizes "128K" or durations "10m", as documented in the
+ * <a href="https://github.com/lightbend/config/blob/master/HOCON.md">HOCON spec</a>.
+ */
+final class ValueParser {
+
+    private ValueParser() {
+    }
+
+    static boolean parseBoolean(String path, String value) {
+        switch (value.trim()) {
+            case "true":
+            case "yes":
+            case "on":
+                return true;
+            case "false":
+            case "no":
+            case "off":
+                return false;
+            default:
+                throw new ConfigurationException("Value '" + value + "' at path '" + path + "' is not boolean");
+        }
+    }
+
+    static Number parseNumber(String path, String value) {
+        String text = value.trim();
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e2) {
+                throw new ConfigurationException("Value '" + value + "' at path '" + path + "' is not number", e2);
+            }
+        }
+    }
+
+    static long parseBytes(String path, String value) {
+        String text = value.trim();
+        int unitStart = unitStart(text);
+        String unit = text.substring(unitStart).trim();
+        long multiplier;
+        switch (unit) {
+            case "":
+            case "B":
+            case "b":
+            case "byte":
+            case "bytes":
+                multiplier = 1;
+                break;
+            case "K":
+            case "k":
+            case "Ki":
+            case "KiB":
+            case "kibibyte":
+            case "kibibytes":
+                multiplier = 1L << 10;
+                break;
+            case "M":
+            case "m":
+            case "Mi":
+            case "MiB":
+            case "mebibyte":
+            case "mebibytes":
+                multiplier = 1L << 20;
+                break;
+            case "G":
+            case "g":
+            case "Gi":
+            case "GiB":
+            case "gibibyte":
+            case "gibibytes":
+                multiplier = 1L << 30;
+                break;
+            case "T":
+            case "t":
+            case "Ti":
+            case "TiB":
+            case "tebibyte":
+            case "tebibytes":
+                multiplier = 1L << 40;
+                break;
+            case "kB":
+            case "kilobyte":
+            case "kilobytes":
+                multiplier = 1_000L;
+                break;
+            case "MB":
+            case "megabyte":
+            case "megabytes":
+                multiplier = 1_000_000L;
+                break;
+            case "GB":
+            case "gigabyte":
+            case "gigabytes":
+                multiplier = 1_000_000_000L;
+                break;
+            case "TB":
+            case "terabyte":
+            case "terabytes":
+                multiplier = 1_000_000_000_000L;
+                break;
+            default:
+                throw new ConfigurationException("Value '" + value + "' at path '" + path + "' has unknown size unit '" + unit + "'");
+        }
+        return Math.multiplyExact(parseLong(path, value, text.substring(0, unitStart)), multiplier);
+    }
+
+    static Duration parseDuration(String path, String value) {
+        String text = value.trim();
+        int unitStart = unitStart(text);
+        String unit = text.substring(unitStart).trim();
+        long number = parseLong(path, value, text.substring(0, unitStart));
+        switch (unit) {
+            case "ns":
+            case "nano":
+            case "nanos":
+            case "nanosecond":
+            case "nanoseconds":
+                return Duration.ofNanos(number);
+            case "us":
+            case "micro":
+            case "micros":
+            case "microsecond":
+            case "microseconds":
+                return Duration.of(number, ChronoUnit.MICROS);
+            case "":
+            case "ms":
+            case "milli":
+            case "millis":
+            case "millisecond":
+            case "milliseconds":
+                return Duration.ofMillis(number);
+            case "s":
+            case "second":
+            case "seconds":
+                return Duration.ofSeconds(number);
+            case "m":
+            case "minute":
+            case "minutes":
+                return Duration.ofMinutes(number);
+            case "h":
+            case "hour":
+            case "hours":
+                return Duration.ofHours(number);
+            case "d":
+            case "day":
+            case "days":
+                return Duration.ofDays(number);
+            default:
+                throw new ConfigurationException("Value '" + value + "' at path '" + path + "' has unknown duration unit '" + unit + "'");
+        }
+    }
+
+    static Period parsePeriod(String path, String value) {
+        String text = value.trim();
+        int unitStart = unitStart(text);
+        String unit = text.substring(unitStart).trim();
+        int number = Math.toIntExact(parseLong(path, value, text.substring(0, unitStart)));
+        switch (unit) {
+            case "":
+            case "d":
+            case "day":
+            case "days":
+                return Period.ofDays(number);
+            case "w":
+            case "week":
+            case "weeks":
+                return Period.ofWeeks(number);
+            case "m":
+            case "mo":
+            case "month":
+            case "months":
+                return Period.ofMonths(number);
+            case "y":
+            case "year":
+            case "years":
+                return Period.ofYears(number);
+            default:
+                throw new ConfigurationException("Value '" + value + "' at path '" + path + "' has unknown period unit '" + unit + "'");
+        }
+    }
+
+    private static long parseLong(String path, String value, String number) {
+        try {
+            return Long.parseLong(number.trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Value '" + value + "' at path '" + path + "' has no valid number", e);
+        }
+    }
+
+    private static int unitStart(String text) {
+        int i = 0;
+        while (i < text.length() && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '-' || text.charAt(i) == '+'
+                || Character.isWhitespace(text.charAt(i)))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,37 @@
+package net.janci.zoregano.config;
+
+/**
+ * Types of values stored in configuration. The numbers are part of binary snapshot format,
+ * they must not be changed.
+ *
+ * @see BinaryFormat
+ */
+final class ValueType {
+
+    static final byte NULL = 0;
+    static final byte BOOLEAN = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte STRING = 4;
+    static final byte DURATION = 5;
+    static final byte PERIOD = 6;
+    static final byte BOOLEAN_ARRAY = 7;
+    static final byte LONG_ARRAY = 8;
+    static final byte DOUBLE_ARRAY = 9;
+    static final byte STRING_LIST = 10;
+    static final byte DURATION_LIST = 11;
+
+    private static final String[] NAMES = {"null", "boolean", "long", "double", "string", "duration", "period",
+            "boolean list", "long list", "double list", "string list", "duration list"};
+
+    private ValueType() {
+    }
+
+    static String name(byte type) {
+        return type >= 0 && type < NAMES.length ? NAMES[type] : "unknown (" + type + ")";
+    }
+
+    static boolean isList(byte type) {
+        return type >= BOOLEAN_ARRAY;
+    }
+}
@@ -0,0 +1,129 @@
+package net.janci.zoregano.config;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable table of configuration values sorted by path. Value is addressed by entry number returned
+ * by {@link #find(String)}, so typed values are read without boxing.
+ *
+ * Primitive values (boolean, long, double) are read by typed methods, all other values by {@link #value(int)}:
+ * {@link String}, {@link java.time.Duration}, {@link java.time.Period}, boolean[], long[], double[],
+ * List&lt;String&gt; and List&lt;Duration&gt;.
+ */
+abstract class Values {
+
+    static final int ABSENT = -1;
+
+    private final long version;
+
+    Values(long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return version of values, see {@link net.janci.zoregano.api.config.Configuration#version()}
+     */
+    final long version() {
+        return version;
+    }
+
+    /**
+     * @param path  path expression
+     * @return entry of the path, or {@link #ABSENT}
+     */
+    abstract int find(String path);
+
+    abstract int size();
+
+    abstract String path(int entry);
+
+    abstract byte type(int entry);
+
+    abstract boolean booleanValue(int entry);
+
+    abstract long longValue(int entry);
+
+    abstract double doubleValue(int entry);
+
+    /**
+     * @param entry entry of value
+     * @return value of non-primitive type, or boxed primitive value; null for {@link ValueType#NULL}
+     */
+    abstract Object value(int entry);
+
+    /**
+     * @param entry entry of {@link ValueType#LONG_ARRAY} value
+     * @return copy of the array, that is owned by caller
+     */
+    abstract long[] longArray(int entry);
+
+    /**
+     * @param entry entry of {@link ValueType#DOUBLE_ARRAY} value
+     * @return copy of the array, that is owned by caller
+     */
+    abstract double[] doubleArray(int entry);
+
+    /**
+     * @param entry entry of {@link ValueType#LONG_ARRAY} or {@link ValueType#DOUBLE_ARRAY} value
+     * @return number of elements, the array is not copied
+     */
+    abstract int arrayLength(int entry);
+
+    abstract long longElement(int entry, int index);
+
+    abstract double doubleElement(int entry, int index);
+
+    /**
+     * Compare two tables of values.
+     *
+     * @param previous  previous values
+     * @param next      next values
+     * @return paths, that were added, removed, or which value was changed
+     */
+    static Set<String> changedPaths(Values previous, Values next) {
+        Set<String> changed = new HashSet<>();
+        for (int entry = 0; entry < next.size(); entry++) {
+            String path = next.path(entry);
+            int previousEntry = previous.find(path);
+            if (previousEntry == ABSENT || !sameValue(previous, previousEntry, next, entry)) {
+                changed.add(path);
+            }
+        }
+        for (int entry = 0; entry < previous.size(); entry++) {
+            String path = previous.path(entry);
+            if (next.find(path) == ABSENT) {
+                changed.add(path);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean sameValue(Values first, int firstEntry, Values second, int secondEntry) {
+        byte type = first.type(firstEntry);
+        if (type != second.type(secondEntry)) {
+            return false;
+        }
+        switch (type) {
+            case ValueType.NULL:
+                return true;
+            case ValueType.BOOLEAN:
+                return first.booleanValue(firstEntry) == second.booleanValue(secondEntry);
+            case ValueType.LONG:
+                return first.longValue(firstEntry) == second.longValue(secondEntry);
+            case ValueType.DOUBLE:
+                return Double.doubleToLongBits(first.doubleValue(firstEntry))
+                        == Double.doubleToLongBits(second.doubleValue(secondEntry));
+            case ValueType.BOOLEAN_ARRAY:
+                return Arrays.equals((boolean[]) first.value(firstEntry), (boolean[]) second.value(secondEntry));
+            case ValueType.LONG_ARRAY:
+                return Arrays.equals((long[]) first.value(firstEntry), (long[]) second.value(secondEntry));
+            case ValueType.DOUBLE_ARRAY:
+                return Arrays.equals((double[]) first.value(firstEntry), (double[]) second.value(secondEntry));
+            default:
+                return Objects.equals(first.value(firstEntry), second.value(secondEntry));
+        }
+    }
+}
@@ -0,0 +1,630 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.config.Configuration;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * {@link Configuration} backed by immutable table of {@link Values}. Getters read the table returned
+ * by {@link #values()} without lock, and setters pass changes of the table to {@link #change(Consumer)}.
+ *
+ * Typed values are stored in their type, for example duration set by {@link #setDuration(String, Duration)}
+ * is never parsed again. String values are converted by rules of
+ * <a href="https://github.com/lightbend/config/blob/master/HOCON.md">HOCON spec</a>.
+ *
+ * All getters throw {@link ConfigurationException}, when the path is unset or null, or value can not be
+ * converted to requested type.
+ */
+abstract class ValuesConfiguration implements Configuration {
+
+    final Path directory;
+
+    ValuesConfiguration(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return current values
+     */
+    abstract Values values();
+
+    /**
+     * Change values.
+     *
+     * @param change    change of copy of current values
+     * @throws UnsupportedOperationException when configuration is immutable
+     */
+    abstract void change(Consumer<MapValues.Builder> change);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long version() {
+        return values().version();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Configuration snapshot() {
+        return new ConfigurationSnapshot(directory, values());
+    }
+
+    @Override
+    public boolean hasPath(String path) {
+        Values current = values();
+        int entry = current.find(path);
+        return entry != Values.ABSENT && current.type(entry) != ValueType.NULL;
+    }
+
+    @Override
+    public boolean hasPathOrNull(String path) {
+        return values().find(path) != Values.ABSENT;
+    }
+
+    @Override
+    public boolean getBoolean(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.BOOLEAN:
+                return current.booleanValue(entry);
+            case ValueType.STRING:
+                return ValueParser.parseBoolean(path, (String) current.value(entry));
+            default:
+                throw wrongType(current, entry, path, "boolean");
+        }
+    }
+
+    @Override
+    public void setBoolean(String path, boolean value) {
+        change(builder -> builder.putBoolean(path, value));
+    }
+
+    @Override
+    public Number getNumber(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.LONG:
+                return current.longValue(entry);
+            case ValueType.DOUBLE:
+                return current.doubleValue(entry);
+            case ValueType.STRING:
+                return ValueParser.parseNumber(path, (String) current.value(entry));
+            default:
+                throw wrongType(current, entry, path, "number");
+        }
+    }
+
+    @Override
+    public void setNumber(String path, Number value) {
+        if (value == null) {
+            change(builder -> builder.putObject(path, ValueType.NULL, null));
+        } else if (isFloatingPoint(value)) {
+            change(builder -> builder.putDouble(path, value.doubleValue()));
+        } else {
+            change(builder -> builder.putLong(path, value.longValue()));
+        }
+    }
+
+    @Override
+    public int getInt(String path) {
+        return toInt(path, getLong(path));
+    }
+
+    @Override
+    public void setInt(String path, int value) {
+        change(builder -> builder.putLong(path, value));
+    }
+
+    @Override
+    public long getLong(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.LONG:
+                return current.longValue(entry);
+            case ValueType.DOUBLE:
+                return toLong(path, current.doubleValue(entry));
+            case ValueType.STRING:
+                return ValueParser.parseNumber(path, (String) current.value(entry)).longValue();
+            default:
+                throw wrongType(current, entry, path, "number");
+        }
+    }
+
+    @Override
+    public void setLong(String path, Long value) {
+        setNumber(path, value);
+    }
+
+    @Override
+    public double getDouble(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.LONG:
+                return current.longValue(entry);
+            case ValueType.DOUBLE:
+                return current.doubleValue(entry);
+            case ValueType.STRING:
+                return ValueParser.parseNumber(path, (String) current.value(entry)).doubleValue();
+            default:
+                throw wrongType(current, entry, path, "number");
+        }
+    }
+
+    @Override
+    public void setDouble(String path, double value) {
+        change(builder -> builder.putDouble(path, value));
+    }
+
+    @Override
+    public String getString(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        if (ValueType.isList(current.type(entry))) {
+            throw wrongType(current, entry, path, "string");
+        }
+        return String.valueOf(current.value(entry));
+    }
+
+    @Override
+    public void setString(String path, String value) {
+        change(builder -> builder.putObject(path, ValueType.STRING, value));
+    }
+
+    @Override
+    public <T extends Enum<T>> T getEnum(Class<T> enumClass, String path) {
+        return toEnum(enumClass, path, getString(path));
+    }
+
+    @Override
+    public <T extends Enum<T>> void setEnum(Class<T> enumClass, String path, T value) {
+        change(builder -> builder.putObject(path, ValueType.STRING, value == null ? null : value.name()));
+    }
+
+    @Override
+    public Long getBytes(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.LONG:
+                return current.longValue(entry);
+            case ValueType.DOUBLE:
+                return toLong(path, current.doubleValue(entry));
+            case ValueType.STRING:
+                return ValueParser.parseBytes(path, (String) current.value(entry));
+            default:
+                throw wrongType(current, entry, path, "size in bytes");
+        }
+    }
+
+    @Override
+    public void setBytes(String path, Long value) {
+        setNumber(path, value);
+    }
+
+    @Override
+    public long getDuration(String path, TimeUnit unit) {
+        return unit.convert(getDuration(path));
+    }
+
+    @Override
+    public void setDuration(String path, TimeUnit unit, long value) {
+        setDuration(path, Duration.of(value, unit.toChronoUnit()));
+    }
+
+    @Override
+    public Duration getDuration(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.DURATION:
+                return (Duration) current.value(entry);
+            case ValueType.LONG:
+                return Duration.ofMillis(current.longValue(entry));
+            case ValueType.DOUBLE:
+                return Duration.ofNanos((long) (current.doubleValue(entry) * 1_000_000));
+            case ValueType.STRING:
+                return ValueParser.parseDuration(path, (String) current.value(entry));
+            default:
+                throw wrongType(current, entry, path, "duration");
+        }
+    }
+
+    @Override
+    public void setDuration(String path, Duration value) {
+        change(builder -> builder.putObject(path, ValueType.DURATION, value));
+    }
+
+    @Override
+    public Period getPeriod(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.PERIOD:
+                return (Period) current.value(entry);
+            case ValueType.LONG:
+                return Period.ofDays(Math.toIntExact(current.longValue(entry)));
+            case ValueType.STRING:
+                return ValueParser.parsePeriod(path, (String) current.value(entry));
+            default:
+                throw wrongType(current, entry, path, "period");
+        }
+    }
+
+    @Override
+    public void setPeriod(String path, Period value) {
+        change(builder -> builder.putObject(path, ValueType.PERIOD, value));
+    }
+
+    @Override
+    public List<Boolean> getBooleanList(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.BOOLEAN_ARRAY: {
+                boolean[] array = (boolean[]) current.value(entry);
+                List<Boolean> list = new ArrayList<>(array.length);
+                for (boolean element : array) {
+                    list.add(element);
+                }
+                return Collections.unmodifiableList(list);
+            }
+            case ValueType.STRING_LIST:
+                return strings(current, entry).stream()
+                        .map(element -> ValueParser.parseBoolean(path, element))
+                        .collect(Collectors.toUnmodifiableList());
+            default:
+                throw wrongType(current, entry, path, "boolean list");
+        }
+    }
+
+    @Override
+    public void setBooleanList(String path, List<Boolean> values) {
+        boolean[] array = new boolean[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        change(builder -> builder.putObject(path, ValueType.BOOLEAN_ARRAY, array));
+    }
+
+    @Override
+    public List<Number> getNumberList(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.LONG_ARRAY:
+                return Arrays.stream((long[]) current.value(entry)).boxed().collect(Collectors.toUnmodifiableList());
+            case ValueType.DOUBLE_ARRAY:
+                return Arrays.stream((double[]) current.value(entry)).boxed().collect(Collectors.toUnmodifiableList());
+            case ValueType.STRING_LIST:
+                return strings(current, entry).stream()
+                        .map(element -> ValueParser.parseNumber(path, element))
+                        .collect(Collectors.toUnmodifiableList());
+            default:
+                throw wrongType(current, entry, path, "number list");
+        }
+    }
+
+    @Override
+    public void setNumberList(String path, List<Number> values) {
+        if (values.stream().anyMatch(ValuesConfiguration::isFloatingPoint)) {
+            setDoubleArray(path, values.stream().mapToDouble(Number::doubleValue).toArray());
+        } else {
+            setLongArray(path, values.stream().mapToLong(Number::longValue).toArray());
+        }
+    }
+
+    @Override
+    public List<Integer> getIntList(String path) {
+        return Arrays.stream(getIntArray(path)).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public void setIntList(String path, List<Integer> values) {
+        setLongArray(path, values.stream().mapToLong(Integer::longValue).toArray());
+    }
+
+    @Override
+    public List<Long> getLongList(String path) {
+        return Arrays.stream(getLongArray(path)).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public void setLongList(String path, List<Long> values) {
+        setLongArray(path, values.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Override
+    public List<Double> getDoubleList(String path) {
+        return Arrays.stream(getDoubleArray(path)).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public void setDoubleList(String path, List<Double> values) {
+        setDoubleArray(path, values.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    @Override
+    public List<String> getStringList(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.STRING_LIST:
+                return strings(current, entry);
+            case ValueType.LONG_ARRAY:
+                return Arrays.stream((long[]) current.value(entry)).mapToObj(String::valueOf)
+                        .collect(Collectors.toUnmodifiableList());
+            case ValueType.DOUBLE_ARRAY:
+                return Arrays.stream((double[]) current.value(entry)).mapToObj(String::valueOf)
+                        .collect(Collectors.toUnmodifiableList());
+            default:
+                throw wrongType(current, entry, path, "string list");
+        }
+    }
+
+    @Override
+    public void setStringList(String path, List<String> values) {
+        List<String> list = List.copyOf(values);
+        change(builder -> builder.putObject(path, ValueType.STRING_LIST, list));
+    }
+
+    @Override
+    public <T extends Enum<T>> List<T> getEnumList(Class<T> enumClass, String path) {
+        return getStringList(path).stream()
+                .map(element -> toEnum(enumClass, path, element))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public <T extends Enum<T>> void setEnumList(Class<T> enumClass, String path, List<T> values) {
+        setStringList(path, values.stream().map(Enum::name).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Long> getBytesList(String path) {
+        return Arrays.stream(getBytesArray(path)).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public void setBytesList(String path, List<Long> values) {
+        setLongList(path, values);
+    }
+
+    @Override
+    public List<Long> getDurationList(String path, TimeUnit unit) {
+        return Arrays.stream(getDurationArray(path, unit)).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public void setDurationList(String path, TimeUnit unit, List<Long> values) {
+        setDurationArray(path, unit, values.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Override
+    public List<Duration> getDurationList(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.DURATION_LIST: {
+                @SuppressWarnings("unchecked")
+                List<Duration> list = (List<Duration>) current.value(entry);
+                return list;
+            }
+            case ValueType.LONG_ARRAY:
+                return Arrays.stream((long[]) current.value(entry)).mapToObj(Duration::ofMillis)
+                        .collect(Collectors.toUnmodifiableList());
+            case ValueType.STRING_LIST:
+                return strings(current, entry).stream()
+                        .map(element -> ValueParser.parseDuration(path, element))
+                        .collect(Collectors.toUnmodifiableList());
+            default:
+                throw wrongType(current, entry, path, "duration list");
+        }
+    }
+
+    @Override
+    public void setDurationList(String path, List<Duration> values) {
+        List<Duration> list = List.copyOf(values);
+        change(builder -> builder.putObject(path, ValueType.DURATION_LIST, list));
+    }
+
+    @Override
+    public int[] getIntArray(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.LONG_ARRAY: {
+                int[] array = new int[current.arrayLength(entry)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = toInt(path, current.longElement(entry, i));
+                }
+                return array;
+            }
+            case ValueType.DOUBLE_ARRAY: {
+                int[] array = new int[current.arrayLength(entry)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = toInt(path, toLong(path, current.doubleElement(entry, i)));
+                }
+                return array;
+            }
+            case ValueType.STRING_LIST:
+                return strings(current, entry).stream()
+                        .mapToInt(element -> toInt(path, ValueParser.parseNumber(path, element).longValue()))
+                        .toArray();
+            default:
+                throw wrongType(current, entry, path, "number list");
+        }
+    }
+
+    @Override
+    public void setIntArray(String path, int[] values) {
+        setLongArray(path, Arrays.stream(values).asLongStream().toArray());
+    }
+
+    @Override
+    public long[] getLongArray(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.LONG_ARRAY:
+                return current.longArray(entry);
+            case ValueType.DOUBLE_ARRAY: {
+                long[] array = new long[current.arrayLength(entry)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = toLong(path, current.doubleElement(entry, i));
+                }
+                return array;
+            }
+            case ValueType.STRING_LIST:
+                return strings(current, entry).stream()
+                        .mapToLong(element -> ValueParser.parseNumber(path, element).longValue())
+                        .toArray();
+            default:
+                throw wrongType(current, entry, path, "number list");
+        }
+    }
+
+    @Override
+    public void setLongArray(String path, long[] values) {
+        long[] array = values.clone();
+        change(builder -> builder.putObject(path, ValueType.LONG_ARRAY, array));
+    }
+
+    @Override
+    public double[] getDoubleArray(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        switch (current.type(entry)) {
+            case ValueType.DOUBLE_ARRAY:
+                return current.doubleArray(entry);
+            case ValueType.LONG_ARRAY: {
+                double[] array = new double[current.arrayLength(entry)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = current.longElement(entry, i);
+                }
+                return array;
+            }
+            case ValueType.STRING_LIST:
+                return strings(current, entry).stream()
+                        .mapToDouble(element -> ValueParser.parseNumber(path, element).doubleValue())
+                        .toArray();
+            default:
+                throw wrongType(current, entry, path, "number list");
+        }
+    }
+
+    @Override
+    public void setDoubleArray(String path, double[] values) {
+        double[] array = values.clone();
+        change(builder -> builder.putObject(path, ValueType.DOUBLE_ARRAY, array));
+    }
+
+    @Override
+    public long[] getBytesArray(String path) {
+        Values current = values();
+        int entry = entry(current, path);
+        if (current.type(entry) == ValueType.STRING_LIST) {
+            return strings(current, entry).stream().mapToLong(element -> ValueParser.parseBytes(path, element)).toArray();
+        }
+        return getLongArray(path);
+    }
+
+    @Override
+    public void setBytesArray(String path, long[] values) {
+        setLongArray(path, values);
+    }
+
+    @Override
+    public long[] getDurationArray(String path, TimeUnit unit) {
+        Values current = values();
+        int entry = entry(current, path);
+        if (current.type(entry) == ValueType.LONG_ARRAY) {
+            return Arrays.stream((long[]) current.value(entry)).map(millis -> unit.convert(millis, TimeUnit.MILLISECONDS)).toArray();
+        }
+        return getDurationList(path).stream().mapToLong(unit::convert).toArray();
+    }
+
+    @Override
+    public void setDurationArray(String path, TimeUnit unit, long[] values) {
+        setDurationList(path, Arrays.stream(values).mapToObj(value -> Duration.of(value, unit.toChronoUnit()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Persist configuration as binary snapshot &lt;configName&gt;.zcfg in the configuration directory.
+     * Snapshot is written to temporary file and atomically renamed, so readers never see partially written file.
+     *
+     * @param configName    new configuration name, that can be use to store.
+     * @throws IOException  when any problem with persisting obtained.
+     */
+    @Override
+    public void save(String configName) throws IOException {
+        BinaryFormat.write(values(), FileConfigurationFactory.snapshotFile(directory, configName));
+    }
+
+    private static int entry(Values values, String path) {
+        int entry = values.find(path);
+        if (entry == Values.ABSENT) {
+            throw new ConfigurationException("No configuration setting found for path '" + path + "'");
+        }
+        if (values.type(entry) == ValueType.NULL) {
+            throw new ConfigurationException("Configuration setting at path '" + path + "' is null");
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> strings(Values values, int entry) {
+        return (List<String>) values.value(entry);
+    }
+
+    private static ConfigurationException wrongType(Values values, int entry, String path, String required) {
+        return new ConfigurationException("Configuration setting at path '" + path + "' has type "
+                + ValueType.name(values.type(entry)) + ", but " + required + " is required");
+    }
+
+    private static <T extends Enum<T>> T toEnum(Class<T> enumClass, String path, String value) {
+        try {
+            return Enum.valueOf(enumClass, value);
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException("Value '" + value + "' at path '" + path + "' is not constant of "
+                    + enumClass.getName(), e);
+        }
+    }
+
+    private static boolean isFloatingPoint(Number value) {
+        return value instanceof Double || value instanceof Float || value instanceof BigDecimal;
+    }
+
+    private static long toLong(String path, double value) {
+        // (long) silently saturates, so refuse what does not fit like toInt does; fraction is truncated
+        if (!(value >= -0x1p63 && value < 0x1p63)) {
+            throw new ConfigurationException("Value '" + value + "' at path '" + path + "' is out of long range");
+        }
+        return (long) value;
+    }
+
+    private static int toInt(String path, long value) {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new ConfigurationException("Value '" + value + "' at path '" + path + "' is out of int range");
+        }
+        return (int) value;
+    }
+}
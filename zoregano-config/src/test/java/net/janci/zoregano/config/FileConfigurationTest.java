@@ -0,0 +1,471 @@
+package net.janci.zoregano.config;
+
+import net.janci.zoregano.api.config.Configuration;
+import net.janci.zoregano.api.config.ConfigurationFactory;
+import net.janci.zoregano.api.config.ConfigurationListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FileConfigurationTest {
+
+    private Path directory;
+
+    @org.junit.jupiter.api.BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("zoregano-config");
+    }
+
+    @org.junit.jupiter.api.AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSnapshotIsReadFromMappedFile() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.setBoolean("server.enabled", true);
+        configuration.setInt("server.threads", 16);
+        configuration.setDouble("server.load-factor", 0.75);
+        configuration.setString("server.name", "zoregano žltý 🚀");
+        configuration.setString("server.buffer", "128M");
+        configuration.setString("server.idle", "10m");
+        configuration.setDuration("server.timeout", Duration.ofMillis(1500));
+        configuration.setPeriod("server.retention", Period.of(1, 2, 3));
+        configuration.setLongArray("server.ports", new long[] {8080, 8443});
+        configuration.setDoubleList("server.weights", List.of(0.5, 1.5));
+        configuration.setBooleanList("server.flags", List.of(true, false));
+        configuration.setStringList("server.hosts", List.of("alpha", "beta"));
+        configuration.setEnum(TimeUnit.class, "server.unit", TimeUnit.SECONDS);
+        configuration.setDurationList("server.backoff", TimeUnit.SECONDS, List.of(1L, 2L));
+        configuration.setString("server.nothing", null);
+        configuration.setString("é", "latin");
+        configuration.setString("🚀", "supplementary");
+        configuration.setString("�", "replacement");
+        configuration.save("server");
+
+        FileConfigurationFactory factory = new FileConfigurationFactory(directory);
+        assertTrue(factory.containsConfiguration("server"));
+        Configuration loaded = factory.getConfiguration("server");
+        assertSame(loaded, factory.getConfiguration("server"));
+
+        assertTrue(loaded.getBoolean("server.enabled"));
+        assertEquals(16, loaded.getInt("server.threads"));
+        assertEquals(0.75, loaded.getDouble("server.load-factor"));
+        assertEquals("zoregano žltý 🚀", loaded.getString("server.name"));
+        assertEquals(Long.valueOf(128L << 20), loaded.getBytes("server.buffer"));
+        assertEquals(Duration.ofMinutes(10), loaded.getDuration("server.idle"));
+        assertEquals(1500, loaded.getDuration("server.timeout", TimeUnit.MILLISECONDS));
+        assertEquals(Period.of(1, 2, 3), loaded.getPeriod("server.retention"));
+        assertArrayEquals(new long[] {8080, 8443}, loaded.getLongArray("server.ports"));
+        assertArrayEquals(new int[] {8080, 8443}, loaded.getIntArray("server.ports"));
+        assertEquals(List.of(0.5, 1.5), loaded.getDoubleList("server.weights"));
+        assertEquals(List.of(true, false), loaded.getBooleanList("server.flags"));
+        assertEquals(List.of("alpha", "beta"), loaded.getStringList("server.hosts"));
+        assertEquals(TimeUnit.SECONDS, loaded.getEnum(TimeUnit.class, "server.unit"));
+        assertArrayEquals(new long[] {1000, 2000}, loaded.getDurationArray("server.backoff", TimeUnit.MILLISECONDS));
+        assertTrue(loaded.hasPathOrNull("server.nothing"));
+        assertFalse(loaded.hasPath("server.nothing"));
+        assertFalse(loaded.hasPathOrNull("server.missing"));
+        assertEquals("latin", loaded.getString("é"));
+        assertEquals("supplementary", loaded.getString("🚀"));
+        assertEquals("replacement", loaded.getString("�"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testChangeCreatesNewVersion() throws IOException {
+        FileConfigurationFactory factory = new FileConfigurationFactory(directory);
+        assertFalse(factory.containsConfiguration("kernel"));
+
+        Configuration configuration = factory.getConfiguration("kernel");
+        long version = configuration.version();
+        configuration.setLong("kernel.workers", 4L);
+        assertTrue(configuration.version() > version);
+
+        long[] ports = {1, 2};
+        configuration.setLongArray("kernel.ports", ports);
+        ports[0] = 10;
+        configuration.getLongArray("kernel.ports")[1] = 20;
+        assertArrayEquals(new long[] {1, 2}, configuration.getLongArray("kernel.ports"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testMissingAndWrongValues() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.setString("name", "zoregano");
+        configuration.setDuration("timeout", TimeUnit.MINUTES, 2);
+
+        assertThrows(ConfigurationException.class, () -> configuration.getString("missing"));
+        assertThrows(ConfigurationException.class, () -> configuration.getLong("name"));
+        assertThrows(ConfigurationException.class, () -> configuration.getEnum(ChronoUnit.class, "name"));
+        assertThrows(ConfigurationException.class, () -> configuration.getLongList("timeout"));
+        assertEquals(120, configuration.getDuration("timeout", TimeUnit.SECONDS));
+
+        configuration.setLong("big", 1L + Integer.MAX_VALUE);
+        configuration.setLongArray("bigs", new long[] {1, Integer.MIN_VALUE - 1L});
+        assertThrows(ConfigurationException.class, () -> configuration.getInt("big"));
+        assertThrows(ConfigurationException.class, () -> configuration.getIntArray("bigs"));
+        assertThrows(ConfigurationException.class, () -> configuration.getIntList("bigs"));
+
+        configuration.setDouble("huge", 1e30);
+        configuration.setDoubleArray("huges", new double[] {1.5, -1e30});
+        configuration.setDoubleArray("fractions", new double[] {1.5, -2.5});
+        assertThrows(ConfigurationException.class, () -> configuration.getLong("huge"));
+        assertThrows(ConfigurationException.class, () -> configuration.getInt("huge"));
+        assertThrows(ConfigurationException.class, () -> configuration.getLongArray("huges"));
+        assertThrows(ConfigurationException.class, () -> configuration.getIntArray("huges"));
+        assertArrayEquals(new long[] {1, -2}, configuration.getLongArray("fractions"));
+        assertArrayEquals(new int[] {1, -2}, configuration.getIntArray("fractions"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testArraysRoundTripThroughSnapshot() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.setIntArray("server.ports", new int[] {8080, Integer.MIN_VALUE});
+        configuration.setDoubleArray("server.weights", new double[] {0.5, -1.5});
+        configuration.setBytesArray("server.buffers", new long[] {1024, 1L << 40});
+        configuration.setIntArray("empty.ints", new int[0]);
+        configuration.setLongArray("empty.longs", new long[0]);
+        configuration.setDoubleArray("empty.doubles", new double[0]);
+        configuration.setDurationArray("empty.durations", TimeUnit.SECONDS, new long[0]);
+        configuration.setStringList("server.names", List.of("8080", "http"));
+        configuration.save("arrays");
+
+        Configuration loaded = new FileConfigurationFactory(directory).getConfiguration("arrays");
+        assertArrayEquals(new int[] {8080, Integer.MIN_VALUE}, loaded.getIntArray("server.ports"));
+        assertEquals(List.of(8080, Integer.MIN_VALUE), loaded.getIntList("server.ports"));
+        assertArrayEquals(new double[] {0.5, -1.5}, loaded.getDoubleArray("server.weights"));
+        assertArrayEquals(new long[] {0, -1}, loaded.getLongArray("server.weights"));
+        assertArrayEquals(new double[] {8080, Integer.MIN_VALUE}, loaded.getDoubleArray("server.ports"));
+        long[] ports = loaded.getLongArray("server.ports");
+        ports[0] = 1;
+        assertArrayEquals(new long[] {8080, Integer.MIN_VALUE}, loaded.getLongArray("server.ports"));
+        assertArrayEquals(new long[] {1024, 1L << 40}, loaded.getBytesArray("server.buffers"));
+        assertEquals(0, loaded.getIntArray("empty.ints").length);
+        assertEquals(0, loaded.getLongArray("empty.longs").length);
+        assertEquals(0, loaded.getDoubleArray("empty.doubles").length);
+        assertEquals(0, loaded.getDurationArray("empty.durations", TimeUnit.MILLISECONDS).length);
+        assertEquals(List.of(), loaded.getLongList("empty.longs"));
+
+        assertThrows(ConfigurationException.class, () -> loaded.getIntArray("server.names"));
+        assertThrows(ConfigurationException.class, () -> loaded.getLongArray("server.names"));
+        assertThrows(ConfigurationException.class, () -> loaded.getDoubleArray("server.names"));
+        assertThrows(ConfigurationException.class, () -> loaded.getBytesArray("server.names"));
+        assertThrows(ConfigurationException.class, () -> loaded.getIntArray("server.nothing"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSaveKeepsPermissionsOfSnapshot() throws IOException {
+        assumeTrue(Files.getFileStore(directory).supportsFileAttributeView(PosixFileAttributeView.class));
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.setInt("server.threads", 16);
+        configuration.save("application");
+        Path file = FileConfigurationFactory.snapshotFile(directory, "application");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, permissions);
+
+        configuration.setInt("server.threads", 32);
+        configuration.save("application");
+
+        assertEquals(permissions, Files.getPosixFilePermissions(file));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.collect(Collectors.toList()), "Temporary file must not be left");
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testCorruptedSnapshotIsRefused() throws IOException {
+        Files.writeString(directory.resolve("broken" + BinaryFormat.EXTENSION), "server.threads = 16");
+
+        assertThrows(ConfigurationException.class, () -> new FileConfigurationFactory(directory).getConfiguration("broken"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testListenersAreNotifiedAboutChangedSubtree() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        List<Set<String>> serverChanges = new ArrayList<>();
+        List<Set<String>> allChanges = new ArrayList<>();
+        ConfigurationListener serverListener = (changed, paths) -> serverChanges.add(paths);
+        configuration.addListener("server", serverListener);
+        configuration.addListener("", (changed, paths) -> allChanges.add(paths));
+
+        configuration.setInt("server.threads", 16);
+        configuration.setInt("server.threads", 16);
+        configuration.setInt("serverless.threads", 4);
+        configuration.setString("server", "main");
+        configuration.removeListener(serverListener);
+        configuration.setInt("server.threads", 32);
+
+        assertEquals(List.of(Set.of("server.threads"), Set.of("server")), serverChanges);
+        assertEquals(4, allChanges.size());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testChangedSnapshotIsReloaded() throws IOException, InterruptedException {
+        Configuration written = new FileConfigurationFactory(directory).emptyConfiguration();
+        written.setInt("server.threads", 16);
+        written.setString("server.name", "zoregano");
+        written.setInt("client.threads", 4);
+        written.save("application");
+
+        try (FileConfigurationFactory factory = new FileConfigurationFactory(directory, true)) {
+            Configuration configuration = factory.getConfiguration("application");
+            long version = configuration.version();
+            BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+            configuration.addListener("server", (changed, paths) -> changes.add(paths));
+
+            written.setInt("server.threads", 32);
+            written.setInt("client.threads", 8);
+            written.save("application");
+
+            assertEquals(Set.of("server.threads"), changes.poll(10, TimeUnit.SECONDS));
+            assertEquals(32, configuration.getInt("server.threads"));
+            assertEquals(8, configuration.getInt("client.threads"));
+            assertTrue(configuration.version() > version);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDeletedSnapshotClearsConfiguration() throws IOException, InterruptedException {
+        Configuration written = new FileConfigurationFactory(directory).emptyConfiguration();
+        written.setInt("server.threads", 16);
+        written.setInt("client.threads", 4);
+        written.save("application");
+
+        try (FileConfigurationFactory factory = new FileConfigurationFactory(directory, true)) {
+            Configuration configuration = factory.getConfiguration("application");
+            BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+            configuration.addListener("", (changed, paths) -> changes.add(paths));
+
+            Files.delete(FileConfigurationFactory.snapshotFile(directory, "application"));
+
+            assertEquals(Set.of("server.threads", "client.threads"), changes.poll(10, TimeUnit.SECONDS));
+            assertThrows(ConfigurationException.class, () -> configuration.getInt("server.threads"));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSnapshotInSubdirectoryIsReloaded() throws IOException, InterruptedException {
+        Configuration written = new FileConfigurationFactory(directory).emptyConfiguration();
+        written.setInt("pool.size", 4);
+        written.save("tenant/jdbc");
+
+        try (FileConfigurationFactory factory = new FileConfigurationFactory(directory, true)) {
+            Configuration configuration = factory.getConfiguration("tenant/jdbc");
+            assertEquals(4, configuration.getInt("pool.size"));
+            BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+            configuration.addListener("pool", (changed, paths) -> changes.add(paths));
+
+            written.setInt("pool.size", 8);
+            written.save("tenant/jdbc");
+            assertEquals(Set.of("pool.size"), changes.poll(10, TimeUnit.SECONDS));
+            assertEquals(8, configuration.getInt("pool.size"));
+
+            Configuration created = factory.getConfiguration("region/tenant/jdbc");
+            created.addListener("pool", (changed, paths) -> changes.add(paths));
+            written.save("region/tenant/jdbc");
+            assertEquals(Set.of("pool.size"), changes.poll(10, TimeUnit.SECONDS));
+            assertEquals(8, created.getInt("pool.size"));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testScopedConfigurationIsSavedAndReloadedInScope() throws IOException, InterruptedException {
+        ConfigurationFactory tenant = new FileConfigurationFactory(directory).scoped("tenant-a");
+        Configuration written = tenant.emptyConfiguration();
+        written.setInt("pool.size", 4);
+        written.save("jdbc");
+        assertTrue(Files.exists(FileConfigurationFactory.snapshotFile(directory, "tenant-a.jdbc")));
+        assertFalse(Files.exists(FileConfigurationFactory.snapshotFile(directory, "jdbc")));
+
+        try (FileConfigurationFactory factory = new FileConfigurationFactory(directory, true)) {
+            Configuration configuration = factory.scoped("tenant-a").getConfiguration("jdbc");
+            BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+            configuration.addListener("pool", (changed, paths) -> changes.add(paths));
+
+            written.commit("jdbc", batch -> batch.setInt("pool.size", 8));
+
+            assertEquals(Set.of("pool.size"), changes.poll(10, TimeUnit.SECONDS));
+            assertEquals(8, configuration.getInt("pool.size"));
+            assertFalse(Files.exists(FileConfigurationFactory.snapshotFile(directory, "jdbc")));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSnapshotIsImmutable() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.setInt("server.threads", 16);
+
+        Configuration snapshot = configuration.snapshot();
+        configuration.setInt("server.threads", 32);
+
+        assertEquals(16, snapshot.getInt("server.threads"));
+        assertEquals(32, configuration.getInt("server.threads"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setInt("server.threads", 64));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.update(changes -> changes.setInt("server.threads", 64)));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testUpdateIsAppliedAtomically() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.setInt("server.threads", 16);
+        List<Set<String>> changes = new ArrayList<>();
+        configuration.addListener("", (changed, paths) -> changes.add(paths));
+        long version = configuration.version();
+
+        configuration.update(batch -> {
+            batch.setInt("server.threads", batch.getInt("server.threads") * 2);
+            batch.setString("server.name", "zoregano");
+            assertEquals(32, batch.getInt("server.threads"));
+            assertEquals(16, configuration.getInt("server.threads"));
+        });
+
+        assertEquals(32, configuration.getInt("server.threads"));
+        assertEquals("zoregano", configuration.getString("server.name"));
+        assertEquals(version + 1, configuration.version());
+        assertEquals(List.of(Set.of("server.threads", "server.name")), changes);
+
+        assertThrows(IllegalStateException.class, () -> configuration.update(batch -> {
+            batch.setInt("server.threads", 64);
+            throw new IllegalStateException();
+        }));
+        assertEquals(32, configuration.getInt("server.threads"));
+        assertEquals(version + 1, configuration.version());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testConcurrentReadersSeeConsistentValues() throws IOException, InterruptedException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.update(batch -> {
+            batch.setLong("server.min", 0L);
+            batch.setLong("server.max", 0L);
+            batch.setLongArray("server.range", new long[] {0, 0});
+        });
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                long lastVersion = 0;
+                try {
+                    while (running.get()) {
+                        Configuration snapshot = configuration.snapshot();
+                        long min = snapshot.getLong("server.min");
+                        assertEquals(min, snapshot.getLong("server.max"));
+                        assertArrayEquals(new long[] {min, min}, snapshot.getLongArray("server.range"));
+                        assertTrue(snapshot.version() >= lastVersion);
+                        lastVersion = snapshot.version();
+                        reads.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (long i = 1; i <= 20_000 && failure.get() == null; i++) {
+            long value = i;
+            configuration.update(batch -> {
+                batch.setLong("server.min", value);
+                batch.setLongArray("server.range", new long[] {value, value});
+                batch.setLong("server.max", value);
+            });
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(reads.get() > 0);
+        assertEquals(20_000, configuration.getLong("server.max"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testCommitIsValidatedAndPersistedOnce() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).getConfiguration("modules");
+        List<Set<String>> changes = new ArrayList<>();
+        configuration.addListener("", (changed, paths) -> changes.add(paths));
+        long version = configuration.version();
+
+        configuration.commit("modules", batch -> {
+            for (int i = 0; i < 200; i++) {
+                batch.setInt("module-" + i + ".threads", i);
+            }
+        }, batch -> {
+            if (batch.getInt("module-199.threads") != 199) {
+                throw new IllegalArgumentException();
+            }
+        });
+
+        assertEquals(version + 1, configuration.version());
+        assertEquals(1, changes.size());
+        assertEquals(200, changes.get(0).size());
+        Configuration persisted = new FileConfigurationFactory(directory).getConfiguration("modules");
+        assertEquals(199, persisted.getInt("module-199.threads"));
+
+        assertThrows(IllegalArgumentException.class, () -> configuration.commit("modules",
+                batch -> batch.setInt("module-0.threads", -1), batch -> {
+                    if (batch.getInt("module-0.threads") < 0) {
+                        throw new IllegalArgumentException("threads must not be negative");
+                    }
+                }));
+        assertEquals(0, configuration.getInt("module-0.threads"));
+        assertEquals(0, new FileConfigurationFactory(directory).getConfiguration("modules").getInt("module-0.threads"));
+        assertEquals(version + 1, configuration.version());
+        assertEquals(1, changes.size());
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("modules" + BinaryFormat.EXTENSION), files.map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFailedCommitDoesNotChangeValues() throws IOException {
+        Configuration configuration = new FileConfigurationFactory(directory).emptyConfiguration();
+        configuration.setInt("server.threads", 16);
+        long version = configuration.version();
+
+        // snapshot file can not replace non-empty directory
+        Path blocked = FileConfigurationFactory.snapshotFile(directory, "blocked");
+        Files.createDirectories(blocked);
+        Files.writeString(blocked.resolve("content"), "content");
+
+        assertThrows(IOException.class, () -> configuration.commit("blocked", batch -> batch.setInt("server.threads", 32)));
+        assertEquals(16, configuration.getInt("server.threads"));
+        assertEquals(version, configuration.version());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("blocked" + BinaryFormat.EXTENSION), files.map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+        }
+    }
+}
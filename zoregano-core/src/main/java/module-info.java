@@ -1,16 +1,39 @@
 import net.janci.zoregano.api.SystemProperty;
+import net.janci.zoregano.core.AsyncLogModule;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
+import net.janci.zoregano.concurrent.ExecutorStatistics;
+import net.janci.zoregano.core.BIOSImpl;
+import net.janci.zoregano.core.LayeredKernelModule;
+import net.janci.zoregano.core.MetricsExporter;
 import net.janci.zoregano.core.internal.KernelFinder;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
 
 /**
  * Default bootloader for Zoregano System.
  */
 @SystemProperty(value = KernelFinder.PREFERRED_CLASS_PROPERTY_NAME, description = "Define kernel class name")
+@SystemProperty(value = KernelFinder.INSTANCES_PROPERTY_NAME, description = "Run several kernels side by side, defined as <name>[:<class>],... e.g. 'tenant-a,tenant-b'")
+@SystemProperty(value = BootTimeline.REPORT_PROPERTY_NAME, description = "Define file, where boot timeline report is written (CSV for *.csv, otherwise JSON)")
+@SystemProperty(value = BIOSImpl.LOAD_TIMEOUT_PROPERTY_NAME, description = "Define timeout of load of every BIOS module in milliseconds, default is '60000'")
+@SystemProperty(value = BIOSImpl.UNLOAD_TIMEOUT_PROPERTY_NAME, description = "Define deadline of unload of every BIOS module in milliseconds, default is '5000'")
+@SystemProperty(value = LayeredKernelModule.DIRECTORY_PROPERTY_NAME, description = "Define directory with jars of kernel modules, that are loaded into own module layers by kernel calling LayeredKernelModule.discover, default is 'artifacts/modules'")
+@SystemProperty(value = AsyncLogModule.FILE_PROPERTY_NAME, description = "Define file, where log messages are appended by asynchronous writer, messages are written to standard error by default")
+@SystemProperty(value = AsyncLogModule.BUFFER_SIZE_PROPERTY_NAME, description = "Define count of preallocated log events (power of two), default is '4096'")
+@SystemProperty(value = MetricsExporter.TARGET_PROPERTY_NAME, description = "Define file or udp://host:port, where metrics are exported, metrics are not exported by default")
+@SystemProperty(value = MetricsExporter.INTERVAL_PROPERTY_NAME, description = "Define interval of export of metrics in milliseconds, default is '10000'")
+@SystemProperty(value = ExecutorRegistry.VIRTUAL_THREADS_PROPERTY_NAME, description = "Run blocking I/O tasks (e.g. loading of BIOS modules) by virtual threads on Java 21 and newer, default is 'false'")
+@SystemProperty(value = ExecutorStatistics.JMX_PROPERTY_NAME, description = "Register executor statistics as MXBeans, default is 'false'")
 module zoregano.core {
     requires zoregano.api;
     requires zoregano.concurrent;
+    requires jdk.jfr;
+    requires jdk.management;
 
     uses net.janci.zoregano.api.Kernel;
     uses net.janci.zoregano.api.BIOSModule;
+    uses net.janci.zoregano.api.KernelModule;
 
     exports net.janci.zoregano.core;
+
+    provides net.janci.zoregano.api.BIOSModule with net.janci.zoregano.core.AsyncLogModule, net.janci.zoregano.core.MetricsExporter;
 }
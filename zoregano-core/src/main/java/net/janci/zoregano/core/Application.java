@@ -2,17 +2,54 @@ package net.janci.zoregano.core;
 
 import net.janci.zoregano.api.BIOS;
 import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.config.ConfigurationFactory;
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.concurrent.ErrorHandler;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
 import net.janci.zoregano.core.internal.FindKernelException;
 import net.janci.zoregano.core.internal.KernelFinder;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main Class for Zoregano System. Class start BIOS,
- * load BIOSModules and delegate processing to Kernel.
+ * load BIOSModules and delegate processing to Kernel. Errors of threads of zoregano-concurrent are reported
+ * by {@link Logger}, see {@link ErrorHandler#setSystem(ErrorHandler)}.
+ *
+ * Boot is pipelined: kernel is discovered and constructed by I/O pool of {@link ExecutorRegistry#system()}
+ * concurrently with discovery and load of BIOS modules, and main thread joins it only before initialization
+ * of kernel, that needs loaded BIOS. Every phase of boot is recorded in the {@link BootTimeline}, so overlap of
+ * "kernel.discovery" with "bios.*" phases and short "kernel.discovery.await" show the saving. Kernel is managed by {@link KernelSupervisor},
+ * that is the system {@link net.janci.zoregano.api.KernelController}, so kernel can be restarted in the same JVM.
+ * Main thread runs kernel by {@link KernelSupervisor#run()}: when kernel is restarted while its init blocks, main
+ * thread initializes its next incarnation after the previous one is terminated, and it continues to termination of
+ * the system only when kernel is not restarted.
+ *
+ * When system property -Dkernel.instances is defined, several kernels run side by side in multi-kernel mode, see
+ * {@link KernelFinder#findKernels()} and {@link KernelGroup}. They share BIOS, but every kernel has own controller,
+ * own partition of CPUs and executors and own scope of configurations.
+ *
+ * System is terminated by the end of main method or by the shutdown hook, whatever comes first. Kernel and BIOS
+ * are terminated only once, the second caller waits, until the termination is finished.
  */
 public class Application {
 
+    private static final Logger LOGGER = Logger.getLogger(Application.class);
+
+    private static volatile KernelSupervisor loadedKernel = null;
+
+    private static volatile KernelGroup loadedKernels = null;
+
+    private static volatile BIOS loadedBIOS = null;
 
-    private static Kernel loadedKernel = null;
+    private static final BootTimeline timeline = new BootTimeline();
+
+    private static final AtomicBoolean reportWritten = new AtomicBoolean();
 
     /**
      * Initialize Zoregano Application.
@@ -20,30 +57,102 @@ public class Application {
      * @param args  command line arguments
      */
     public static void main(String[] args) {
+        ErrorHandler.setSystem(Logger.getLogger(ErrorHandler.class)::error);
         Runtime.getRuntime().addShutdownHook(new Thread(Application::terminate));
 
-        BIOS bios = new BIOSImpl(args);
-        bios.loadBIOSModules();
-        bios.awaitToStartKernel();
+        boolean multiKernel = System.getProperty(KernelFinder.INSTANCES_PROPERTY_NAME) != null;
+        CompletableFuture<Map<String, Kernel>> kernelDiscovery =
+                CompletableFuture.supplyAsync(() -> discoverKernels(multiKernel), ExecutorRegistry.system().io());
+
+        BIOS bios;
+        try (BootTimeline.Phase ignored = timeline.begin("bios.construct")) {
+            bios = new BIOSImpl(args, timeline);
+        }
+        loadedBIOS = bios;
+        try (BootTimeline.Phase ignored = timeline.begin("bios.load")) {
+            bios.loadBIOSModules();
+        }
+        try (BootTimeline.Phase ignored = timeline.begin("bios.await")) {
+            bios.awaitToStartKernel();
+        }
 
         try {
-            Kernel kernel = new KernelFinder().findKernel();
-            kernel.getController().setAsDefaultInstance();
+            Map<String, Kernel> kernels;
+            try (BootTimeline.Phase ignored = timeline.begin("kernel.discovery.await")) {
+                kernels = kernelDiscovery.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof FindKernelException) {
+                    throw (FindKernelException) e.getCause();
+                }
+                throw e;
+            }
+            if (multiKernel) {
+                KernelGroup group = new KernelGroup(kernels, timeline, Runtime.getRuntime().availableProcessors(),
+                        ConfigurationFactory.getInstance());
+                loadedKernels = group;
 
-            loadedKernel = kernel;
+                group.run();
+            } else {
+                KernelSupervisor supervisor = new KernelSupervisor(kernels.values().iterator().next(), timeline);
+                supervisor.setAsDefaultInstance();
 
-            kernel.init();
-            kernel.terminate();
+                loadedKernel = supervisor;
+
+                supervisor.run();
+            }
         } catch (FindKernelException e) {
-            System.err.println(e.getMessage());
+            LOGGER.error(e.getMessage());
         }
 
-        bios.terminate();
+        terminate();
+    }
+
+    private static Map<String, Kernel> discoverKernels(boolean multiKernel) {
+        try (BootTimeline.Phase ignored = timeline.begin("kernel.discovery")) {
+            KernelFinder finder = new KernelFinder();
+            return multiKernel ? finder.findKernels() : Map.of("kernel", finder.findKernel());
+        } catch (FindKernelException e) {
+            throw new CompletionException(e);
+        }
     }
 
     private static void terminate() {
-        if (loadedKernel != null) {
-            loadedKernel.terminate();
+        terminate(loadedKernels, loadedKernel, loadedBIOS, timeline);
+        writeReport();
+    }
+
+    /**
+     * Terminate kernels and then BIOS. It is called by the end of main method and by the shutdown hook, also while
+     * main thread is blocked in init of kernel.
+     *
+     * @param kernels   kernels of multi-kernel mode, or null
+     * @param kernel    single kernel, or null
+     * @param bios      BIOS, or null when it was not constructed yet
+     * @param timeline  timeline, where termination of BIOS is recorded
+     */
+    static void terminate(KernelGroup kernels, KernelSupervisor kernel, BIOS bios, BootTimeline timeline) {
+        if (kernels != null) {
+            kernels.terminate();
+        }
+
+        if (kernel != null) {
+            kernel.terminate();
+        }
+
+        if (bios != null) {
+            try (BootTimeline.Phase ignored = timeline.begin("bios.terminate")) {
+                bios.terminate();
+            }
+        }
+    }
+
+    private static void writeReport() {
+        if (reportWritten.compareAndSet(false, true)) {
+            try {
+                timeline.writeReport();
+            } catch (IOException e) {
+                LOGGER.warn("Boot timeline report can not be written: " + e.getMessage());
+            }
         }
     }
 
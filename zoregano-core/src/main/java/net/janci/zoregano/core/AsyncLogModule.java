@@ -0,0 +1,309 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.BIOSModule;
+import net.janci.zoregano.api.logging.LogLevel;
+import net.janci.zoregano.api.logging.LogSink;
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.concurrent.RingBuffer;
+import net.janci.zoregano.concurrent.WaitStrategy;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reference logging {@link BIOSModule}, that installs itself as {@link LogSink} of all {@link Logger}s and appends
+ * messages to the file defined by system property {@value #FILE_PROPERTY_NAME}. When the property is not defined,
+ * module does nothing and messages are written to {@link System#err}.
+ *
+ * Logging thread only copies message to preallocated event in the {@link RingBuffer} of size defined by system
+ * property {@value #BUFFER_SIZE_PROPERTY_NAME}, so logging does not allocate and does not wait for I/O. Only message
+ * longer than {@value #MESSAGE_CAPACITY} chars is copied to new string. One writer thread formats all events
+ * available in the buffer and writes them to the file through one reused buffer, so the whole batch costs as few
+ * writes as possible. Writer does not allocate per message either: it formats timestamp only once per second and
+ * reuses its line and char buffers, only stack trace of logged error is formatted to new string. Exception thrown
+ * while an event is written is logged as next message, writer thread never writes to the console.
+ *
+ * When writer falls behind and the buffer is full, new messages are dropped instead of blocking of logging threads.
+ * Count of dropped messages is written to the log with the next written message.
+ */
+public class AsyncLogModule implements BIOSModule, LogSink {
+
+    /**
+     * Name of system property, that define file of log.
+     */
+    public final static String FILE_PROPERTY_NAME = "log.file";
+
+    /**
+     * Name of system property, that define count of preallocated log events, power of two.
+     */
+    public final static String BUFFER_SIZE_PROPERTY_NAME = "log.buffer-size";
+
+    /**
+     * Count of message chars, that are stored in preallocated event.
+     */
+    public final static int MESSAGE_CAPACITY = 512;
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncLogModule.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    private final int bufferSize;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile RingBuffer<LogEvent> events;
+
+    private FileChannel channel;
+
+    private final StringBuilder line = new StringBuilder(MESSAGE_CAPACITY + 128);
+
+    private char[] lineChars = new char[MESSAGE_CAPACITY + 128];
+
+    private CharBuffer lineBuffer = CharBuffer.wrap(lineChars);
+
+    private final StringBuilder second = new StringBuilder(32);
+
+    private long formattedSecond = Long.MIN_VALUE;
+
+    private final ByteBuffer output = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /**
+     * Create module configured by system properties {@value #FILE_PROPERTY_NAME}
+     * and {@value #BUFFER_SIZE_PROPERTY_NAME} (default 4096).
+     */
+    public AsyncLogModule() {
+        this(System.getProperty(FILE_PROPERTY_NAME) != null ? Path.of(System.getProperty(FILE_PROPERTY_NAME)) : null,
+                Integer.getInteger(BUFFER_SIZE_PROPERTY_NAME, 4096));
+    }
+
+    /**
+     * @param file          file of log, messages are appended to it; nothing is logged by module, when it is null
+     * @param bufferSize    count of preallocated log events, power of two
+     */
+    public AsyncLogModule(Path file, int bufferSize) {
+        this.file = file;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void load(String[] args) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new IllegalStateException("Log file '" + file + "' can not be opened", e);
+        }
+        RingBuffer<LogEvent> buffer = new RingBuffer<>("log", bufferSize, LogEvent::new, WaitStrategy.PARK);
+        // failure of writer is logged without blocking, by the next batch of the same writer
+        buffer.subscribe("writer", (event, sequence, endOfBatch) -> write(event, endOfBatch), LOGGER::error);
+        events = buffer;
+        Logger.setSink(this);
+    }
+
+    /**
+     * Messages logged after unload are written to {@link System#err} again. Writer writes all messages logged before
+     * unload and it forces them to the disk.
+     */
+    @Override
+    public void unload() {
+        RingBuffer<LogEvent> buffer = events;
+        if (buffer == null) {
+            return;
+        }
+        Logger.setSink(null);
+        events = null;
+        buffer.close();
+        try (FileChannel closing = channel) {
+            closing.force(false);
+        } catch (IOException e) {
+            System.err.println("Log file '" + file + "' can not be closed: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    @Override
+    public void log(LogLevel level, String logger, CharSequence message, Throwable error) {
+        RingBuffer<LogEvent> buffer = events;
+        long sequence;
+        try {
+            sequence = buffer != null ? buffer.tryNext() : -1;
+        } catch (IllegalStateException e) {
+            // module is unloaded concurrently
+            sequence = -1;
+        }
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        buffer.get(sequence).set(level, logger, message, error);
+        buffer.publish(sequence);
+    }
+
+    /**
+     * @return count of messages dropped, because buffer was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void write(LogEvent event, boolean endOfBatch) {
+        line.setLength(0);
+        long droppedCount = dropped.sumThenReset();
+        if (droppedCount > 0) {
+            appendHeader(event.timestamp, LogLevel.WARN, event.thread, AsyncLogModule.class.getName());
+            line.append(droppedCount).append(" log messages were dropped, because log buffer was full\n");
+        }
+        appendHeader(event.timestamp, event.level, event.thread, event.logger);
+        if (event.overflow != null) {
+            line.append(event.overflow);
+        } else {
+            line.append(event.message, 0, event.length);
+        }
+        line.append('\n');
+        if (event.error != null) {
+            StringWriter trace = new StringWriter();
+            event.error.printStackTrace(new PrintWriter(trace));
+            line.append(trace.getBuffer());
+        }
+        event.clear();
+
+        try {
+            encode(toBuffer(line));
+            if (endOfBatch) {
+                flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Log file '" + file + "' can not be written: " + e.getMessage());
+            output.clear();
+        }
+    }
+
+    private void appendHeader(long timestamp, LogLevel level, String thread, String logger) {
+        appendTimestamp(timestamp);
+        line.append(' ').append(level).append(" [").append(thread).append("] ").append(logger).append(" - ");
+    }
+
+    /**
+     * Append ISO-8601 instant with milliseconds, e.g. 2024-01-31T10:15:30.042Z. Date and time up to seconds
+     * is formatted only when the second changes.
+     */
+    private void appendTimestamp(long timestamp) {
+        long epochSecond = Math.floorDiv(timestamp, 1000L);
+        if (epochSecond != formattedSecond) {
+            second.setLength(0);
+            DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochSecond(epochSecond), second);
+            // drop zone 'Z', milliseconds are appended before it
+            second.setLength(second.length() - 1);
+            formattedSecond = epochSecond;
+        }
+        int millis = (int) Math.floorMod(timestamp, 1000L);
+        line.append(second).append('.')
+                .append((char) ('0' + millis / 100))
+                .append((char) ('0' + millis / 10 % 10))
+                .append((char) ('0' + millis % 10))
+                .append('Z');
+    }
+
+    /**
+     * @return reused char buffer with content of the line, it grows only for line longer than any line before
+     */
+    private CharBuffer toBuffer(StringBuilder text) {
+        int length = text.length();
+        if (length > lineChars.length) {
+            lineChars = new char[Math.max(length, 2 * lineChars.length)];
+            lineBuffer = CharBuffer.wrap(lineChars);
+        }
+        text.getChars(0, length, lineChars, 0);
+        lineBuffer.clear().limit(length);
+        return lineBuffer;
+    }
+
+    private void encode(CharBuffer chars) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, output, false);
+            if (!result.isOverflow()) {
+                return;
+            }
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+
+    /**
+     * Preallocated log event, that is reused for all messages written to its slot of ring buffer.
+     */
+    private static final class LogEvent {
+
+        private final char[] message = new char[MESSAGE_CAPACITY];
+
+        private int length;
+
+        private String overflow;
+
+        private long timestamp;
+
+        private LogLevel level;
+
+        private String logger;
+
+        private String thread;
+
+        private Throwable error;
+
+        private void set(LogLevel level, String logger, CharSequence text, Throwable error) {
+            this.timestamp = System.currentTimeMillis();
+            this.level = level;
+            this.logger = logger;
+            this.thread = Thread.currentThread().getName();
+            this.error = error;
+            int textLength = text.length();
+            if (textLength <= MESSAGE_CAPACITY) {
+                for (int i = 0; i < textLength; i++) {
+                    message[i] = text.charAt(i);
+                }
+                length = textLength;
+                overflow = null;
+            } else {
+                overflow = text.toString();
+            }
+        }
+
+        private void clear() {
+            overflow = null;
+            logger = null;
+            thread = null;
+            error = null;
+        }
+    }
+}
@@ -2,38 +2,110 @@ package net.janci.zoregano.core;
 
 import net.janci.zoregano.api.BIOS;
 import net.janci.zoregano.api.BIOSModule;
-import net.janci.zoregano.concurrent.NamedThreadFactory;
+import net.janci.zoregano.api.internal.ServiceIndex;
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.concurrent.EventBus;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
+import net.janci.zoregano.core.internal.ModuleGraph;
+import net.janci.zoregano.core.internal.ShutdownCoordinator;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation for {@link BIOS} interface.
  *
+ * Modules are loaded as dependency graph defined by {@link BIOSModule#dependsOn()}. Every module is started
+ * immediately, when all its dependencies are loaded. Module is loaded by {@link BIOSModule#loadAsync(String[])},
+ * that must complete in the timeout defined by system property {@value #LOAD_TIMEOUT_PROPERTY_NAME}, otherwise
+ * the module is reported as failed and modules, that depend on it, are started anyway. Modules are loaded and unloaded by I/O pool of
+ * {@link ExecutorRegistry}. Registry and {@link EventBus} of the system are closed by {@link #terminate()}.
+ *
+ * Modules are unloaded in the reverse order of dependency graph by {@link ShutdownCoordinator}. Every module
+ * has deadline for its unload defined by system property {@value #UNLOAD_TIMEOUT_PROPERTY_NAME}, module,
+ * that missed the deadline, is reported and it does not block the shutdown.
+ *
  * @see BIOS
  */
 public class BIOSImpl implements BIOS {
 
+    /**
+     * Name of system property, that define timeout of load of every module in milliseconds.
+     */
+    public final static String LOAD_TIMEOUT_PROPERTY_NAME = "bios.load-timeout";
+
+    /**
+     * Name of system property, that define deadline of unload of every module in milliseconds.
+     */
+    public final static String UNLOAD_TIMEOUT_PROPERTY_NAME = "bios.unload-timeout";
+
+    private static final Logger LOGGER = Logger.getLogger(BIOSImpl.class);
+
     private String[] args;
 
-    private ExecutorService moduleLoaderExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("bios-module"));
+    private ExecutorRegistry executors;
 
-    private List<BIOSModule> loadedBIOSModules;
+    private EventBus eventBus;
 
-    private CountDownLatch latch;
+    private ModuleGraph<BIOSModule> moduleGraph;
 
-    BIOSImpl(String[] args) {
-        this.args = args;
+    private CompletableFuture<Void> loading;
+
+    private BootTimeline timeline;
+
+    private Duration loadTimeout;
+
+    private Duration unloadTimeout;
+
+    private boolean terminated;
+
+    BIOSImpl(String[] args, BootTimeline timeline) {
+        this(args, discoverModules(timeline), timeline);
+    }
+
+    BIOSImpl(String[] args, List<BIOSModule> biosModules) {
+        this(args, biosModules, new BootTimeline());
+    }
+
+    BIOSImpl(String[] args, List<BIOSModule> biosModules, BootTimeline timeline) {
+        this(args, biosModules, timeline, ExecutorRegistry.system(), EventBus.system());
+    }
+
+    BIOSImpl(String[] args, List<BIOSModule> biosModules, BootTimeline timeline, ExecutorRegistry executors,
+             EventBus eventBus) {
+        this(args, biosModules, timeline, executors, eventBus,
+                Duration.ofMillis(Long.getLong(LOAD_TIMEOUT_PROPERTY_NAME, 60_000)),
+                Duration.ofMillis(Long.getLong(UNLOAD_TIMEOUT_PROPERTY_NAME, 5_000)));
+    }
 
-        ServiceLoader<BIOSModule> biosModules = ServiceLoader.load(BIOSModule.class);
+    BIOSImpl(String[] args, List<BIOSModule> biosModules, BootTimeline timeline, ExecutorRegistry executors,
+             EventBus eventBus, Duration loadTimeout, Duration unloadTimeout) {
+        this.args = args;
+        this.timeline = timeline;
+        this.executors = executors;
+        this.eventBus = eventBus;
+        this.loadTimeout = loadTimeout;
+        this.unloadTimeout = unloadTimeout;
+        this.moduleGraph = ModuleGraph.of(biosModules, BIOSModule::dependsOn);
+    }
 
-        loadedBIOSModules = biosModules.stream()
-                .map(ServiceLoader.Provider::get)
-                .collect(Collectors.toList());
+    private static List<BIOSModule> discoverModules(BootTimeline timeline) {
+        try (BootTimeline.Phase ignored = timeline.begin("bios.discovery")) {
+            return ServiceIndex.providers(BIOSModule.class)
+                    .map(ServiceLoader.Provider::get)
+                    .collect(Collectors.toList());
+        }
     }
 
     /**
@@ -41,31 +113,103 @@ public class BIOSImpl implements BIOS {
      */
     @Override
     public void loadBIOSModules() {
-        latch = new CountDownLatch(loadedBIOSModules.size());
-        loadedBIOSModules.parallelStream()
-                .forEach(module -> moduleLoaderExecutor.execute(() -> {
-                    module.load(args);
-                    latch.countDown();
-                }));
+        loading = moduleGraph.compose(this::load);
+    }
+
+    /**
+     * Load is started by I/O pool, module, that loads asynchronously, holds the thread only until it returns
+     * its stage. Synchronous part of load runs always in the pool, never in the thread, that completed
+     * dependencies or called {@link #loadBIOSModules()}. Load timeout covers the whole load, so module, that blocks
+     * in its synchronous load, does not block its dependents and the start of kernel longer than the timeout.
+     */
+    private CompletableFuture<Void> load(BIOSModule module) {
+        AtomicReference<BootTimeline.Phase> phase = new AtomicReference<>();
+        CompletableFuture<Void> loaded = CompletableFuture.supplyAsync(() -> {
+            phase.set(timeline.begin("bios.module.load", module));
+            try {
+                return module.loadAsync(args);
+            } catch (RuntimeException e) {
+                return CompletableFuture.<Void>failedFuture(e);
+            }
+        }, executors.io()).thenCompose(Function.identity());
+        // dependent copy, so the timeout does not complete stage of module
+        return loaded.thenApply(ignored -> (Void) null)
+                .orTimeout(loadTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((ignored, error) -> {
+                    BootTimeline.Phase started = phase.get();
+                    if (started != null) {
+                        started.end();
+                    }
+                    if (error != null) {
+                        reportLoadFailure(module, error);
+                    }
+                });
+    }
+
+    private void reportLoadFailure(BIOSModule module, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            LOGGER.error("BIOS module " + module.getClass().getName() + " was not loaded in "
+                    + loadTimeout.toMillis() + " ms");
+        } else {
+            LOGGER.error("BIOS module " + module.getClass().getName() + " was not loaded", cause);
+        }
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Waits at most until every module is loaded, failed or its load timeout expired.
      */
     @Override
     public void awaitToStartKernel() {
         try {
-            latch.await();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            loading.get();
+        } catch (InterruptedException | ExecutionException e) {
+            LOGGER.error("BIOS modules were not loaded", e);
         }
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Module is unloaded, when all modules, that depend on it, are unloaded or missed their deadline, then
+     * {@link EventBus} is closed, after its consumers handled all published events, and all pools of
+     * {@link ExecutorRegistry} are shut down. BIOS is terminated only once, concurrent call waits,
+     * until the first termination is finished.
      */
     @Override
-    public void terminate() {
-        loadedBIOSModules.parallelStream().forEach(BIOSModule::unload);
+    public synchronized void terminate() {
+        if (terminated) {
+            return;
+        }
+        terminated = true;
+
+        ShutdownCoordinator<BIOSModule> coordinator =
+                new ShutdownCoordinator<>(moduleGraph, executors.io(), unloadTimeout, "BIOS module");
+        Map<BIOSModule, Long> stragglers = Map.of();
+        try {
+            stragglers = coordinator.shutdown(module -> {
+                try (BootTimeline.Phase ignored = timeline.begin("bios.module.unload", module)) {
+                    module.unload();
+                } catch (RuntimeException e) {
+                    LOGGER.error("BIOS module " + module.getClass().getName() + " was not unloaded", e);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("BIOS termination was interrupted", e);
+        } finally {
+            try {
+                eventBus.close();
+            } finally {
+                // stragglers already missed their deadline, they are interrupted instead of waiting for them again
+                if (stragglers.isEmpty()) {
+                    executors.close();
+                } else {
+                    executors.close(Duration.ZERO);
+                }
+            }
+        }
     }
 }
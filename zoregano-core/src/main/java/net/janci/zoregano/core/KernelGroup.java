@@ -0,0 +1,144 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.KernelContext;
+import net.janci.zoregano.api.config.ConfigurationFactory;
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
+import net.janci.zoregano.concurrent.NamedThreadFactory;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Kernels of multi-kernel mode, that run side by side in one JVM and share BIOS. Every kernel has own
+ * {@link KernelSupervisor} as its controller, own {@link ExecutorRegistry} and own scope of configurations, that
+ * are passed to it by {@link KernelContext}.
+ *
+ * CPUs are partitioned between kernels: compute pool of every kernel has its share of CPUs (shares differ at most
+ * by one CPU), so kernels together do not run more CPU bound threads than there are CPUs. Kernels are initialized
+ * and terminated in parallel, every kernel in own thread, so kernel, that blocks in its init or fails, does not delay
+ * or stop others.
+ */
+final class KernelGroup {
+
+    private static final Logger LOGGER = Logger.getLogger(KernelGroup.class);
+
+    private final List<KernelSupervisor> supervisors = new ArrayList<>();
+
+    private final List<ExecutorRegistry> partitions = new ArrayList<>();
+
+    private final List<String> names;
+
+    private boolean terminated;
+
+    /**
+     * @param kernels               kernels by names of their instances
+     * @param timeline              timeline, where phases of kernels are recorded
+     * @param cpus                  count of CPUs partitioned between kernels
+     * @param configurationFactory  factory of configurations, that is scoped for every kernel, or null
+     */
+    KernelGroup(Map<String, Kernel> kernels, BootTimeline timeline, int cpus, ConfigurationFactory configurationFactory) {
+        this.names = List.copyOf(kernels.keySet());
+        int[] shares = partition(cpus, kernels.size());
+        int i = 0;
+        for (Map.Entry<String, Kernel> entry : kernels.entrySet()) {
+            String name = entry.getKey();
+            Kernel kernel = entry.getValue();
+            ExecutorRegistry executors = new ExecutorRegistry("kernel-" + name, shares[i], Math.max(4, 4 * shares[i]));
+            KernelSupervisor supervisor = new KernelSupervisor(kernel, timeline, name);
+            kernel.setContext(new KernelContext(name, supervisor, executors,
+                    configurationFactory == null ? null : configurationFactory.scoped(name)));
+            supervisors.add(supervisor);
+            partitions.add(executors);
+            i++;
+        }
+    }
+
+    /**
+     * Divide CPUs between kernels, every kernel gets at least one CPU.
+     *
+     * @param cpus      count of CPUs
+     * @param kernels   count of kernels
+     * @return count of CPUs of every kernel
+     */
+    static int[] partition(int cpus, int kernels) {
+        int[] shares = new int[kernels];
+        for (int i = 0; i < kernels; i++) {
+            shares[i] = Math.max(1, cpus / kernels + (i < cpus % kernels ? 1 : 0));
+        }
+        return shares;
+    }
+
+    /**
+     * Initialize and run all kernels in parallel and wait, until all of them return from {@link KernelSupervisor#run()}.
+     */
+    void run() {
+        runAll("run", KernelSupervisor::run);
+    }
+
+    /**
+     * Terminate all kernels in parallel, then shut down their executors. Kernels are terminated only once.
+     */
+    void terminate() {
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+        }
+        runAll("terminate", KernelSupervisor::terminate);
+        for (ExecutorRegistry executors : partitions) {
+            executors.close();
+        }
+    }
+
+    /**
+     * @return supervisors of kernels, in order of names
+     */
+    List<KernelSupervisor> getSupervisors() {
+        return Collections.unmodifiableList(supervisors);
+    }
+
+    /**
+     * @return executors of kernels, in order of names
+     */
+    List<ExecutorRegistry> getPartitions() {
+        return Collections.unmodifiableList(partitions);
+    }
+
+    private void runAll(String action, Consumer<KernelSupervisor> step) {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < supervisors.size(); i++) {
+            KernelSupervisor supervisor = supervisors.get(i);
+            String name = names.get(i);
+            Thread thread = new NamedThreadFactory("kernel-" + name + "-" + action).newThread(() -> {
+                try {
+                    step.accept(supervisor);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Kernel '" + name + "' failed to " + action, e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.KernelController;
+import net.janci.zoregano.api.KernelHandoff;
+import net.janci.zoregano.api.KernelModule;
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * System {@link KernelController}, that manages lifecycle of loaded {@link Kernel}. Control of modules is delegated
+ * to controller of the kernel.
+ *
+ * {@link #restart()} restarts kernel in the same JVM: kernel is terminated and initialized again, while loaded
+ * classes, JIT compiled code, BIOS modules and executors stay alive. Kernel and its modules can pass their warm
+ * state to the next incarnation by {@link KernelHandoff}. Every restart is recorded in the {@link BootTimeline}
+ * as phases "kernel.restart.terminate" and "kernel.restart.init", and its wall time is compared with cold
+ * initialization of kernel. Phases of named kernel in multi-kernel mode contain its name, e.g. "kernel.tenant-a.init".
+ *
+ * Kernel may block in its init for its whole lifetime, until it is terminated. Lock of the supervisor therefore
+ * guards only changes of its state and is never held while kernel is initialized or terminated: {@link #terminate()}
+ * and {@link #restart()} called from other threads terminate running kernel and so unblock its init. Kernel, that
+ * is restarted while its init blocks, is initialized again by the thread running {@link #run()}.
+ */
+class KernelSupervisor extends KernelController {
+
+    private static final Logger LOGGER = Logger.getLogger(KernelSupervisor.class);
+
+    private enum State {
+        NEW, RUNNING, RESTARTING, TERMINATED
+    }
+
+    private final Kernel kernel;
+
+    private final BootTimeline timeline;
+
+    private final String name;
+
+    private final String phasePrefix;
+
+    private final Object lock = new Object();
+
+    private final CompletableFuture<Void> termination = new CompletableFuture<>();
+
+    private State state = State.NEW;
+
+    private boolean running;
+
+    private CompletableFuture<KernelHandoff> pendingRestart;
+
+    private volatile long coldInitNanos = -1;
+
+    private volatile long lastRestartNanos = -1;
+
+    private volatile int restarts;
+
+    KernelSupervisor(Kernel kernel, BootTimeline timeline) {
+        this(kernel, timeline, null);
+    }
+
+    /**
+     * @param kernel    supervised kernel
+     * @param timeline  timeline, where phases of kernel are recorded
+     * @param name      name of kernel instance in multi-kernel mode, or null when kernel runs alone
+     */
+    KernelSupervisor(Kernel kernel, BootTimeline timeline, String name) {
+        this.kernel = kernel;
+        this.timeline = timeline;
+        this.name = name;
+        this.phasePrefix = name == null ? "kernel." : "kernel." + name + ".";
+    }
+
+    /**
+     * Initialize kernel first time and run it. Method returns, when init of kernel returns and kernel is not being
+     * restarted; when kernel is restarted while its init blocks, this thread initializes its next incarnation.
+     * Kernel is run only once, next calls do nothing.
+     */
+    void run() {
+        synchronized (lock) {
+            if (state != State.NEW) {
+                return;
+            }
+            state = State.RUNNING;
+            running = true;
+        }
+        try {
+            long start = System.nanoTime();
+            try (BootTimeline.Phase ignored = timeline.begin(phasePrefix + "init")) {
+                kernel.init();
+            }
+            coldInitNanos = System.nanoTime() - start;
+
+            while (true) {
+                CompletableFuture<KernelHandoff> restart;
+                synchronized (lock) {
+                    restart = pendingRestart;
+                    pendingRestart = null;
+                    if (restart == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                KernelHandoff handoff = restart.join();
+                if (handoff == null) {
+                    return;
+                }
+                synchronized (lock) {
+                    if (state == State.TERMINATED) {
+                        handoff.close();
+                        return;
+                    }
+                }
+                try (handoff; BootTimeline.Phase ignored = timeline.begin(phasePrefix + "restart.init")) {
+                    kernel.init(handoff);
+                }
+            }
+        } finally {
+            synchronized (lock) {
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * Terminate kernel, also when its init blocks in other thread. Kernel is terminated only once, next callers wait,
+     * until the termination is finished. Restart in progress is finished by termination of kernel.
+     */
+    void terminate() {
+        State previous;
+        synchronized (lock) {
+            previous = state;
+            state = State.TERMINATED;
+        }
+        if (previous == State.TERMINATED || previous == State.RESTARTING) {
+            // restart in progress completes the termination, when its kernel is terminated
+            termination.join();
+            return;
+        }
+        try {
+            if (previous == State.RUNNING) {
+                try (BootTimeline.Phase ignored = timeline.begin(phasePrefix + "terminate")) {
+                    kernel.terminate();
+                }
+            }
+        } finally {
+            termination.complete(null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Kernel is terminated and initialized again in the same JVM with handoff of its state. Values, that were not
+     * taken by the next incarnation, are closed. When init of kernel blocks in the thread running {@link #run()},
+     * method returns after the termination and that thread initializes the next incarnation; otherwise the next
+     * incarnation is initialized by the calling thread. Kernel, that is not running, is already restarting or was
+     * terminated, is not restarted.
+     */
+    @Override
+    public void restart() {
+        CompletableFuture<KernelHandoff> handover;
+        synchronized (lock) {
+            if (state != State.RUNNING) {
+                return;
+            }
+            state = State.RESTARTING;
+            handover = running ? new CompletableFuture<>() : null;
+            pendingRestart = handover;
+        }
+        long start = System.nanoTime();
+        KernelHandoff handoff = new KernelHandoff();
+        boolean terminated = true;
+        try {
+            try (BootTimeline.Phase ignored = timeline.begin(phasePrefix + "restart.terminate")) {
+                kernel.terminate(handoff);
+            }
+            synchronized (lock) {
+                terminated = state != State.RESTARTING;
+                state = terminated ? State.TERMINATED : State.RUNNING;
+            }
+        } finally {
+            if (terminated) {
+                synchronized (lock) {
+                    state = State.TERMINATED;
+                }
+                handoff.close();
+                termination.complete(null);
+                if (handover != null) {
+                    handover.complete(null);
+                }
+            }
+        }
+        if (terminated) {
+            return;
+        }
+
+        if (handover != null) {
+            handover.complete(handoff);
+        } else {
+            try (handoff; BootTimeline.Phase ignored = timeline.begin(phasePrefix + "restart.init")) {
+                kernel.init(handoff);
+            }
+        }
+        lastRestartNanos = System.nanoTime() - start;
+        restarts++;
+        LOGGER.info(String.format("Kernel %srestarted in %.3f ms (cold init %.3f ms)",
+                name == null ? "" : "'" + name + "' ", lastRestartNanos / 1e6, coldInitNanos / 1e6));
+    }
+
+    @Override
+    public void stopModule(Class<? extends KernelModule> moduleClass) {
+        kernel.getController().stopModule(moduleClass);
+    }
+
+    @Override
+    public void startModule(Class<? extends KernelModule> moduleClass) {
+        kernel.getController().startModule(moduleClass);
+    }
+
+    /**
+     * @return wall time of the first initialization of kernel in nanoseconds, or -1 when init of kernel did not
+     *         return yet
+     */
+    long getColdInitNanos() {
+        return coldInitNanos;
+    }
+
+    /**
+     * @return wall time of the last restart in nanoseconds, or -1 when kernel was not restarted; restart handed over
+     *         to the thread running the kernel is measured until its next incarnation is handed over
+     */
+    long getLastRestartNanos() {
+        return lastRestartNanos;
+    }
+
+    /**
+     * @return count of restarts in the same JVM
+     */
+    int getRestarts() {
+        return restarts;
+    }
+}
@@ -0,0 +1,229 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.InFlightWork;
+import net.janci.zoregano.api.KernelHandoff;
+import net.janci.zoregano.api.KernelModule;
+
+import java.io.IOException;
+import java.lang.module.Configuration;
+import java.lang.module.ModuleFinder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link KernelModule} loaded from its own jar (or directory of jars) into its own child {@link ModuleLayer}.
+ * Module in the jar is found by {@link ServiceLoader} as provider of {@link KernelModule} and every call is
+ * delegated to it.
+ *
+ * Layer is defined by load of module and it is dropped by unload, so classes of unloaded module can be reclaimed by
+ * GC, when nothing else holds their instances. Long running system, that reloads modules, does not leak metaspace.
+ * Layers of modules found by {@link #discover(Path, Executor)} are defined in parallel.
+ *
+ * Bootloader does not discover layered modules itself, modules belong to kernel. Kernel, that is composed from
+ * modules in separate jars, passes discovered modules to its {@link ModuleKernelController}, e.g.
+ * {@code new ModuleKernelController(LayeredKernelModule.discover(ExecutorRegistry.system().io()))}, and addresses
+ * them by {@link #getName() name}.
+ *
+ * Every layer has own class loader, so module handed over by {@link KernelHandoff} to its next incarnation can hand
+ * over only instances of classes from parent layers (JDK, Zoregano API), not its own classes.
+ */
+public class LayeredKernelModule implements KernelModule {
+
+    /**
+     * Name of system property, that define directory with jars of kernel modules.
+     */
+    public final static String DIRECTORY_PROPERTY_NAME = "kernel.modules.dir";
+
+    private final Path path;
+
+    private ModuleLayer layer;
+
+    private KernelModule delegate;
+
+    private KernelHandoff handoff;
+
+    /**
+     * @param path  jar of module, or directory with jar of module and its libraries
+     */
+    public LayeredKernelModule(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Find modules in the directory defined by system property {@value #DIRECTORY_PROPERTY_NAME}.
+     *
+     * @param executor  executor, where layers are defined
+     * @return modules with defined layers, ordered by names of files
+     * @see #discover(Path, Executor)
+     */
+    public static List<LayeredKernelModule> discover(Executor executor) {
+        return discover(Path.of(System.getProperty(DIRECTORY_PROPERTY_NAME, "artifacts/modules")), executor);
+    }
+
+    /**
+     * Find modules in the directory. Every jar and every subdirectory is one module, their layers are defined
+     * in parallel, so classes of modules are loaded in parallel by their first use.
+     *
+     * @param directory directory with modules
+     * @param executor  executor, where layers are defined
+     * @return modules with defined layers, ordered by names of files; empty list when directory does not exist
+     * @throws IllegalStateException when directory can not be read, or layer of any module can not be defined
+     */
+    public static List<LayeredKernelModule> discover(Path directory, Executor executor) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        List<LayeredKernelModule> modules;
+        try (Stream<Path> files = Files.list(directory)) {
+            modules = files
+                    .filter(file -> Files.isDirectory(file) || file.getFileName().toString().endsWith(".jar"))
+                    .sorted()
+                    .map(LayeredKernelModule::new)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Kernel modules directory '" + directory + "' can not be read", e);
+        }
+
+        try {
+            CompletableFuture.allOf(modules.stream()
+                    .map(module -> CompletableFuture.runAsync(module::defineLayer, executor))
+                    .toArray(CompletableFuture<?>[]::new))
+                    .join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+        return modules;
+    }
+
+    /**
+     * @return jar or directory of module
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Name, that addresses the module in {@link ModuleKernelController}, because class of module is loaded by
+     * class loader of its own layer.
+     *
+     * @return name of jar without ".jar" extension, or name of directory of module
+     */
+    public String getName() {
+        String fileName = path.getFileName().toString();
+        return fileName.endsWith(".jar") ? fileName.substring(0, fileName.length() - ".jar".length()) : fileName;
+    }
+
+    /**
+     * @return layer of loaded module, or null when module is not loaded and layer is not defined
+     */
+    public synchronized ModuleLayer getLayer() {
+        return layer;
+    }
+
+    /**
+     * @return instance of module from its layer, or null when module is not loaded
+     */
+    public synchronized KernelModule getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Layer is defined, when it was not defined yet, and module from the layer is loaded.
+     */
+    @Override
+    public synchronized void load() {
+        defineLayer();
+        KernelModule module = instantiate();
+        if (handoff != null) {
+            module.takeOver(handoff);
+            handoff = null;
+        }
+        module.load();
+        delegate = module;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Module from the layer is unloaded and the layer is dropped.
+     */
+    @Override
+    public synchronized void unload() {
+        try {
+            if (delegate != null) {
+                delegate.unload();
+            }
+        } finally {
+            delegate = null;
+            layer = null;
+        }
+    }
+
+    @Override
+    public synchronized InFlightWork inFlightWork() {
+        return delegate == null ? null : delegate.inFlightWork();
+    }
+
+    @Override
+    public synchronized void handOff(KernelHandoff handoff) {
+        if (delegate != null) {
+            delegate.handOff(handoff);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Handoff is passed to module from the new layer, when it is loaded.
+     */
+    @Override
+    public synchronized void takeOver(KernelHandoff handoff) {
+        this.handoff = handoff;
+    }
+
+    private synchronized void defineLayer() {
+        if (layer != null) {
+            return;
+        }
+
+        ModuleLayer parent = KernelModule.class.getModule().getLayer();
+        if (parent == null) {
+            parent = ModuleLayer.boot();
+        }
+        ModuleFinder finder = ModuleFinder.of(path);
+        List<String> roots = finder.findAll().stream()
+                .map(reference -> reference.descriptor().name())
+                .collect(Collectors.toList());
+        if (roots.isEmpty()) {
+            throw new IllegalStateException("Kernel module '" + path + "' does not contain any module");
+        }
+
+        Configuration configuration = parent.configuration().resolveAndBind(finder, ModuleFinder.of(), roots);
+        layer = parent.defineModulesWithOneLoader(configuration, KernelModule.class.getClassLoader());
+    }
+
+    private KernelModule instantiate() {
+        List<ServiceLoader.Provider<KernelModule>> providers = ServiceLoader.load(layer, KernelModule.class).stream()
+                .filter(provider -> provider.type().getModule().getLayer() == layer)
+                .collect(Collectors.toList());
+        if (providers.size() != 1) {
+            throw new IllegalStateException("Kernel module '" + path + "' must provide exactly one "
+                    + KernelModule.class.getName() + ", found " + providers.size());
+        }
+        return providers.get(0).get();
+    }
+}
@@ -0,0 +1,215 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.BIOSModule;
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.api.metrics.Counter;
+import net.janci.zoregano.api.metrics.Gauge;
+import net.janci.zoregano.api.metrics.MetricRegistry;
+import net.janci.zoregano.concurrent.LatencyHistogram;
+import net.janci.zoregano.concurrent.NamedThreadFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference {@link BIOSModule}, that periodically exports snapshot of {@link MetricRegistry#system()} registry.
+ * Target is defined by system property {@value #TARGET_PROPERTY_NAME}:
+ * <ul>
+ *     <li>udp://&lt;host&gt;:&lt;port&gt; - snapshot is sent as UDP datagrams, e.g. to local agent on loopback,
+ *     every datagram contains whole lines</li>
+ *     <li>any other value is path of file, that is atomically replaced by every snapshot</li>
+ * </ul>
+ * When the property is not defined, nothing is exported. Snapshot is text, one metric per line:
+ * <pre>
+ *     # zoregano metrics 1700000000000
+ *     http.connections gauge value=3.0
+ *     http.latency histogram count=10 total=5300 p50=511 p99=1023 p999=1023 max=812
+ *     http.requests counter count=12
+ * </pre>
+ * Metrics are read only by the exporter thread, so export does not slow down recording of metrics. Last snapshot
+ * is exported, when module is unloaded.
+ */
+public class MetricsExporter implements BIOSModule {
+
+    private static final Logger LOGGER = Logger.getLogger(MetricsExporter.class);
+
+    /**
+     * Name of system property, that define target of exported metrics.
+     */
+    public final static String TARGET_PROPERTY_NAME = "metrics.export";
+
+    /**
+     * Name of system property, that define interval of export in milliseconds.
+     */
+    public final static String INTERVAL_PROPERTY_NAME = "metrics.export-interval";
+
+    private static final String UDP_SCHEME = "udp://";
+
+    private static final int MAX_DATAGRAM_SIZE = 1400;
+
+    private final MetricRegistry registry;
+
+    private final String target;
+
+    private final Duration interval;
+
+    private final StringBuilder snapshot = new StringBuilder();
+
+    private ScheduledExecutorService scheduler;
+
+    private DatagramChannel channel;
+
+    private InetSocketAddress address;
+
+    /**
+     * Create exporter of system registry, configured by system properties {@value #TARGET_PROPERTY_NAME}
+     * and {@value #INTERVAL_PROPERTY_NAME}.
+     */
+    public MetricsExporter() {
+        this(MetricRegistry.system(), System.getProperty(TARGET_PROPERTY_NAME),
+                Duration.ofMillis(Long.getLong(INTERVAL_PROPERTY_NAME, 10_000)));
+    }
+
+    /**
+     * @param registry  exported registry
+     * @param target    file or udp://host:port, see class description; nothing is exported, when it is null
+     * @param interval  interval of export
+     */
+    public MetricsExporter(MetricRegistry registry, String target, Duration interval) {
+        this.registry = registry;
+        this.target = target;
+        this.interval = interval;
+    }
+
+    @Override
+    public void load(String[] args) {
+        if (target == null || target.isBlank()) {
+            return;
+        }
+        if (target.startsWith(UDP_SCHEME)) {
+            URI uri = URI.create(target);
+            address = new InetSocketAddress(uri.getHost(), uri.getPort());
+            try {
+                channel = DatagramChannel.open();
+            } catch (IOException e) {
+                throw new IllegalStateException("Metrics can not be exported to '" + target + "'", e);
+            }
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("metrics-exporter"));
+        scheduler.scheduleWithFixedDelay(this::exportQuietly, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void unload() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+        exportQuietly();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Metrics channel can not be closed: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Export current snapshot of metrics to the target.
+     *
+     * @throws IOException when snapshot can not be written or sent
+     */
+    synchronized void export() throws IOException {
+        snapshot.setLength(0);
+        snapshot.append("# zoregano metrics ").append(System.currentTimeMillis()).append('\n');
+        for (Map.Entry<String, Object> metric : registry.getMetrics().entrySet()) {
+            appendMetric(metric.getKey(), metric.getValue());
+        }
+
+        if (channel != null) {
+            send();
+        } else {
+            write(Path.of(target));
+        }
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Metrics can not be exported to '" + target + "': " + e.getMessage());
+        }
+    }
+
+    private void appendMetric(String name, Object metric) {
+        snapshot.append(name);
+        if (metric instanceof Counter) {
+            snapshot.append(" counter count=").append(((Counter) metric).getCount());
+        } else if (metric instanceof Gauge) {
+            snapshot.append(" gauge value=").append(((Gauge) metric).getValue());
+        } else {
+            LatencyHistogram histogram = (LatencyHistogram) metric;
+            snapshot.append(" histogram count=").append(histogram.getCount())
+                    .append(" total=").append(histogram.getTotalNanos())
+                    .append(" p50=").append(histogram.getPercentileNanos(50))
+                    .append(" p99=").append(histogram.getPercentileNanos(99))
+                    .append(" p999=").append(histogram.getPercentileNanos(99.9))
+                    .append(" max=").append(histogram.getMaxNanos());
+        }
+        snapshot.append('\n');
+    }
+
+    private void write(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temporary, snapshot, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Send snapshot by datagrams, that contain whole lines, so receiver can parse every datagram alone.
+     */
+    private void send() throws IOException {
+        byte[] bytes = snapshot.toString().getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        while (start < bytes.length) {
+            int end = Math.min(start + MAX_DATAGRAM_SIZE, bytes.length);
+            if (end < bytes.length) {
+                int lineEnd = end;
+                while (lineEnd > start && bytes[lineEnd - 1] != '\n') {
+                    lineEnd--;
+                }
+                if (lineEnd > start) {
+                    end = lineEnd;
+                }
+            }
+            channel.send(ByteBuffer.wrap(bytes, start, end - start), address);
+            start = end;
+        }
+    }
+}
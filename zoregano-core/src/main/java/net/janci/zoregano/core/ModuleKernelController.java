@@ -0,0 +1,437 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.InFlightWork;
+import net.janci.zoregano.api.KernelController;
+import net.janci.zoregano.api.KernelHandoff;
+import net.janci.zoregano.api.KernelModule;
+import net.janci.zoregano.api.logging.Logger;
+import net.janci.zoregano.concurrent.NamedThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reference implementation of {@link KernelController} for kernels, that are composed from {@link KernelModule}s.
+ *
+ * Every module can be stopped and started again separately, while the other modules keep serving. Module, that
+ * tracks its {@link KernelModule#inFlightWork()}, stops to accept new work and it is unloaded after its work in
+ * progress is finished, or after drain timeout. So reload of one module costs only its unload and load,
+ * instead of {@link #restart()} of all modules. Restart of all modules passes {@link KernelHandoff} from
+ * unloaded modules to loaded modules, so modules can keep their warm caches.
+ *
+ * {@link KernelModule#isLazy() Lazy} modules are not loaded by {@link #startAll()}, they are loaded on the first
+ * access by {@link #module(Class)} or by {@link #startModule(Class)}. Lazy module with
+ * {@link KernelModule#idleTimeout()}, that was not accessed for the timeout and has no work in progress,
+ * is unloaded by the idle reaper thread and it is loaded again on the next access.
+ *
+ * Module is addressed by its class, or by its name. Name of {@link LayeredKernelModule} is its
+ * {@link LayeredKernelModule#getName() name}, because its class is loaded by class loader of its own layer and
+ * every layered module is wrapped by the same {@link LayeredKernelModule} class. Name of other module is name of
+ * its class.
+ *
+ * Operations on one module are serialized, operations on different modules run concurrently.
+ */
+public class ModuleKernelController extends KernelController {
+
+    /**
+     * Default maximal time to wait for work in progress of stopped module.
+     */
+    public static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Logger LOGGER = Logger.getLogger(ModuleKernelController.class);
+
+    private final List<ModuleSlot> slots;
+
+    private final Duration drainTimeout;
+
+    private final ConcurrentMap<Class<?>, ModuleSlot> lookup = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ModuleSlot> lookupByName = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService idleReaper;
+
+    /**
+     * @param modules   kernel modules in the load order
+     */
+    public ModuleKernelController(List<? extends KernelModule> modules) {
+        this(modules, DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * @param modules       kernel modules in the load order
+     * @param drainTimeout  maximal time to wait for work in progress of stopped module
+     */
+    public ModuleKernelController(List<? extends KernelModule> modules, Duration drainTimeout) {
+        this.slots = modules.stream().map(ModuleSlot::new).collect(Collectors.toUnmodifiableList());
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * Load all stopped modules, that are not lazy, in the load order.
+     */
+    public void startAll() {
+        startAll(null);
+    }
+
+    /**
+     * Load all stopped modules, that are not lazy, in the load order. Every module takes over its state from
+     * the handoff before it is loaded. Lazy modules, that handed off their state to the handoff, are loaded too.
+     *
+     * @param handoff   state handed over by previous incarnation of modules, or null
+     */
+    public synchronized void startAll(KernelHandoff handoff) {
+        for (ModuleSlot slot : slots) {
+            if (!slot.module.isLazy() || (handoff != null && slot.resume)) {
+                slot.start(handoff);
+            }
+        }
+        startIdleReaper();
+    }
+
+    /**
+     * Stop all running modules in the reverse load order.
+     */
+    public void stopAll() {
+        stopAll(null);
+    }
+
+    /**
+     * Stop all running modules in the reverse load order. Every module hands off its state after its work
+     * in progress is drained and before it is unloaded.
+     *
+     * @param handoff   state handed over to next incarnation of modules, or null
+     */
+    public synchronized void stopAll(KernelHandoff handoff) {
+        if (idleReaper != null) {
+            idleReaper.shutdownNow();
+            idleReaper = null;
+        }
+        List<ModuleSlot> reversed = new ArrayList<>(slots);
+        Collections.reverse(reversed);
+        for (ModuleSlot slot : reversed) {
+            slot.stop(drainTimeout, handoff);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All modules are stopped in the reverse load order and started again with handoff of their state.
+     */
+    @Override
+    public void restart() {
+        try (KernelHandoff handoff = new KernelHandoff()) {
+            stopAll(handoff);
+            startAll(handoff);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Work in progress of the module is drained at most for the drain timeout of controller.
+     *
+     * @throws IllegalArgumentException when controller does not manage module of the class
+     */
+    @Override
+    public void stopModule(Class<? extends KernelModule> moduleClass) {
+        stopModule(moduleClass, drainTimeout);
+    }
+
+    /**
+     * Stop specific {@link KernelModule}. New work of the module is rejected, work in progress is drained
+     * and the module is unloaded. Stopped module is not stopped again.
+     *
+     * @param moduleClass   kernel module class
+     * @param timeout       maximal time to wait for work in progress
+     * @return true, when all work in progress was finished before the module was unloaded
+     * @throws IllegalArgumentException when controller does not manage module of the class
+     */
+    public boolean stopModule(Class<? extends KernelModule> moduleClass, Duration timeout) {
+        return slot(moduleClass).stop(timeout, null);
+    }
+
+    /**
+     * Stop specific {@link KernelModule} addressed by name, the same as {@link #stopModule(Class, Duration)}.
+     *
+     * @param moduleName    name of kernel module
+     * @param timeout       maximal time to wait for work in progress
+     * @return true, when all work in progress was finished before the module was unloaded
+     * @throws IllegalArgumentException when controller does not manage module of the name
+     */
+    public boolean stopModule(String moduleName, Duration timeout) {
+        return slot(moduleName).stop(timeout, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Running module is not started again.
+     *
+     * @throws IllegalArgumentException when controller does not manage module of the class
+     */
+    @Override
+    public void startModule(Class<? extends KernelModule> moduleClass) {
+        module(moduleClass);
+    }
+
+    /**
+     * Start specific {@link KernelModule} addressed by name. Running module is not started again.
+     *
+     * @param moduleName    name of kernel module
+     * @throws IllegalArgumentException when controller does not manage module of the name
+     */
+    public void startModule(String moduleName) {
+        module(moduleName);
+    }
+
+    /**
+     * Access specific {@link KernelModule}. Stopped module is loaded at first, so lazy module is loaded on its
+     * first access. Access of running module costs one lookup and one volatile write.
+     *
+     * Lazy module can be unloaded for idleness after the access, module, that tracks its
+     * {@link KernelModule#inFlightWork()}, rejects work after it was unloaded, and caller should access it again.
+     *
+     * @param moduleClass   kernel module class
+     * @param <T>           type of kernel module
+     * @return running module
+     * @throws IllegalArgumentException when controller does not manage module of the class
+     */
+    public <T extends KernelModule> T module(Class<T> moduleClass) {
+        return moduleClass.cast(access(slot(moduleClass)));
+    }
+
+    /**
+     * Access specific {@link KernelModule} addressed by name, the same as {@link #module(Class)}.
+     *
+     * @param moduleName    name of kernel module
+     * @return running module; for {@link LayeredKernelModule} its delegate from the current layer
+     * @throws IllegalArgumentException when controller does not manage module of the name
+     */
+    public KernelModule module(String moduleName) {
+        KernelModule module = access(slot(moduleName));
+        return module instanceof LayeredKernelModule ? ((LayeredKernelModule) module).getDelegate() : module;
+    }
+
+    private static KernelModule access(ModuleSlot slot) {
+        slot.lastAccess = System.nanoTime();
+        if (!slot.running) {
+            slot.start(null);
+        }
+        return slot.module;
+    }
+
+    /**
+     * Stop and start specific {@link KernelModule} with handoff of its state, other modules keep running.
+     *
+     * @param moduleClass   kernel module class
+     * @return true, when all work in progress was finished before the module was unloaded
+     * @throws IllegalArgumentException when controller does not manage module of the class
+     */
+    public boolean reloadModule(Class<? extends KernelModule> moduleClass) {
+        return reload(slot(moduleClass));
+    }
+
+    /**
+     * Stop and start specific {@link KernelModule} addressed by name, the same as {@link #reloadModule(Class)}.
+     * Reloaded {@link LayeredKernelModule} is loaded into new layer.
+     *
+     * @param moduleName    name of kernel module
+     * @return true, when all work in progress was finished before the module was unloaded
+     * @throws IllegalArgumentException when controller does not manage module of the name
+     */
+    public boolean reloadModule(String moduleName) {
+        return reload(slot(moduleName));
+    }
+
+    private boolean reload(ModuleSlot slot) {
+        synchronized (slot) {
+            try (KernelHandoff handoff = new KernelHandoff()) {
+                boolean drained = slot.stop(drainTimeout, handoff);
+                slot.start(handoff);
+                return drained;
+            }
+        }
+    }
+
+    /**
+     * @param moduleClass   kernel module class
+     * @return true, when the module is loaded
+     * @throws IllegalArgumentException when controller does not manage module of the class
+     */
+    public boolean isRunning(Class<? extends KernelModule> moduleClass) {
+        return slot(moduleClass).running;
+    }
+
+    /**
+     * @param moduleName    name of kernel module
+     * @return true, when the module is loaded
+     * @throws IllegalArgumentException when controller does not manage module of the name
+     */
+    public boolean isRunning(String moduleName) {
+        return slot(moduleName).running;
+    }
+
+    private ModuleSlot slot(Class<? extends KernelModule> moduleClass) {
+        ModuleSlot slot = lookup.get(moduleClass);
+        if (slot == null) {
+            slot = findSlot(moduleClass);
+            lookup.putIfAbsent(moduleClass, slot);
+        }
+        return slot;
+    }
+
+    private ModuleSlot findSlot(Class<? extends KernelModule> moduleClass) {
+        List<ModuleSlot> found = slots.stream()
+                .filter(slot -> slot.module.getClass() == moduleClass)
+                .collect(Collectors.toList());
+        if (found.isEmpty()) {
+            found = slots.stream()
+                    .filter(slot -> moduleClass.isInstance(slot.module))
+                    .collect(Collectors.toList());
+        }
+        if (found.size() != 1) {
+            throw new IllegalArgumentException("Kernel module " + moduleClass.getName()
+                    + (found.isEmpty() ? " is not managed by controller" : " is ambiguous, address it by name"));
+        }
+        return found.get(0);
+    }
+
+    private ModuleSlot slot(String moduleName) {
+        ModuleSlot slot = lookupByName.get(moduleName);
+        if (slot == null) {
+            List<ModuleSlot> named = slots.stream()
+                    .filter(candidate -> candidate.name.equals(moduleName))
+                    .collect(Collectors.toList());
+            if (named.size() != 1) {
+                throw new IllegalArgumentException("Kernel module '" + moduleName + "'"
+                        + (named.isEmpty() ? " is not managed by controller" : " is ambiguous"));
+            }
+            slot = named.get(0);
+            lookupByName.putIfAbsent(moduleName, slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Reaper checks lazy modules periodically, four times per the shortest idle timeout.
+     */
+    private void startIdleReaper() {
+        if (idleReaper != null) {
+            return;
+        }
+        long periodNanos = slots.stream()
+                .filter(slot -> slot.module.isLazy())
+                .map(slot -> slot.module.idleTimeout())
+                .filter(Objects::nonNull)
+                .mapToLong(timeout -> Math.max(timeout.toNanos() / 4, TimeUnit.MILLISECONDS.toNanos(1)))
+                .min()
+                .orElse(-1);
+        if (periodNanos < 0) {
+            return;
+        }
+        idleReaper = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("kernel-idle-reaper"));
+        idleReaper.scheduleWithFixedDelay(this::unloadIdleModules, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void unloadIdleModules() {
+        long now = System.nanoTime();
+        for (ModuleSlot slot : slots) {
+            if (slot.module.isLazy() && slot.module.idleTimeout() != null && slot.running) {
+                try {
+                    slot.stopIdle(now, slot.module.idleTimeout(), drainTimeout);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Idle kernel module " + slot.module.getClass().getName() + " was not unloaded", e);
+                }
+            }
+        }
+    }
+
+    private static final class ModuleSlot {
+
+        private final KernelModule module;
+
+        private final String name;
+
+        private volatile boolean running;
+
+        private volatile long lastAccess;
+
+        /**
+         * Lazy module, that was running, when it handed off its state, is loaded by next start of all modules.
+         */
+        private boolean resume;
+
+        private ModuleSlot(KernelModule module) {
+            this.module = module;
+            this.name = module instanceof LayeredKernelModule
+                    ? ((LayeredKernelModule) module).getName()
+                    : module.getClass().getName();
+        }
+
+        private synchronized void start(KernelHandoff handoff) {
+            resume = false;
+            if (running) {
+                return;
+            }
+            lastAccess = System.nanoTime();
+            InFlightWork work = module.inFlightWork();
+            if (handoff != null) {
+                module.takeOver(handoff);
+            }
+            module.load();
+            if (work != null) {
+                work.open();
+            }
+            running = true;
+        }
+
+        private synchronized boolean stop(Duration timeout, KernelHandoff handoff) {
+            if (!running) {
+                return true;
+            }
+            resume = handoff != null;
+            running = false;
+            boolean drained = drain(timeout);
+            if (!drained) {
+                InFlightWork work = module.inFlightWork();
+                LOGGER.warn("Kernel module " + module.getClass().getName() + " is unloaded with "
+                        + (work == null ? 0 : work.count()) + " unfinished work");
+            }
+            if (handoff != null) {
+                module.handOff(handoff);
+            }
+            module.unload();
+            return drained;
+        }
+
+        private synchronized void stopIdle(long now, Duration idleTimeout, Duration drainTimeout) {
+            InFlightWork work = module.inFlightWork();
+            if (running && now - lastAccess >= idleTimeout.toNanos() && (work == null || work.count() == 0)) {
+                stop(drainTimeout, null);
+            }
+        }
+
+        private boolean drain(Duration timeout) {
+            InFlightWork work = module.inFlightWork();
+            if (work == null) {
+                return true;
+            }
+            try {
+                return work.drain(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package net.janci.zoregano.core.internal;
+
+/**
+ * Exception class for signal cyclic dependency between modules in the {@link ModuleGraph}.
+ *
+ * @see ModuleGraph
+ */
+public class CyclicDependencyException extends RuntimeException {
+    CyclicDependencyException(String message) {
+        super(message);
+    }
+}
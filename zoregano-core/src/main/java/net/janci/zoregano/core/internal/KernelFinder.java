@@ -1,9 +1,13 @@
 package net.janci.zoregano.core.internal;
 
 import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.internal.ServiceIndex;
 
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.stream.Collectors;
 
 /**
  * Find {@link Kernel} in the Zoregano System.
@@ -15,12 +19,18 @@ public class KernelFinder {
      */
     public final static String PREFERRED_CLASS_PROPERTY_NAME = "kernel";
 
+    /**
+     * Property name to define instances of kernels in multi-kernel mode.
+     */
+    public final static String INSTANCES_PROPERTY_NAME = "kernel.instances";
+
     /**
      * Find {@link Kernel} in the Zoregano System.
      *
      * Most priority for select {@link Kernel} has system property -Dkernel=&lt;class&gt;.
      * When this property does not obtained, {@link Kernel} is loaded automatically,
-     * finding service by {@link ServiceLoader#load(Class)}. But if no {@link Kernel} found,
+     * finding service by build-time {@link ServiceIndex}, or by {@link ServiceLoader#load(Class)}
+     * when the index is not available. But if no {@link Kernel} found,
      * or more as one {@link Kernel} is found, {@link FindKernelException} throw.
      *
      * @return kernel interface implementation defined as system kernel
@@ -31,27 +41,64 @@ public class KernelFinder {
      *
      */
     public Kernel findKernel() throws FindKernelException {
-        String serverClassName = System.getProperty(PREFERRED_CLASS_PROPERTY_NAME);
+        return findKernel(System.getProperty(PREFERRED_CLASS_PROPERTY_NAME));
+    }
+
+    /**
+     * Find instances of {@link Kernel}s for multi-kernel mode, that is enabled by system property
+     * -Dkernel.instances=&lt;name&gt;[:&lt;class&gt;],... e.g. -Dkernel.instances=tenant-a,tenant-b,reports:com.acme.ReportKernel.
+     * Every instance is new object of kernel, instance without class is found by the same rules as
+     * {@link #findKernel()}.
+     *
+     * @return kernels by names of instances, in order of the property; empty map, when multi-kernel mode is not enabled
+     * @throws FindKernelException when the property defines no instance, any kernel can not be found, or name of
+     *                             instance is empty, duplicated or contains '.', '/' or '\'
+     */
+    public Map<String, Kernel> findKernels() throws FindKernelException {
+        String instances = System.getProperty(INSTANCES_PROPERTY_NAME);
+        Map<String, Kernel> kernels = new LinkedHashMap<>();
+        if (instances == null) {
+            return kernels;
+        }
+        if (instances.isBlank()) {
+            throw new FindKernelException("Property '" + INSTANCES_PROPERTY_NAME + "' defines no kernel instance.");
+        }
 
-        ServiceLoader<Kernel> kernelLoader = ServiceLoader.load(Kernel.class);
+        for (String instance : instances.split(",")) {
+            int separator = instance.indexOf(':');
+            String name = (separator < 0 ? instance : instance.substring(0, separator)).trim();
+            String className = separator < 0 ? System.getProperty(PREFERRED_CLASS_PROPERTY_NAME) : instance.substring(separator + 1).trim();
+            if (name.isEmpty()) {
+                throw new FindKernelException("Kernel instance in '" + instances + "' has no name.");
+            }
+            if (name.contains(".") || name.contains("/") || name.contains("\\")) {
+                // name is scope of configurations, that is flattened into their names
+                throw new FindKernelException("Name of kernel instance '" + name + "' must not contain '.', '/' or '\\'.");
+            }
+            if (kernels.containsKey(name)) {
+                throw new FindKernelException("Kernel instance '" + name + "' is defined more as once.");
+            }
+            kernels.put(name, findKernel(className));
+        }
+        return kernels;
+    }
 
+    private Kernel findKernel(String serverClassName) throws FindKernelException {
         if (serverClassName == null) {
-            Iterator<Kernel> kernelIterator = kernelLoader.iterator();
+            List<ServiceLoader.Provider<Kernel>> kernels = ServiceIndex.providers(Kernel.class).collect(Collectors.toList());
 
-            if (!kernelIterator.hasNext()) {
+            if (kernels.isEmpty()) {
                 throw new FindKernelException("Not found any kernel in the system.");
             }
 
-            Kernel kernel = kernelIterator.next();
-
-            if (kernelIterator.hasNext()) {
+            if (kernels.size() > 1) {
                 throw new FindKernelException("Find more as one kernel in the system. Please specify kernel by property 'kernel.class')");
             }
 
-            return kernel;
+            return kernels.get(0).get();
         }
 
-        return kernelLoader.stream()
+        return ServiceIndex.providers(Kernel.class)
                 .filter(ws -> ws.type().getName().equals(serverClassName))
                 .findAny().map(ServiceLoader.Provider::get)
                 .orElseThrow(() -> new FindKernelException("Kernel Class '" + serverClassName + "' not found by service loader."));
@@ -0,0 +1,165 @@
+package net.janci.zoregano.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dependency graph of modules. Graph is used to run modules in the order defined by their dependencies,
+ * with maximal parallelism, that the graph allows.
+ *
+ * Dependencies are defined by classes. Every module, that is instance of dependency class is treated
+ * as dependency. Dependency without any related module is ignored.
+ *
+ * @param <T>   type of module
+ */
+public class ModuleGraph<T> {
+
+    private final List<T> modules;
+
+    private final List<List<Integer>> dependents;
+
+    private final List<List<Integer>> dependencies;
+
+    private ModuleGraph(List<T> modules, List<List<Integer>> dependencies) {
+        this.modules = modules;
+        this.dependencies = dependencies;
+        this.dependents = new ArrayList<>(modules.size());
+        for (int i = 0; i < modules.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < modules.size(); i++) {
+            for (int dependency : dependencies.get(i)) {
+                dependents.get(dependency).add(i);
+            }
+        }
+    }
+
+    /**
+     * Create graph from modules.
+     *
+     * @param modules           modules, that are part of graph
+     * @param dependencyClasses function returns dependency classes for module
+     * @param <T>               type of module
+     * @return  created dependency graph
+     *
+     * @throws CyclicDependencyException when modules have cyclic dependency
+     */
+    public static <T> ModuleGraph<T> of(List<T> modules,
+                                        Function<? super T, ? extends Collection<? extends Class<?>>> dependencyClasses) {
+        List<T> nodes = List.copyOf(modules);
+        List<List<Integer>> dependencies = new ArrayList<>(nodes.size());
+
+        for (int i = 0; i < nodes.size(); i++) {
+            List<Integer> moduleDependencies = new ArrayList<>();
+            for (Class<?> dependencyClass : dependencyClasses.apply(nodes.get(i))) {
+                for (int j = 0; j < nodes.size(); j++) {
+                    if (i != j && dependencyClass.isInstance(nodes.get(j)) && !moduleDependencies.contains(j)) {
+                        moduleDependencies.add(j);
+                    }
+                }
+            }
+            dependencies.add(moduleDependencies);
+        }
+
+        ModuleGraph<T> graph = new ModuleGraph<>(nodes, dependencies);
+        graph.checkCycles();
+        return graph;
+    }
+
+    /**
+     * @return all modules in the graph
+     */
+    public List<T> getModules() {
+        return modules;
+    }
+
+    /**
+     * @param module    module in the graph
+     * @return modules, that must be finished before the module
+     */
+    public List<T> getDependencies(T module) {
+        return dependencies.get(indexOf(module)).stream().map(modules::get).collect(Collectors.toList());
+    }
+
+    /**
+     * @param module    module in the graph
+     * @return modules, that depend on the module
+     */
+    public List<T> getDependents(T module) {
+        return dependents.get(indexOf(module)).stream().map(modules::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Compose asynchronous actions of all modules. Action for module is started immediately, when stages of
+     * all its dependencies are completed. When stage fails, dependent modules are still started.
+     * Action runs in the thread, that completed the last dependency (or called this method), so it should
+     * only start its stage and must not block.
+     *
+     * @param action    asynchronous action started for every module
+     * @return future completed, when stages of all modules are completed; it never fails
+     */
+    public CompletableFuture<Void> compose(Function<? super T, ? extends CompletionStage<Void>> action) {
+        CompletableFuture<?>[] stages = new CompletableFuture<?>[modules.size()];
+        for (int i = 0; i < modules.size(); i++) {
+            compose(i, action, stages);
+        }
+        return CompletableFuture.allOf(stages);
+    }
+
+    private CompletableFuture<?> compose(int index, Function<? super T, ? extends CompletionStage<Void>> action,
+                                         CompletableFuture<?>[] stages) {
+        if (stages[index] == null) {
+            CompletableFuture<?>[] before = dependencies.get(index).stream()
+                    .map(dependency -> compose(dependency, action, stages))
+                    .toArray(CompletableFuture<?>[]::new);
+            stages[index] = CompletableFuture.allOf(before)
+                    .thenCompose(ignored -> action.apply(modules.get(index)))
+                    .handle((result, error) -> null);
+        }
+        return stages[index];
+    }
+
+    private int indexOf(T module) {
+        for (int i = 0; i < modules.size(); i++) {
+            if (modules.get(i) == module) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Module " + module + " is not part of graph.");
+    }
+
+    private void checkCycles() {
+        int[] state = new int[modules.size()];
+        List<Integer> path = new ArrayList<>();
+        for (int i = 0; i < modules.size(); i++) {
+            if (state[i] == 0) {
+                visit(i, state, path);
+            }
+        }
+    }
+
+    private void visit(int index, int[] state, List<Integer> path) {
+        state[index] = 1;
+        path.add(index);
+        for (int dependency : dependencies.get(index)) {
+            if (state[dependency] == 1) {
+                List<Integer> cycle = new ArrayList<>(path.subList(path.indexOf(dependency), path.size()));
+                cycle.add(dependency);
+                throw new CyclicDependencyException("Cyclic dependency between modules (module -> its dependency): " + cycle.stream()
+                        .map(i -> modules.get(i).getClass().getName())
+                        .collect(Collectors.joining(" -> ")));
+            }
+            if (state[dependency] == 0) {
+                visit(dependency, state, path);
+            }
+        }
+        path.remove(path.size() - 1);
+        state[index] = 2;
+    }
+}
@@ -0,0 +1,137 @@
+package net.janci.zoregano.core.internal;
+
+import net.janci.zoregano.api.logging.Logger;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Shutdown of modules in the reverse order of their {@link ModuleGraph}. Module is shut down, when all modules,
+ * that depend on it, are shut down, so independent modules are shut down in parallel.
+ *
+ * Every module has own deadline, that starts with its shutdown. Module, that missed its deadline, does not block
+ * shutdown of its dependencies and the whole shutdown any more, it is left running in its thread and reported
+ * as straggler with time, how much it overran the deadline.
+ *
+ * @param <T>   type of module
+ */
+public class ShutdownCoordinator<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(ShutdownCoordinator.class);
+
+    private final ModuleGraph<T> graph;
+
+    private final Executor executor;
+
+    private final Duration moduleTimeout;
+
+    private final String description;
+
+    /**
+     * @param graph         dependency graph of modules
+     * @param executor      executor, where modules are shut down
+     * @param moduleTimeout deadline of every module
+     * @param description   description of modules in the report, e.g. "BIOS module"
+     */
+    public ShutdownCoordinator(ModuleGraph<T> graph, Executor executor, Duration moduleTimeout, String description) {
+        this.graph = graph;
+        this.executor = executor;
+        this.moduleTimeout = moduleTimeout;
+        this.description = description;
+    }
+
+    /**
+     * Shut down all modules and wait, until every module is finished or it missed its deadline.
+     * Failures and stragglers are reported to the {@link Logger}.
+     *
+     * @param action    shutdown of module, e.g. unload
+     * @return modules, that missed their deadline, with time in nanoseconds, how much they overran the deadline;
+     *         time of module, that is still running, is measured to the end of shutdown
+     * @throws InterruptedException when waiting thread was interrupted
+     */
+    public Map<T, Long> shutdown(Consumer<? super T> action) throws InterruptedException {
+        List<T> modules = graph.getModules();
+        Map<T, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < modules.size(); i++) {
+            indexes.put(modules.get(i), i);
+        }
+
+        AtomicLongArray deadlines = new AtomicLongArray(modules.size());
+        AtomicLongArray finished = new AtomicLongArray(modules.size());
+        CompletableFuture<?>[] released = new CompletableFuture<?>[modules.size()];
+        for (int i = 0; i < modules.size(); i++) {
+            release(i, modules, indexes, action, released, deadlines, finished);
+        }
+
+        try {
+            CompletableFuture.allOf(released).get();
+        } catch (ExecutionException e) {
+            LOGGER.error("Shutdown of " + description + "s failed", e.getCause());
+        }
+
+        long now = System.nanoTime();
+        Map<T, Long> stragglers = new LinkedHashMap<>();
+        for (int i = 0; i < modules.size(); i++) {
+            long deadline = deadlines.get(i);
+            long end = finished.get(i);
+            if (deadline != 0 && (end == 0 || end - deadline > 0)) {
+                long overrun = (end == 0 ? now : end) - deadline;
+                stragglers.put(modules.get(i), overrun);
+                LOGGER.warn(String.format("%s %s missed shutdown deadline of %d ms by %.1f ms%s",
+                        description, modules.get(i).getClass().getName(), moduleTimeout.toMillis(),
+                        overrun / 1e6, end == 0 ? " and it is still running" : ""));
+            }
+        }
+        return stragglers;
+    }
+
+    /**
+     * Future of module is completed, when module is finished or when its deadline expired.
+     */
+    private CompletableFuture<?> release(int index, List<T> modules, Map<T, Integer> indexes, Consumer<? super T> action,
+                                         CompletableFuture<?>[] released, AtomicLongArray deadlines,
+                                         AtomicLongArray finished) {
+        if (released[index] != null) {
+            return released[index];
+        }
+
+        T module = modules.get(index);
+        CompletableFuture<?>[] dependents = graph.getDependents(module).stream()
+                .map(dependent -> release(indexes.get(dependent), modules, indexes, action, released, deadlines, finished))
+                .toArray(CompletableFuture<?>[]::new);
+
+        released[index] = CompletableFuture.allOf(dependents)
+                .handle((result, error) -> null)
+                .thenCompose(ignored -> {
+                    deadlines.set(index, nonZero(System.nanoTime() + moduleTimeout.toNanos()));
+                    return CompletableFuture.runAsync(() -> action.accept(module), executor)
+                            .handle((result, error) -> {
+                                finished.set(index, nonZero(System.nanoTime()));
+                                if (error != null) {
+                                    LOGGER.error(description + " " + module.getClass().getName() + " failed to shut down",
+                                            error instanceof CompletionException ? error.getCause() : error);
+                                }
+                                return null;
+                            })
+                            .completeOnTimeout(null, moduleTimeout.toNanos(), TimeUnit.NANOSECONDS);
+                });
+        return released[index];
+    }
+
+    /**
+     * Zero is reserved for "not set" in the arrays of times.
+     */
+    private static long nonZero(long nanoTime) {
+        return nanoTime == 0 ? 1 : nanoTime;
+    }
+}
@@ -0,0 +1,38 @@
+package net.janci.zoregano.core.internal.boot;
+
+import jdk.jfr.Event;
+
+/**
+ * Factory for boot JFR events. Class is loaded only when flight recorder is initialized, because first
+ * use of event class costs hundreds of milliseconds, that would be visible in the boot itself.
+ *
+ * @see BootTimeline
+ */
+class BootEvents {
+
+    static Event begin(String phase, String module) {
+        if (module == null) {
+            BootPhaseEvent event = new BootPhaseEvent();
+            event.phase = phase;
+            event.begin();
+            return event;
+        }
+
+        BootModuleEvent event = new BootModuleEvent();
+        event.phase = phase;
+        event.module = module;
+        event.begin();
+        return event;
+    }
+
+    static void commit(Event event, long threadsStarted, long allocatedBytes) {
+        if (event instanceof BootPhaseEvent) {
+            ((BootPhaseEvent) event).threadsStarted = threadsStarted;
+            ((BootPhaseEvent) event).allocatedBytes = allocatedBytes;
+        } else {
+            ((BootModuleEvent) event).threadsStarted = threadsStarted;
+            ((BootModuleEvent) event).allocatedBytes = allocatedBytes;
+        }
+        event.commit();
+    }
+}
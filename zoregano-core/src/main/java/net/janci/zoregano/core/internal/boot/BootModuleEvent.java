@@ -0,0 +1,33 @@
+package net.janci.zoregano.core.internal.boot;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for load or unload of one module during Zoregano System boot.
+ *
+ * @see BootTimeline
+ */
+@Name("net.janci.zoregano.BootModule")
+@Label("Boot Module")
+@Category({"Zoregano", "Boot"})
+@Description("Load or unload of one module of Zoregano System")
+class BootModuleEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Module")
+    String module;
+
+    @Label("Threads Started")
+    long threadsStarted;
+
+    @Label("Allocated")
+    @DataAmount
+    @Description("Bytes allocated by thread, that ran the module, or -1 when module ends on other thread")
+    long allocatedBytes;
+}
@@ -0,0 +1,30 @@
+package net.janci.zoregano.core.internal.boot;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one phase of Zoregano System boot.
+ *
+ * @see BootTimeline
+ */
+@Name("net.janci.zoregano.BootPhase")
+@Label("Boot Phase")
+@Category({"Zoregano", "Boot"})
+@Description("Phase of Zoregano System boot, as BIOS construction, kernel discovery or kernel initialization")
+class BootPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Threads Started")
+    long threadsStarted;
+
+    @Label("Allocated")
+    @DataAmount
+    @Description("Bytes allocated by thread, that ran the phase, or -1 when phase ends on other thread")
+    long allocatedBytes;
+}
@@ -0,0 +1,275 @@
+package net.janci.zoregano.core.internal.boot;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Timeline of Zoregano System boot. Every phase and every module load is recorded with its wall time,
+ * count of started threads and bytes allocated by the thread, that ran it. When flight recorder is running
+ * from start of JVM (-XX:StartFlightRecording), every record is also emitted as JFR event
+ * ({@link BootPhaseEvent} or {@link BootModuleEvent}).
+ *
+ * When system property -Dboot.timeline.report=&lt;file&gt; is defined, timeline can be written as report
+ * to the file by {@link #writeReport()}. When file name ends with ".csv", report is written as CSV,
+ * otherwise as JSON.
+ */
+public class BootTimeline {
+
+    /**
+     * Property name to define file, where boot timeline report is written.
+     */
+    public final static String REPORT_PROPERTY_NAME = "boot.timeline.report";
+
+    private final boolean jfrEnabled = FlightRecorder.isInitialized();
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private final long startNanos = System.nanoTime();
+
+    private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Begin new boot phase. Phase is recorded, when {@link Phase#end()} is called.
+     *
+     * @param phase name of phase
+     * @return started phase
+     */
+    public Phase begin(String phase) {
+        return new Phase(phase, null);
+    }
+
+    /**
+     * Begin load or unload of module in the boot phase. Module is recorded, when {@link Phase#end()} is called.
+     *
+     * @param phase     name of phase
+     * @param module    module, that is loaded or unloaded
+     * @return started phase of module
+     */
+    public Phase begin(String phase, Object module) {
+        return new Phase(phase, module.getClass().getName());
+    }
+
+    /**
+     * @return all finished records, in order how they were finished
+     */
+    public List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Write report to file defined by system property -Dboot.timeline.report. When the property is not
+     * defined, nothing is written.
+     *
+     * @throws IOException when report can not be written
+     */
+    public void writeReport() throws IOException {
+        String report = System.getProperty(REPORT_PROPERTY_NAME);
+        if (report != null) {
+            writeReport(Path.of(report));
+        }
+    }
+
+    /**
+     * Write report to file. When file name ends with ".csv", report is written as CSV, otherwise as JSON.
+     *
+     * @param file  report file
+     * @throws IOException when report can not be written
+     */
+    public void writeReport(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (file.getFileName().toString().endsWith(".csv")) {
+                writeCsv(writer);
+            } else {
+                writeJson(writer);
+            }
+        }
+    }
+
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write("phase,module,thread,startNanos,durationNanos,threadsStarted,allocatedBytes\n");
+        for (Entry entry : entries) {
+            writer.write(csv(entry.phase) + "," + csv(entry.module) + "," + csv(entry.thread) + ","
+                    + entry.startNanos + "," + entry.durationNanos + ","
+                    + entry.threadsStarted + "," + entry.allocatedBytes + "\n");
+        }
+    }
+
+    private void writeJson(Writer writer) throws IOException {
+        writer.write("[");
+        String separator = "\n";
+        for (Entry entry : entries) {
+            writer.write(separator + "  {\"phase\": " + json(entry.phase)
+                    + ", \"module\": " + json(entry.module)
+                    + ", \"thread\": " + json(entry.thread)
+                    + ", \"startNanos\": " + entry.startNanos
+                    + ", \"durationNanos\": " + entry.durationNanos
+                    + ", \"threadsStarted\": " + entry.threadsStarted
+                    + ", \"allocatedBytes\": " + entry.allocatedBytes + "}");
+            separator = ",\n";
+        }
+        writer.write("\n]\n");
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String json(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private long allocatedBytes(long threadId) {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(threadId);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Running phase of boot or running load of module.
+     */
+    public class Phase implements AutoCloseable {
+
+        private final String phase;
+
+        private final String module;
+
+        private final Thread thread = Thread.currentThread();
+
+        private final long begin = System.nanoTime();
+
+        private final long threadsStarted = threadBean.getTotalStartedThreadCount();
+
+        private final long allocatedBytes = allocatedBytes(thread.getId());
+
+        private final Event event;
+
+        private Phase(String phase, String module) {
+            this.phase = phase;
+            this.module = module;
+            this.event = jfrEnabled ? BootEvents.begin(phase, module) : null;
+        }
+
+        /**
+         * Finish the phase, record it into timeline and commit JFR event, when flight recorder is running.
+         */
+        public void end() {
+            long duration = System.nanoTime() - begin;
+            long started = threadBean.getTotalStartedThreadCount() - threadsStarted;
+            long allocated = -1;
+            if (thread == Thread.currentThread() && allocatedBytes >= 0) {
+                allocated = allocatedBytes(thread.getId()) - allocatedBytes;
+            }
+
+            entries.add(new Entry(phase, module, thread.getName(), begin - startNanos, duration, started, allocated));
+
+            if (event != null) {
+                BootEvents.commit(event, started, allocated);
+            }
+        }
+
+        /**
+         * Same as {@link #end()}.
+         */
+        @Override
+        public void close() {
+            end();
+        }
+    }
+
+    /**
+     * Finished record in the boot timeline.
+     */
+    public static class Entry {
+
+        private final String phase;
+
+        private final String module;
+
+        private final String thread;
+
+        private final long startNanos;
+
+        private final long durationNanos;
+
+        private final long threadsStarted;
+
+        private final long allocatedBytes;
+
+        private Entry(String phase, String module, String thread, long startNanos, long durationNanos,
+                      long threadsStarted, long allocatedBytes) {
+            this.phase = phase;
+            this.module = module;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.threadsStarted = threadsStarted;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /** @return name of phase */
+        public String getPhase() {
+            return phase;
+        }
+
+        /** @return class name of module, or null when record is phase */
+        public String getModule() {
+            return module;
+        }
+
+        /** @return name of thread, that started the record */
+        public String getThread() {
+            return thread;
+        }
+
+        /** @return start of record in nanoseconds from timeline creation */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /** @return wall time of record in nanoseconds */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /** @return count of threads started during record */
+        public long getThreadsStarted() {
+            return threadsStarted;
+        }
+
+        /** @return bytes allocated by thread of record, or -1 when not available */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
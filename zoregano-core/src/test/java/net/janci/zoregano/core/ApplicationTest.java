@@ -0,0 +1,125 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.BIOS;
+import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.KernelController;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationTest {
+
+    @org.junit.jupiter.api.Test
+    void testShutdownHookTerminatesBlockedKernel() throws Exception {
+        BlockingKernel kernel = new BlockingKernel();
+        KernelSupervisor supervisor = new KernelSupervisor(kernel, new BootTimeline());
+        RecordingBIOS bios = new RecordingBIOS(kernel);
+        Thread main = new Thread(supervisor::run, "main");
+        main.start();
+        assertTrue(kernel.initialized.await(10, TimeUnit.SECONDS), "Kernel must be initialized");
+
+        Thread hook = new Thread(() -> Application.terminate(null, supervisor, bios, new BootTimeline()), "shutdown-hook");
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            hook.start();
+            hook.join();
+            main.join();
+        });
+        assertEquals(1, kernel.terminations.get());
+        assertEquals(1, bios.terminations.get());
+        assertTrue(bios.kernelTerminatedFirst.get(), "Kernel must be terminated before BIOS");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testShutdownHookTerminatesBlockedKernelGroup() throws Exception {
+        BlockingKernel first = new BlockingKernel();
+        BlockingKernel second = new BlockingKernel();
+        Map<String, Kernel> kernels = new LinkedHashMap<>();
+        kernels.put("tenant-a", first);
+        kernels.put("tenant-b", second);
+        BootTimeline timeline = new BootTimeline();
+        KernelGroup group = new KernelGroup(kernels, timeline, 2, null);
+        RecordingBIOS bios = new RecordingBIOS(second);
+        Thread main = new Thread(group::run, "main");
+        main.start();
+        assertTrue(first.initialized.await(10, TimeUnit.SECONDS), "Kernel must be initialized");
+        assertTrue(second.initialized.await(10, TimeUnit.SECONDS), "Kernel must be initialized");
+
+        Thread hook = new Thread(() -> Application.terminate(group, null, bios, timeline), "shutdown-hook");
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            hook.start();
+            hook.join();
+            main.join();
+        });
+        assertEquals(1, first.terminations.get());
+        assertEquals(1, second.terminations.get());
+        assertTrue(bios.kernelTerminatedFirst.get(), "Kernels must be terminated before BIOS");
+    }
+
+    /**
+     * Kernel, whose init blocks until it is terminated.
+     */
+    private static class BlockingKernel implements Kernel {
+
+        private final CountDownLatch initialized = new CountDownLatch(1);
+
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        private final AtomicInteger terminations = new AtomicInteger();
+
+        @Override
+        public void init() {
+            initialized.countDown();
+            try {
+                stopped.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void terminate() {
+            terminations.incrementAndGet();
+            stopped.countDown();
+        }
+
+        @Override
+        public KernelController getController() {
+            return null;
+        }
+    }
+
+    private static class RecordingBIOS implements BIOS {
+
+        private final BlockingKernel kernel;
+
+        private final AtomicInteger terminations = new AtomicInteger();
+
+        private final AtomicBoolean kernelTerminatedFirst = new AtomicBoolean();
+
+        private RecordingBIOS(BlockingKernel kernel) {
+            this.kernel = kernel;
+        }
+
+        @Override
+        public void loadBIOSModules() {
+        }
+
+        @Override
+        public void awaitToStartKernel() {
+        }
+
+        @Override
+        public void terminate() {
+            terminations.incrementAndGet();
+            kernelTerminatedFirst.set(kernel.terminations.get() == 1);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.logging.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogModuleTest {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncLogModuleTest.class);
+
+    @org.junit.jupiter.api.Test
+    void testMessagesAreWrittenToFile() throws IOException {
+        Path file = Files.createTempDirectory("zoregano-log").resolve("logs/test.log");
+        AsyncLogModule module = new AsyncLogModule(file, 1024);
+        module.load(new String[0]);
+        try {
+            StringBuilder message = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                message.setLength(0);
+                LOGGER.info(message.append("request ").append(i));
+            }
+            LOGGER.info("x".repeat(AsyncLogModule.MESSAGE_CAPACITY + 1));
+            LOGGER.error("request failed", new IllegalStateException("broken"));
+            LOGGER.debug("not logged");
+        } finally {
+            module.unload();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(0).matches("\\S+Z INFO \\[main] net\\.janci\\.zoregano\\.core\\.AsyncLogModuleTest - request 0"),
+                lines.get(0));
+        assertTrue(lines.get(99).endsWith(" - request 99"));
+        assertTrue(lines.get(100).endsWith(" - " + "x".repeat(AsyncLogModule.MESSAGE_CAPACITY + 1)));
+        assertTrue(lines.get(101).contains(" ERROR [main] ") && lines.get(101).endsWith(" - request failed"));
+        assertEquals("java.lang.IllegalStateException: broken", lines.get(102));
+        assertTrue(lines.stream().noneMatch(line -> line.contains("not logged")));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFullBufferDropsAndReportsMessages() throws IOException {
+        Path file = Files.createTempDirectory("zoregano-log").resolve("test.log");
+        AsyncLogModule module = new AsyncLogModule(file, 2);
+        module.load(new String[0]);
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                LOGGER.info("message");
+            }
+        } finally {
+            module.unload();
+        }
+
+        Pattern dropped = Pattern.compile(" - (\\d+) log messages were dropped");
+        long written = 0;
+        long reported = 0;
+        for (String line : Files.readAllLines(file)) {
+            Matcher matcher = dropped.matcher(line);
+            if (matcher.find()) {
+                reported += Long.parseLong(matcher.group(1));
+            } else if (line.endsWith(" - message")) {
+                written++;
+            }
+        }
+        assertTrue(written > 0);
+        assertEquals(10_000, written + reported + module.getDropped());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testLoggingAndWritingDoNotAllocate() throws IOException, InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Path file = Files.createTempDirectory("zoregano-log").resolve("test.log");
+        // buffer is large enough for every round of messages, so no message is dropped
+        AsyncLogModule module = new AsyncLogModule(file, 16384);
+        module.load(new String[0]);
+        try {
+            long writerId = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("log-writer"))
+                    .findAny().orElseThrow().getId();
+            StringBuilder message = new StringBuilder(64);
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 10_000; i++) {
+                    message.setLength(0);
+                    LOGGER.info(message.append("warm up ").append(round));
+                }
+                awaitWritten(file, "warm up " + round);
+            }
+
+            long allocated = threads.getThreadAllocatedBytes(threadId);
+            long writerAllocated = threads.getThreadAllocatedBytes(writerId);
+            for (int i = 0; i < 10_000; i++) {
+                message.setLength(0);
+                LOGGER.info(message.append("request ").append(i));
+            }
+            allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+            awaitWritten(file, "request 9999");
+            writerAllocated = threads.getThreadAllocatedBytes(writerId) - writerAllocated;
+
+            assertTrue(allocated < 10_000, "Logging allocated " + allocated + " bytes");
+            // timestamp is formatted once per second
+            assertTrue(writerAllocated < 100_000, "Writer allocated " + writerAllocated + " bytes");
+        } finally {
+            module.unload();
+        }
+    }
+
+    /**
+     * Wait, until the last logged message is written.
+     */
+    private static void awaitWritten(Path file, String last) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            List<String> lines = Files.readAllLines(file);
+            if (!lines.isEmpty() && lines.get(lines.size() - 1).endsWith(" - " + last)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Message '" + last + "' was not written");
+    }
+}
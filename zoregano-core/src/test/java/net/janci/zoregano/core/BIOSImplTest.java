@@ -0,0 +1,330 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.BIOSModule;
+import net.janci.zoregano.api.internal.ServiceIndex;
+import net.janci.zoregano.concurrent.EventBus;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
+import net.janci.zoregano.core.internal.CyclicDependencyException;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BIOSImplTest {
+
+    private static final long MODULE_LOAD_MILLIS = 100;
+
+    private static final Map<Class<?>, long[]> loadTimes = new ConcurrentHashMap<>();
+
+    @org.junit.jupiter.api.Test
+    void testLoadModulesByDependencyGraph() {
+        // critical path: A -> B -> E; C is independent and D depends only on A, so C is loaded in parallel with A,
+        // and D in parallel with B
+        BIOSImpl bios = new BIOSImpl(new String[0], List.of(new ModuleE(), new ModuleD(), new ModuleC(), new ModuleB(), new ModuleA()));
+
+        long start = System.nanoTime();
+        bios.loadBIOSModules();
+        bios.awaitToStartKernel();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 3 modules on the critical path, sequential load of all 5 modules would take 5 times module load
+        assertTrue(elapsedMillis >= 3 * MODULE_LOAD_MILLIS, "Loaded in " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 4 * MODULE_LOAD_MILLIS, "Loaded in " + elapsedMillis + " ms, modules were not loaded in parallel");
+        assertTrue(loadTimes.get(ModuleA.class)[1] <= loadTimes.get(ModuleB.class)[0]);
+        assertTrue(loadTimes.get(ModuleA.class)[1] <= loadTimes.get(ModuleD.class)[0]);
+        assertTrue(loadTimes.get(ModuleB.class)[1] <= loadTimes.get(ModuleE.class)[0]);
+        assertTrue(loadTimes.get(ModuleC.class)[1] <= loadTimes.get(ModuleE.class)[0]);
+        assertOverlap(ModuleA.class, ModuleC.class);
+        assertOverlap(ModuleB.class, ModuleD.class);
+
+        EventBus eventBus = EventBus.system();
+        bios.terminate();
+        assertTrue(eventBus.isClosed(), "Event bus of the system must be closed with BIOS");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testRejectedLoadDoesNotBlockAwait() {
+        ExecutorRegistry executors = new ExecutorRegistry("bios-test");
+        executors.close();
+        BIOSImpl bios = new BIOSImpl(new String[0], List.of(new ModuleA(), new ModuleB()), new BootTimeline(),
+                executors, new EventBus("bios-test"), Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            bios.loadBIOSModules();
+            bios.awaitToStartKernel();
+        });
+    }
+
+    @org.junit.jupiter.api.Test
+    void testTerminateIsBoundedAndIdempotent() throws InterruptedException {
+        HangingModule hanging = new HangingModule();
+        ModuleA dependency = new ModuleA();
+        EventBus eventBus = new EventBus("bios-test");
+        BIOSImpl bios = new BIOSImpl(new String[0], List.of(dependency, hanging), new BootTimeline(),
+                new ExecutorRegistry("bios-test"), eventBus, Duration.ofSeconds(10), Duration.ofMillis(100));
+        bios.loadBIOSModules();
+        bios.awaitToStartKernel();
+
+        long start = System.nanoTime();
+        bios.terminate();
+        bios.terminate();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2_000, "Terminate must not wait for hanging module: " + elapsedMillis);
+        assertEquals(1, hanging.unloads.get());
+        assertTrue(eventBus.isClosed());
+        assertTrue(hanging.interrupted.await(10, TimeUnit.SECONDS), "Hanging module must be interrupted after its deadline");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testAsyncLoadHoldsNoThreadAndTimesOut() {
+        CompletableFuture<Void> warmUp = new CompletableFuture<>();
+        AsyncModule async = new AsyncModule(warmUp);
+        NeverLoadedModule never = new NeverLoadedModule();
+        DependentModule dependent = new DependentModule();
+        BIOSImpl bios = new BIOSImpl(new String[0], List.of(dependent, never, async), new BootTimeline(),
+                new ExecutorRegistry("bios-test", 1, 1), new EventBus("bios-test"),
+                Duration.ofMillis(200), Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        bios.loadBIOSModules();
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> warmUp.complete(null));
+        bios.awaitToStartKernel();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2_000, "Await must be bounded by load timeout: " + elapsedMillis);
+        assertTrue(dependent.loadedAfter >= 0 && dependent.loadedAfter >= async.completedAt.get(),
+                "Dependent module must wait for completion of async load");
+        assertTrue(warmUp.isDone() && !warmUp.isCompletedExceptionally(), "Timeout must not complete stage of module");
+
+        bios.terminate();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testBlockingSynchronousLoadTimesOut() {
+        BlockingLoadModule blocking = new BlockingLoadModule();
+        BIOSImpl bios = new BIOSImpl(new String[0], List.of(blocking), new BootTimeline(),
+                new ExecutorRegistry("bios-test", 1, 2), new EventBus("bios-test"),
+                Duration.ofMillis(200), Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        bios.loadBIOSModules();
+        bios.awaitToStartKernel();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2_000, "Await must be bounded by load timeout: " + elapsedMillis);
+        assertEquals(1, blocking.released.getCount(), "Module must be still blocked in its load");
+
+        blocking.released.countDown();
+        bios.terminate();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDiscoveryUsesIndexOfCore() throws IOException {
+        try (InputStream index = BIOSImpl.class.getModule().getResourceAsStream(
+                ServiceIndex.INDEX_LOCATION + BIOSModule.class.getName())) {
+            assertNotNull(index, "Index of BIOS modules must be generated by zoregano-processor");
+        }
+
+        List<ServiceLoader.Provider<BIOSModule>> providers = ServiceIndex.providers(BIOSModule.class)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(AsyncLogModule.class, MetricsExporter.class),
+                providers.stream().map(ServiceLoader.Provider::type).collect(Collectors.toList()));
+        assertTrue(providers.stream().allMatch(provider -> provider.getClass().getEnclosingClass() == ServiceIndex.class),
+                "Providers must be read from index, not by ServiceLoader: " + providers);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testCyclicDependencyFailsFast() {
+        assertThrows(CyclicDependencyException.class,
+                () -> new BIOSImpl(new String[0], List.of(new CycleX(), new CycleY())));
+    }
+
+    /**
+     * Loads of modules overlap, when each of them started before the other one finished.
+     */
+    private static void assertOverlap(Class<?> first, Class<?> second) {
+        long[] firstTimes = loadTimes.get(first);
+        long[] secondTimes = loadTimes.get(second);
+        assertTrue(firstTimes[0] < secondTimes[1] && secondTimes[0] < firstTimes[1],
+                first.getSimpleName() + " and " + second.getSimpleName() + " must be loaded in parallel");
+    }
+
+    private static abstract class SleepingModule implements BIOSModule {
+        @Override
+        public void load(String[] args) {
+            long start = System.nanoTime();
+            try {
+                Thread.sleep(MODULE_LOAD_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            loadTimes.put(getClass(), new long[] {start, System.nanoTime()});
+        }
+
+        @Override
+        public void unload() {
+        }
+    }
+
+    private static class ModuleA extends SleepingModule {
+    }
+
+    private static class AsyncModule implements BIOSModule {
+
+        private final CompletableFuture<Void> warmUp;
+
+        private final AtomicLong completedAt = new AtomicLong(Long.MAX_VALUE);
+
+        private AsyncModule(CompletableFuture<Void> warmUp) {
+            this.warmUp = warmUp;
+        }
+
+        @Override
+        public void load(String[] args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Void> loadAsync(String[] args) {
+            return warmUp.whenComplete((ignored, error) -> completedAt.set(System.nanoTime()));
+        }
+
+        @Override
+        public void unload() {
+        }
+    }
+
+    private static class NeverLoadedModule implements BIOSModule {
+
+        @Override
+        public void load(String[] args) {
+        }
+
+        @Override
+        public CompletionStage<Void> loadAsync(String[] args) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public void unload() {
+        }
+    }
+
+    private static class BlockingLoadModule implements BIOSModule {
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void load(String[] args) {
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void unload() {
+        }
+    }
+
+    private static class DependentModule implements BIOSModule {
+
+        private volatile long loadedAfter = -1;
+
+        @Override
+        public void load(String[] args) {
+            loadedAfter = System.nanoTime();
+        }
+
+        @Override
+        public void unload() {
+        }
+
+        @Override
+        public Set<Class<? extends BIOSModule>> dependsOn() {
+            return Set.of(AsyncModule.class, NeverLoadedModule.class);
+        }
+    }
+
+    private static class HangingModule implements BIOSModule {
+
+        private final AtomicInteger unloads = new AtomicInteger();
+
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void load(String[] args) {
+        }
+
+        @Override
+        public void unload() {
+            unloads.incrementAndGet();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }
+
+        @Override
+        public Set<Class<? extends BIOSModule>> dependsOn() {
+            return Set.of(ModuleA.class);
+        }
+    }
+
+    private static class ModuleB extends SleepingModule {
+        @Override
+        public Set<Class<? extends BIOSModule>> dependsOn() {
+            return Set.of(ModuleA.class);
+        }
+    }
+
+    private static class ModuleC extends SleepingModule {
+    }
+
+    private static class ModuleD extends SleepingModule {
+        @Override
+        public Set<Class<? extends BIOSModule>> dependsOn() {
+            return Set.of(ModuleA.class);
+        }
+    }
+
+    private static class ModuleE extends SleepingModule {
+        @Override
+        public Set<Class<? extends BIOSModule>> dependsOn() {
+            return Set.of(ModuleB.class, ModuleC.class);
+        }
+    }
+
+    private static class CycleX extends SleepingModule {
+        @Override
+        public Set<Class<? extends BIOSModule>> dependsOn() {
+            return Set.of(CycleY.class);
+        }
+    }
+
+    private static class CycleY extends SleepingModule {
+        @Override
+        public Set<Class<? extends BIOSModule>> dependsOn() {
+            return Set.of(CycleX.class);
+        }
+    }
+}
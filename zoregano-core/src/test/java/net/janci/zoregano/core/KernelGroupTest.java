@@ -0,0 +1,159 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.KernelContext;
+import net.janci.zoregano.api.KernelController;
+import net.janci.zoregano.api.config.Configuration;
+import net.janci.zoregano.api.config.ConfigurationFactory;
+import net.janci.zoregano.concurrent.ExecutorRegistry;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KernelGroupTest {
+
+    @org.junit.jupiter.api.Test
+    void testCpusArePartitioned() {
+        assertArrayEquals(new int[] {3, 3, 2}, KernelGroup.partition(8, 3));
+        assertArrayEquals(new int[] {1, 1, 1, 1}, KernelGroup.partition(2, 4));
+        assertArrayEquals(new int[] {16}, KernelGroup.partition(16, 1));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testKernelsRunSideBySideWithOwnContext() {
+        CyclicBarrier bothInitializing = new CyclicBarrier(2);
+        Map<String, Kernel> kernels = new LinkedHashMap<>();
+        TenantKernel first = new TenantKernel(bothInitializing);
+        TenantKernel second = new TenantKernel(bothInitializing);
+        kernels.put("tenant-a", first);
+        kernels.put("tenant-b", second);
+        RecordingConfigurationFactory configurations = new RecordingConfigurationFactory();
+        BootTimeline timeline = new BootTimeline();
+
+        KernelGroup group = new KernelGroup(kernels, timeline, 8, configurations);
+        group.run();
+
+        assertEquals(1, first.initializations.get());
+        assertEquals(1, second.initializations.get());
+        assertEquals("tenant-a", first.context.getName());
+        assertSame(group.getSupervisors().get(0), first.context.getController());
+        assertNotSame(first.context.getController(), second.context.getController());
+        assertNotSame(first.getExecutors(), second.getExecutors());
+        assertNotSame(ExecutorRegistry.system(), first.getExecutors());
+
+        first.context.getConfigurationFactory().getConfiguration("jdbc");
+        second.context.getConfigurationFactory().scoped("reports").containsConfiguration("jdbc");
+        assertEquals(List.of("tenant-a.jdbc", "tenant-b.reports.jdbc"), configurations.requested);
+
+        group.terminate();
+        group.terminate();
+        assertEquals(1, first.terminations.get());
+        assertEquals(1, second.terminations.get());
+        assertTrue(first.getExecutors().isClosed());
+        assertTrue(second.getExecutors().isClosed());
+        assertEquals(List.of("kernel.tenant-a.init", "kernel.tenant-a.terminate", "kernel.tenant-b.init", "kernel.tenant-b.terminate"),
+                timeline.getEntries().stream().map(BootTimeline.Entry::getPhase).sorted().collect(Collectors.toList()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFailedKernelDoesNotStopOthers() {
+        Map<String, Kernel> kernels = new LinkedHashMap<>();
+        TenantKernel healthy = new TenantKernel(null);
+        kernels.put("broken", new TenantKernel(null) {
+            @Override
+            public void init() {
+                throw new IllegalStateException("broken kernel");
+            }
+        });
+        kernels.put("healthy", healthy);
+
+        KernelGroup group = new KernelGroup(kernels, new BootTimeline(), 2, null);
+        group.run();
+        group.terminate();
+
+        assertNull(healthy.context.getConfigurationFactory());
+        assertEquals(1, healthy.initializations.get());
+        assertEquals(1, healthy.terminations.get());
+    }
+
+    private static class TenantKernel implements Kernel {
+
+        private final CyclicBarrier barrier;
+
+        private final AtomicInteger initializations = new AtomicInteger();
+
+        private final AtomicInteger terminations = new AtomicInteger();
+
+        private KernelContext context;
+
+        private TenantKernel(CyclicBarrier barrier) {
+            this.barrier = barrier;
+        }
+
+        @Override
+        public void setContext(KernelContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void init() {
+            if (barrier != null) {
+                try {
+                    // both kernels must be initialized concurrently
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            initializations.incrementAndGet();
+        }
+
+        @Override
+        public void terminate() {
+            terminations.incrementAndGet();
+        }
+
+        @Override
+        public KernelController getController() {
+            return context.getController();
+        }
+
+        @Override
+        public ExecutorRegistry getExecutors() {
+            return context.getExecutors();
+        }
+    }
+
+    private static class RecordingConfigurationFactory implements ConfigurationFactory {
+
+        private final List<String> requested = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Configuration getConfiguration(String config) {
+            requested.add(config);
+            return null;
+        }
+
+        @Override
+        public boolean containsConfiguration(String config) {
+            requested.add(config);
+            return false;
+        }
+
+        @Override
+        public Configuration emptyConfiguration() {
+            return null;
+        }
+    }
+}
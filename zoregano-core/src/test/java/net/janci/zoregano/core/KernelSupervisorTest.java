@@ -0,0 +1,231 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.Kernel;
+import net.janci.zoregano.api.KernelController;
+import net.janci.zoregano.api.KernelHandoff;
+import net.janci.zoregano.api.KernelModule;
+import net.janci.zoregano.core.internal.boot.BootTimeline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KernelSupervisorTest {
+
+    private static final long WARM_UP_MILLIS = 200;
+
+    @org.junit.jupiter.api.Test
+    void testRestartHandsOverWarmState() {
+        CachingModule module = new CachingModule();
+        ModuleKernel kernel = new ModuleKernel(module);
+        BootTimeline timeline = new BootTimeline();
+        KernelSupervisor supervisor = new KernelSupervisor(kernel, timeline);
+
+        supervisor.run();
+        Map<String, String> cache = module.cache;
+        supervisor.restart();
+
+        assertSame(cache, module.cache, "Cache must be handed over to the next incarnation");
+        assertEquals(1, module.warmUps.get());
+        assertEquals(1, supervisor.getRestarts());
+        assertTrue(supervisor.getColdInitNanos() >= WARM_UP_MILLIS * 1_000_000);
+        assertTrue(supervisor.getLastRestartNanos() < supervisor.getColdInitNanos() / 2,
+                "Restart must take a fraction of cold init: " + supervisor.getLastRestartNanos());
+        assertEquals(List.of("kernel.init", "kernel.restart.terminate", "kernel.restart.init"),
+                timeline.getEntries().stream().map(BootTimeline.Entry::getPhase).collect(Collectors.toList()));
+
+        supervisor.terminate();
+        supervisor.terminate();
+        supervisor.restart();
+        assertEquals(1, kernel.terminations.get());
+        assertEquals(1, supervisor.getRestarts());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testTerminateUnblocksRunningKernel() throws Exception {
+        BlockingKernel kernel = new BlockingKernel();
+        KernelSupervisor supervisor = new KernelSupervisor(kernel, new BootTimeline());
+        Thread runner = new Thread(supervisor::run, "kernel-runner");
+        runner.start();
+        assertSame(BlockingKernel.NO_HANDOFF, kernel.running.poll(10, TimeUnit.SECONDS), "Kernel must be initialized");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            supervisor.terminate();
+            supervisor.terminate();
+            runner.join();
+        });
+        assertEquals(1, kernel.terminations.get());
+        assertEquals(0, supervisor.getRestarts());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testRestartOfBlockedKernelIsInitializedByRunner() throws Exception {
+        BlockingKernel kernel = new BlockingKernel();
+        KernelSupervisor supervisor = new KernelSupervisor(kernel, new BootTimeline());
+        Thread runner = new Thread(supervisor::run, "kernel-runner");
+        runner.start();
+        assertSame(BlockingKernel.NO_HANDOFF, kernel.running.poll(10, TimeUnit.SECONDS), "First incarnation has no handoff");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), supervisor::restart);
+        KernelHandoff handoff = kernel.running.poll(10, TimeUnit.SECONDS);
+        assertNotNull(handoff, "Next incarnation must be initialized by the runner with handoff");
+        assertEquals("warm", handoff.take("state", String.class));
+        assertEquals(1, supervisor.getRestarts());
+        assertTrue(runner.isAlive(), "Runner must run the next incarnation");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            supervisor.terminate();
+            runner.join();
+        });
+        assertEquals(2, kernel.terminations.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testHandoffClosesValuesNotTaken() {
+        AtomicInteger closed = new AtomicInteger();
+        try (KernelHandoff handoff = new KernelHandoff()) {
+            handoff.put("taken", (AutoCloseable) closed::incrementAndGet);
+            handoff.put("left", (AutoCloseable) closed::incrementAndGet);
+            assertNotNull(handoff.take("taken", AutoCloseable.class));
+            assertNull(handoff.take("taken", AutoCloseable.class));
+            assertThrows(ClassCastException.class, () -> handoff.take("left", String.class));
+        }
+        assertEquals(1, closed.get());
+    }
+
+    private static class ModuleKernel implements Kernel {
+
+        private final ModuleKernelController controller;
+
+        private final AtomicInteger terminations = new AtomicInteger();
+
+        private ModuleKernel(KernelModule... modules) {
+            this.controller = new ModuleKernelController(List.of(modules));
+        }
+
+        @Override
+        public void init() {
+            controller.startAll();
+        }
+
+        @Override
+        public void init(KernelHandoff handoff) {
+            controller.startAll(handoff);
+        }
+
+        @Override
+        public void terminate() {
+            terminations.incrementAndGet();
+            controller.stopAll();
+        }
+
+        @Override
+        public void terminate(KernelHandoff handoff) {
+            controller.stopAll(handoff);
+        }
+
+        @Override
+        public KernelController getController() {
+            return controller;
+        }
+    }
+
+    /**
+     * Kernel, whose init blocks until it is terminated, reports every incarnation by its handoff.
+     */
+    private static class BlockingKernel implements Kernel {
+
+        private static final KernelHandoff NO_HANDOFF = new KernelHandoff();
+
+        private final BlockingQueue<KernelHandoff> running = new LinkedBlockingQueue<>();
+
+        private final AtomicInteger terminations = new AtomicInteger();
+
+        private volatile CountDownLatch stopped;
+
+        @Override
+        public void init() {
+            run(null);
+        }
+
+        @Override
+        public void init(KernelHandoff handoff) {
+            run(handoff);
+        }
+
+        private void run(KernelHandoff handoff) {
+            CountDownLatch latch = new CountDownLatch(1);
+            stopped = latch;
+            running.add(handoff == null ? NO_HANDOFF : handoff);
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void terminate() {
+            terminations.incrementAndGet();
+            stopped.countDown();
+        }
+
+        @Override
+        public void terminate(KernelHandoff handoff) {
+            handoff.put("state", "warm");
+            terminate();
+        }
+
+        @Override
+        public KernelController getController() {
+            return null;
+        }
+    }
+
+    private static class CachingModule implements KernelModule {
+
+        private static final String CACHE_KEY = CachingModule.class.getName() + ".cache";
+
+        private final AtomicInteger warmUps = new AtomicInteger();
+
+        private Map<String, String> cache;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void takeOver(KernelHandoff handoff) {
+            cache = handoff.take(CACHE_KEY, Map.class);
+        }
+
+        @Override
+        public void load() {
+            if (cache == null) {
+                warmUps.incrementAndGet();
+                try {
+                    Thread.sleep(WARM_UP_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                cache = new ConcurrentHashMap<>(Map.of("warm", "value"));
+            }
+        }
+
+        @Override
+        public void handOff(KernelHandoff handoff) {
+            handoff.put(CACHE_KEY, cache);
+        }
+
+        @Override
+        public void unload() {
+            cache = null;
+        }
+    }
+}
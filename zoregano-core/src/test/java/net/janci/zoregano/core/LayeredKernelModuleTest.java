@@ -0,0 +1,135 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.KernelModule;
+import net.janci.zoregano.core.layer.LayerFixtureModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayeredKernelModuleTest {
+
+    @org.junit.jupiter.api.Test
+    void testModulesAreLoadedIntoOwnLayers() throws IOException {
+        Path directory = Files.createTempDirectory("zoregano-modules");
+        writeFixtureJar(directory.resolve("first-module.jar"));
+        writeFixtureJar(directory.resolve("second-module.jar"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<LayeredKernelModule> modules = LayeredKernelModule.discover(directory, executor);
+
+            assertEquals(2, modules.size());
+            assertNotNull(modules.get(0).getLayer(), "Layers must be defined by discovery");
+            modules.forEach(LayeredKernelModule::load);
+
+            KernelModule first = modules.get(0).getDelegate();
+            KernelModule second = modules.get(1).getDelegate();
+            assertEquals(LayerFixtureModule.class.getName(), first.getClass().getName());
+            assertNotSame(LayerFixtureModule.class, first.getClass());
+            assertNotSame(first.getClass(), second.getClass());
+            assertSame(modules.get(0).getLayer(), first.getClass().getModule().getLayer());
+            assertNotNull(modules.get(0).inFlightWork());
+
+            modules.forEach(LayeredKernelModule::unload);
+            assertNull(modules.get(0).getLayer());
+            assertNull(modules.get(0).inFlightWork());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testControllerReloadsOneOfLayeredModulesByName() throws IOException {
+        Path directory = Files.createTempDirectory("zoregano-modules");
+        writeFixtureJar(directory.resolve("first-module.jar"));
+        writeFixtureJar(directory.resolve("second-module.jar"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ModuleKernelController controller;
+        try {
+            controller = new ModuleKernelController(LayeredKernelModule.discover(directory, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+        controller.startAll();
+        try {
+            KernelModule first = controller.module("first-module");
+            KernelModule second = controller.module("second-module");
+            assertEquals(LayerFixtureModule.class.getName(), second.getClass().getName());
+            assertThrows(IllegalArgumentException.class, () -> controller.reloadModule(LayeredKernelModule.class));
+            assertThrows(IllegalArgumentException.class, () -> controller.reloadModule("third-module"));
+
+            assertTrue(controller.reloadModule("second-module"));
+
+            assertTrue(controller.isRunning("second-module"));
+            assertSame(first, controller.module("first-module"), "Other layered module must keep running");
+            KernelModule reloaded = controller.module("second-module");
+            assertNotSame(second, reloaded);
+            assertNotSame(second.getClass(), reloaded.getClass(), "Reloaded module must be loaded into new layer");
+
+            assertTrue(controller.stopModule("first-module", Duration.ofSeconds(1)));
+            assertFalse(controller.isRunning("first-module"));
+            assertTrue(controller.isRunning("second-module"));
+            controller.startModule("first-module");
+            assertTrue(controller.isRunning("first-module"));
+        } finally {
+            controller.stopAll();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testUnloadedLayerIsReclaimed() throws IOException, InterruptedException {
+        Path jar = Files.createTempDirectory("zoregano-modules").resolve("module.jar");
+        writeFixtureJar(jar);
+        LayeredKernelModule module = new LayeredKernelModule(jar);
+
+        module.load();
+        WeakReference<ClassLoader> loader = new WeakReference<>(module.getDelegate().getClass().getClassLoader());
+        module.unload();
+        module.load();
+        assertNotSame(loader.get(), module.getDelegate().getClass().getClassLoader(), "Reload must define new layer");
+        module.unload();
+
+        // System.gc() is only a hint, so heap is filled by garbage too, until the loader is reclaimed
+        List<byte[]> garbage = new ArrayList<>();
+        for (int i = 0; i < 200 && loader.get() != null; i++) {
+            garbage.add(new byte[1024 * 1024]);
+            if (garbage.size() == 16) {
+                garbage.clear();
+            }
+            System.gc();
+            Thread.sleep(25);
+        }
+        assertNull(loader.get(), "Class loader of unloaded layer must be reclaimed");
+    }
+
+    /**
+     * Fixture class is packed to automatic module, that provides it as {@link KernelModule}.
+     */
+    private static void writeFixtureJar(Path jar) throws IOException {
+        String classFile = LayerFixtureModule.class.getName().replace('.', '/') + ".class";
+        try (OutputStream file = Files.newOutputStream(jar);
+             JarOutputStream output = new JarOutputStream(file);
+             InputStream input = LayerFixtureModule.class.getClassLoader().getResourceAsStream(classFile)) {
+            assertNotNull(input);
+            output.putNextEntry(new JarEntry(classFile));
+            input.transferTo(output);
+            output.closeEntry();
+            output.putNextEntry(new JarEntry("META-INF/services/" + KernelModule.class.getName()));
+            output.write(LayerFixtureModule.class.getName().getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+    }
+}
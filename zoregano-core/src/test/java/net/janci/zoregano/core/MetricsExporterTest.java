@@ -0,0 +1,82 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.metrics.MetricRegistry;
+import net.janci.zoregano.concurrent.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsExporterTest {
+
+    @org.junit.jupiter.api.Test
+    void testSnapshotIsWrittenToFile() throws IOException {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("http.requests").add(12);
+        registry.gauge("http.connections", () -> 3);
+        LatencyHistogram latency = registry.histogram("http.latency");
+        latency.record(1_000);
+        latency.record(2_000);
+
+        Path file = Files.createTempDirectory("zoregano-metrics").resolve("metrics.txt");
+        MetricsExporter exporter = new MetricsExporter(registry, file.toString(), Duration.ofHours(1));
+        exporter.load(new String[0]);
+        registry.counter("http.requests").increment();
+        exporter.unload();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("# zoregano metrics "));
+        assertEquals("http.connections gauge value=3.0", lines.get(1));
+        assertEquals("http.latency histogram count=2 total=3000 p50=1023 p99=2000 p999=2000 max=2000", lines.get(2));
+        assertEquals("http.requests counter count=13", lines.get(3));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSnapshotIsSentToLoopbackInWholeLines() throws IOException {
+        MetricRegistry registry = new MetricRegistry();
+        for (int i = 0; i < 100; i++) {
+            registry.counter(String.format("module.counter-%03d", i)).add(i);
+        }
+
+        try (DatagramChannel receiver = DatagramChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            int port = ((InetSocketAddress) receiver.getLocalAddress()).getPort();
+            MetricsExporter exporter = new MetricsExporter(registry, "udp://127.0.0.1:" + port, Duration.ofMillis(20));
+            exporter.load(new String[0]);
+            try {
+                StringBuilder received = new StringBuilder();
+                ByteBuffer buffer = ByteBuffer.allocate(65536);
+                int datagrams = 0;
+                while (!received.toString().contains("module.counter-099 counter count=99\n")) {
+                    buffer.clear();
+                    receiver.receive(buffer);
+                    buffer.flip();
+                    String datagram = StandardCharsets.UTF_8.decode(buffer).toString();
+                    assertTrue(datagram.endsWith("\n"));
+                    received.append(datagram);
+                    datagrams++;
+                }
+                assertTrue(datagrams > 1);
+                assertTrue(received.toString().contains("module.counter-042 counter count=42\n"));
+            } finally {
+                exporter.unload();
+            }
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testExporterWithoutTargetDoesNothing() {
+        MetricsExporter exporter = new MetricsExporter(new MetricRegistry(), null, Duration.ofMillis(1));
+        exporter.load(new String[0]);
+        exporter.unload();
+    }
+}
@@ -0,0 +1,197 @@
+package net.janci.zoregano.core;
+
+import net.janci.zoregano.api.InFlightWork;
+import net.janci.zoregano.api.KernelModule;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModuleKernelControllerTest {
+
+    @org.junit.jupiter.api.Test
+    void testReloadDrainsOnlyOneModule() throws InterruptedException, ExecutionException, TimeoutException {
+        WorkingModule reloaded = new WorkingModule();
+        ServingModule serving = new ServingModule();
+        ModuleKernelController controller = new ModuleKernelController(List.of(reloaded, serving));
+        controller.startAll();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread request = new Thread(() -> reloaded.serve(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        request.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // results of other threads are asserted by this thread, failed assertion in other thread would be lost
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong served = new AtomicLong();
+        FutureTask<Boolean> client = new FutureTask<>(() -> {
+            boolean allServed = true;
+            while (running.get()) {
+                allServed &= serving.serve();
+                served.incrementAndGet();
+            }
+            return allServed;
+        });
+        new Thread(client).start();
+
+        FutureTask<Boolean> reload = new FutureTask<>(() -> controller.reloadModule(WorkingModule.class));
+        new Thread(reload).start();
+        while (!reloaded.inFlightWork().isClosed()) {
+            Thread.onSpinWait();
+        }
+        assertFalse(reloaded.serve(() -> fail("Stopping module must reject new work")));
+        assertEquals(0, reloaded.unloads.get(), "Module must not be unloaded with work in progress");
+
+        long servedBeforeRelease = served.get();
+        Thread.sleep(50);
+        assertTrue(served.get() > servedBeforeRelease, "Other modules must keep serving");
+
+        release.countDown();
+        assertTrue(reload.get(10, TimeUnit.SECONDS), "Module must be reloaded");
+        request.join();
+        running.set(false);
+        assertTrue(client.get(10, TimeUnit.SECONDS), "Other modules must serve every request");
+
+        assertEquals(1, reloaded.unloads.get());
+        assertEquals(2, reloaded.loads.get());
+        assertEquals(1, serving.loads.get());
+        assertTrue(controller.isRunning(WorkingModule.class));
+        assertTrue(reloaded.serve(() -> { }));
+        controller.stopAll();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testStopModuleGivesUpAfterTimeout() {
+        WorkingModule module = new WorkingModule();
+        ModuleKernelController controller = new ModuleKernelController(List.of(module));
+        controller.startAll();
+        assertTrue(module.inFlightWork().tryEnter());
+
+        assertFalse(controller.stopModule(WorkingModule.class, Duration.ofMillis(20)));
+        assertFalse(controller.isRunning(WorkingModule.class));
+        assertEquals(1, module.unloads.get());
+        assertTrue(controller.stopModule(WorkingModule.class, Duration.ofMillis(20)));
+        assertEquals(1, module.unloads.get());
+
+        module.inFlightWork().exit();
+        controller.startModule(WorkingModule.class);
+        assertEquals(2, module.loads.get());
+        assertThrows(IllegalArgumentException.class, () -> controller.stopModule(ServingModule.class));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testLazyModuleIsLoadedOnFirstAccessAndUnloadedWhenIdle() throws InterruptedException {
+        LazyModule lazy = new LazyModule();
+        ServingModule serving = new ServingModule();
+        ModuleKernelController controller = new ModuleKernelController(List.of(lazy, serving));
+        controller.startAll();
+        try {
+            assertFalse(controller.isRunning(LazyModule.class));
+            assertEquals(0, lazy.loads.get());
+            assertEquals(1, serving.loads.get());
+
+            assertSame(lazy, controller.module(LazyModule.class));
+            assertSame(lazy, controller.module(LazyModule.class));
+            assertEquals(1, lazy.loads.get());
+
+            assertTrue(lazy.inFlightWork().tryEnter());
+            Thread.sleep(3 * LazyModule.IDLE_MILLIS);
+            assertTrue(controller.isRunning(LazyModule.class), "Module with work in progress must not be unloaded");
+            lazy.inFlightWork().exit();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (controller.isRunning(LazyModule.class) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(controller.isRunning(LazyModule.class));
+            assertEquals(1, lazy.unloads.get());
+            assertTrue(controller.isRunning(ServingModule.class));
+
+            controller.startModule(LazyModule.class);
+            assertEquals(2, lazy.loads.get());
+            controller.restart();
+            assertTrue(controller.isRunning(LazyModule.class), "Running lazy module must be resumed by restart");
+            controller.stopAll();
+            controller.startAll();
+            assertFalse(controller.isRunning(LazyModule.class));
+        } finally {
+            // stop idle reaper started by startAll()
+            controller.stopAll();
+        }
+    }
+
+    private static class LazyModule extends WorkingModule {
+
+        private static final long IDLE_MILLIS = 50;
+
+        @Override
+        public boolean isLazy() {
+            return true;
+        }
+
+        @Override
+        public Duration idleTimeout() {
+            return Duration.ofMillis(IDLE_MILLIS);
+        }
+    }
+
+    private static class WorkingModule implements KernelModule {
+
+        private final InFlightWork work = new InFlightWork();
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        final AtomicInteger unloads = new AtomicInteger();
+
+        @Override
+        public void load() {
+            loads.incrementAndGet();
+        }
+
+        @Override
+        public void unload() {
+            unloads.incrementAndGet();
+        }
+
+        @Override
+        public InFlightWork inFlightWork() {
+            return work;
+        }
+
+        boolean serve(Runnable request) {
+            if (!work.tryEnter()) {
+                return false;
+            }
+            try {
+                request.run();
+                return true;
+            } finally {
+                work.exit();
+            }
+        }
+    }
+
+    private static class ServingModule extends WorkingModule {
+
+        boolean serve() {
+            return serve(() -> { });
+        }
+    }
+}
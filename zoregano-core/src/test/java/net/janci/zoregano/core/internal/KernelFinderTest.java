@@ -0,0 +1,21 @@
+package net.janci.zoregano.core.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KernelFinderTest {
+
+    @org.junit.jupiter.api.Test
+    void testInstancesAreRequiredAndNamedSafely() throws FindKernelException {
+        try {
+            System.clearProperty(KernelFinder.INSTANCES_PROPERTY_NAME);
+            assertTrue(new KernelFinder().findKernels().isEmpty(), "Multi-kernel mode is not enabled");
+
+            for (String instances : new String[] {"", " ", "tenant.a", "tenant/a", "tenant-a,tenant-a", "tenant-a,"}) {
+                System.setProperty(KernelFinder.INSTANCES_PROPERTY_NAME, instances);
+                assertThrows(FindKernelException.class, () -> new KernelFinder().findKernels(), "Instances: '" + instances + "'");
+            }
+        } finally {
+            System.clearProperty(KernelFinder.INSTANCES_PROPERTY_NAME);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.janci.zoregano.core.internal;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShutdownCoordinatorTest {
+
+    @org.junit.jupiter.api.Test
+    void testModulesAreShutDownInReverseDependencyOrder() throws InterruptedException {
+        // B and C depend on A, D depends on B; C runs in parallel with D and B
+        ModuleGraph<Node> graph = ModuleGraph.of(List.of(new NodeA(), new NodeB(), new NodeC(), new NodeD()), Node::dependsOn);
+        Map<Class<?>, long[]> times = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Map<Node, Long> stragglers = new ShutdownCoordinator<>(graph, executor, Duration.ofSeconds(10), "Node")
+                    .shutdown(node -> {
+                        long start = System.nanoTime();
+                        sleep(50);
+                        times.put(node.getClass(), new long[] {start, System.nanoTime()});
+                    });
+
+            assertTrue(stragglers.isEmpty());
+            assertTrue(times.get(NodeD.class)[1] <= times.get(NodeB.class)[0]);
+            assertTrue(times.get(NodeB.class)[1] <= times.get(NodeA.class)[0]);
+            assertTrue(times.get(NodeC.class)[1] <= times.get(NodeA.class)[0]);
+            assertTrue(times.get(NodeC.class)[0] < times.get(NodeD.class)[1], "Independent modules must run in parallel");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testStragglerDoesNotBlockShutdown() throws InterruptedException {
+        NodeB hanging = new NodeB();
+        ModuleGraph<Node> graph = ModuleGraph.of(List.of(new NodeA(), hanging), Node::dependsOn);
+        CountDownLatch never = new CountDownLatch(1);
+        Set<Class<?>> finished = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            long start = System.nanoTime();
+            Map<Node, Long> stragglers = new ShutdownCoordinator<>(graph, executor, Duration.ofMillis(100), "Node")
+                    .shutdown(node -> {
+                        if (node == hanging) {
+                            try {
+                                never.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        finished.add(node.getClass());
+                    });
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(elapsedMillis < 1_000, "Shutdown must not wait for straggler: " + elapsedMillis);
+            assertEquals(Set.of(NodeA.class), finished);
+            assertEquals(Set.of(hanging), stragglers.keySet());
+            assertTrue(stragglers.get(hanging) >= 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static abstract class Node {
+        Set<Class<?>> dependsOn() {
+            return Set.of();
+        }
+    }
+
+    private static class NodeA extends Node {
+    }
+
+    private static class NodeB extends Node {
+        @Override
+        Set<Class<?>> dependsOn() {
+            return Set.of(NodeA.class);
+        }
+    }
+
+    private static class NodeC extends Node {
+        @Override
+        Set<Class<?>> dependsOn() {
+            return Set.of(NodeA.class);
+        }
+    }
+
+    private static class NodeD extends Node {
+        @Override
+        Set<Class<?>> dependsOn() {
+            return Set.of(NodeB.class);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.janci.zoregano.core.internal.boot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BootTimelineTest {
+
+    @org.junit.jupiter.api.Test
+    void testRecordPhasesAndModules() {
+        BootTimeline timeline = new BootTimeline();
+
+        try (BootTimeline.Phase ignored = timeline.begin("kernel.discovery")) {
+            try (BootTimeline.Phase ignored2 = timeline.begin("bios.module.load", this)) {
+                new StringBuilder().append(1);
+            }
+        }
+
+        List<BootTimeline.Entry> entries = timeline.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("bios.module.load", entries.get(0).getPhase());
+        assertEquals(BootTimelineTest.class.getName(), entries.get(0).getModule());
+        assertEquals("kernel.discovery", entries.get(1).getPhase());
+        assertNull(entries.get(1).getModule());
+        assertTrue(entries.get(1).getDurationNanos() >= entries.get(0).getDurationNanos());
+        assertEquals(Thread.currentThread().getName(), entries.get(1).getThread());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testWriteReports() throws Exception {
+        BootTimeline timeline = new BootTimeline();
+        timeline.begin("bios.\"load\"").end();
+
+        Path json = Files.createTempFile("boot-timeline", ".json");
+        Path csv = Files.createTempFile("boot-timeline", ".csv");
+        try {
+            timeline.writeReport(json);
+            timeline.writeReport(csv);
+
+            String jsonReport = Files.readString(json);
+            assertTrue(jsonReport.startsWith("["));
+            assertTrue(jsonReport.contains("\"phase\": \"bios.\\\"load\\\"\""));
+
+            List<String> csvReport = Files.readAllLines(csv);
+            assertEquals(2, csvReport.size());
+            assertTrue(csvReport.get(0).startsWith("phase,module,thread"));
+            assertTrue(csvReport.get(1).startsWith("\"bios.\"\"load\"\"\",,"));
+        } finally {
+            Files.delete(json);
+            Files.delete(csv);
+        }
+    }
+}
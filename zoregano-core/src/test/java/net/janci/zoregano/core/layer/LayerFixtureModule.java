@@ -0,0 +1,29 @@
+package net.janci.zoregano.core.layer;
+
+import net.janci.zoregano.api.InFlightWork;
+import net.janci.zoregano.api.KernelModule;
+
+/**
+ * Kernel module, that is packed to jar by LayeredKernelModuleTest and loaded into own module layer.
+ */
+public class LayerFixtureModule implements KernelModule {
+
+    private final InFlightWork work = new InFlightWork();
+
+    private boolean loaded;
+
+    @Override
+    public void load() {
+        loaded = true;
+    }
+
+    @Override
+    public void unload() {
+        loaded = false;
+    }
+
+    @Override
+    public InFlightWork inFlightWork() {
+        return loaded ? work : null;
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Annotation processors used during build of Zoregano modules.
+ *
+ * {@link net.janci.zoregano.processor.ServiceIndexProcessor} writes index of services provided by compiled module.
+ * Module, that provides services, enables the processor in its pom:
+ * <pre>
+ *     &lt;plugin&gt;
+ *         &lt;groupId&gt;org.apache.maven.plugins&lt;/groupId&gt;
+ *         &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *         &lt;configuration&gt;
+ *             &lt;annotationProcessorPaths&gt;
+ *                 &lt;path&gt;
+ *                     &lt;groupId&gt;net.janci.zoregano.ce&lt;/groupId&gt;
+ *                     &lt;artifactId&gt;zoregano-processor&lt;/artifactId&gt;
+ *                     &lt;version&gt;${project.version}&lt;/version&gt;
+ *                 &lt;/path&gt;
+ *             &lt;/annotationProcessorPaths&gt;
+ *         &lt;/configuration&gt;
+ *     &lt;/plugin&gt;
+ * </pre>
+ */
+module zoregano.processor {
+    requires java.compiler;
+
+    exports net.janci.zoregano.processor;
+
+    provides javax.annotation.processing.Processor with net.janci.zoregano.processor.ServiceIndexProcessor;
+}
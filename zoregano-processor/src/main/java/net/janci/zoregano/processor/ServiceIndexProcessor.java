@@ -0,0 +1,95 @@
+package net.janci.zoregano.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor, that writes index of services provided by compiled module. For every service
+ * in the "provides" directive of module-info, the processor writes file
+ * META-INF/zoregano/services/&lt;service class name&gt; with provider class names, one per line,
+ * in the same format as META-INF/services files.
+ *
+ * Zoregano System reads the index at startup instead of {@link java.util.ServiceLoader} discovery.
+ */
+@SupportedAnnotationTypes("*")
+public class ServiceIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Location of service index in the module.
+     */
+    public final static String INDEX_LOCATION = "META-INF/zoregano/services/";
+
+    private boolean written = false;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (written || roundEnv.processingOver()) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getRootElements()) {
+            ModuleElement module = processingEnv.getElementUtils().getModuleOf(element);
+            if (module != null && !module.isUnnamed()) {
+                writeIndex(module);
+                written = true;
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    private void writeIndex(ModuleElement module) {
+        Map<String, List<String>> services = new LinkedHashMap<>();
+        for (ModuleElement.ProvidesDirective provides : ElementFilter.providesIn(module.getDirectives())) {
+            services.computeIfAbsent(provides.getService().getQualifiedName().toString(), s -> new ArrayList<>())
+                    .addAll(provides.getImplementations().stream()
+                            .map(i -> processingEnv.getElementUtils().getBinaryName(i).toString())
+                            .collect(Collectors.toList()));
+        }
+
+        for (Map.Entry<String, List<String>> service : services.entrySet()) {
+            try {
+                FileObject index = processingEnv.getFiler()
+                        .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION + service.getKey(), module);
+                try (Writer writer = index.openWriter()) {
+                    writer.write("# Generated by " + getClass().getName() + " for module " + module.getQualifiedName() + "\n");
+                    for (String provider : service.getValue()) {
+                        writer.write(provider + "\n");
+                    }
+                }
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Service index for '" + service.getKey() + "' can not be written: " + e.getMessage(), module);
+            }
+        }
+    }
+}
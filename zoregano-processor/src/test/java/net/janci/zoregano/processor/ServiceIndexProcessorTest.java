@@ -0,0 +1,60 @@
+package net.janci.zoregano.processor;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceIndexProcessorTest {
+
+    @org.junit.jupiter.api.Test
+    void testWriteIndexOfProvidedServices() throws IOException {
+        Path root = Files.createTempDirectory("service-index");
+        try {
+            Path sources = root.resolve("src");
+            Path classes = root.resolve("classes");
+            write(sources.resolve("module-info.java"), "module test.app {\n"
+                    + "    exports test.api;\n"
+                    + "    provides test.api.Service with test.impl.FirstService, test.impl.SecondService.Inner;\n"
+                    + "    provides java.lang.Runnable with test.impl.FirstService;\n"
+                    + "}\n");
+            write(sources.resolve("test/api/Service.java"), "package test.api; public interface Service {}");
+            write(sources.resolve("test/impl/FirstService.java"),
+                    "package test.impl; public class FirstService implements test.api.Service, Runnable { public void run() {} }");
+            write(sources.resolve("test/impl/SecondService.java"),
+                    "package test.impl; public class SecondService { public static class Inner implements test.api.Service {} }");
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            List<String> arguments = List.of("-d", classes.toString(),
+                    "-processor", ServiceIndexProcessor.class.getName(),
+                    "-processorpath", System.getProperty("java.class.path"),
+                    sources.resolve("module-info.java").toString(),
+                    sources.resolve("test/api/Service.java").toString(),
+                    sources.resolve("test/impl/FirstService.java").toString(),
+                    sources.resolve("test/impl/SecondService.java").toString());
+            assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])));
+
+            List<String> serviceIndex = Files.readAllLines(classes.resolve(ServiceIndexProcessor.INDEX_LOCATION + "test.api.Service"));
+            assertTrue(serviceIndex.get(0).startsWith("#"));
+            assertEquals(List.of("test.impl.FirstService", "test.impl.SecondService$Inner"), serviceIndex.subList(1, serviceIndex.size()));
+
+            List<String> runnableIndex = Files.readAllLines(classes.resolve(ServiceIndexProcessor.INDEX_LOCATION + "java.lang.Runnable"));
+            assertEquals(List.of("test.impl.FirstService"), runnableIndex.subList(1, runnableIndex.size()));
+        } finally {
+            try (Stream<Path> files = Files.walk(root)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}